@@ -0,0 +1,127 @@
+package bookingengine.adapters.persistence;
+
+import bookingengine.BookingEngineApplication;
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.adapters.persistence.entities.ReservationJpaEntity;
+import bookingengine.adapters.persistence.mappers.ReservationMapper;
+import bookingengine.adapters.persistence.repositories.ReservationJpaRepository;
+import bookingengine.adapters.web.dto.ReservationResponse;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture d'une page de reservations pour un endpoint de liste : entites JPA gerees
+ * puis mapper puis DTO, contre expression de constructeur (ReservationLigne) puis
+ * mapper puis DTO. Chaque page est lue dans sa propre transaction, comme un appel de
+ * repository sans open-in-view ; les pages se succedent d'une operation a l'autre.
+ *
+ * Demarre l'application et PostgreSQL par Testcontainers (Docker requis). Avec le
+ * profileur gc, gc.alloc.rate.norm divise par taillePage donne les octets par ligne.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LectureReservationsBenchmark {
+
+    private static final int RESERVATIONS = 20_000;
+
+    @Param({"100", "1000"})
+    public int taillePage;
+
+    private ConfigurableApplicationContext contexte;
+    private ReservationJpaRepository jpaRepository;
+    private ReservationMapper mapper;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+    private long premierId;
+    private int pages;
+    private int page;
+
+    @Setup
+    public void setUp() {
+        contexte = SpringApplication.from(BookingEngineApplication::main)
+                .with(TestcontainersConfiguration.class)
+                .run("--spring.profiles.active=test").getApplicationContext();
+        jpaRepository = contexte.getBean(ReservationJpaRepository.class);
+        mapper = contexte.getBean(ReservationMapper.class);
+        entityManager = contexte.getBean(EntityManager.class);
+        transaction = contexte.getBean(TransactionTemplate.class);
+
+        inserer();
+        premierId = transaction.execute(status -> entityManager
+                .createQuery("SELECT min(r.id) FROM ReservationJpaEntity r", Long.class).getSingleResult());
+        pages = Math.max(1, RESERVATIONS / taillePage);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexte.close();
+    }
+
+    private void inserer() {
+        List<ReservationJpaEntity> lot = new ArrayList<>();
+        for (int i = 0; i < RESERVATIONS; i++) {
+            // Une chambre par tranche de 300 sejours d'une nuit : aucun chevauchement
+            LocalDate debut = LocalDate.of(2030, 1, 1).plusDays(i % 300);
+            ReservationJpaEntity reservation = new ReservationJpaEntity();
+            reservation.setChambreId((long) (i / 300 + 1));
+            reservation.setUtilisateurId((long) (i % 50 + 1));
+            reservation.setDateDebut(debut);
+            reservation.setDateFin(debut.plusDays(1));
+            reservation.setStatus(ReservationJpaEntity.ReservationStatusJpa.CONFIRMED);
+            reservation.setCreatedAt(LocalDateTime.now());
+            lot.add(reservation);
+            if (lot.size() == 1_000) {
+                jpaRepository.saveAll(lot);
+                lot.clear();
+            }
+        }
+        jpaRepository.saveAll(lot);
+    }
+
+    private long curseurSuivant() {
+        return premierId - 1 + (long) (page++ % pages) * taillePage;
+    }
+
+    @Benchmark
+    public List<ReservationResponse> lireEntites() {
+        long apres = curseurSuivant();
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT r FROM ReservationJpaEntity r WHERE r.id > :id ORDER BY r.id", ReservationJpaEntity.class)
+                .setParameter("id", apres)
+                .setMaxResults(taillePage)
+                .getResultList()
+                .stream().map(mapper::toDomain).map(ReservationResponse::from).toList());
+    }
+
+    @Benchmark
+    public List<ReservationResponse> lireProjections() {
+        long apres = curseurSuivant();
+        return transaction.execute(status -> jpaRepository.findLignesAfter(apres, Limit.of(taillePage))
+                .stream().map(mapper::toDomain).map(ReservationResponse::from).toList());
+    }
+}
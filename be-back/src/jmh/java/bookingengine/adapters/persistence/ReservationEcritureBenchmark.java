@@ -0,0 +1,134 @@
+package bookingengine.adapters.persistence;
+
+import bookingengine.BookingEngineApplication;
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.domain.entities.Chambre;
+import bookingengine.domain.entities.Payment;
+import bookingengine.domain.entities.PaymentStatus;
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.repositories.ChambreRepository;
+import bookingengine.domain.repositories.PaymentRepository;
+import bookingengine.domain.repositories.ReservationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latence de l'ecriture d'une reservation sous charge concurrente : operations
+ * validees une a une (lecture de la chambre, INSERT reservation, INSERT paiement,
+ * chacune dans sa propre transaction) contre une seule transaction avec un seul
+ * flush (saveWithPayment).
+ *
+ * Chaque thread reserve sa propre chambre sur des dates successives : aucun conflit,
+ * seule l'ecriture est mesuree (sans verrou ni evenements). En mode SampleTime, JMH
+ * donne directement les centiles p50 et p99. Demarre l'application et PostgreSQL par
+ * Testcontainers (Docker requis).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ReservationEcritureBenchmark {
+
+    @Param({"separees", "transactionUnique"})
+    public String ecriture;
+
+    private ConfigurableApplicationContext contexte;
+    private ChambreRepository chambres;
+    private ReservationRepository reservations;
+    private PaymentRepository payments;
+    private TransactionTemplate transaction;
+    private final AtomicInteger numeroChambre = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        contexte = SpringApplication.from(BookingEngineApplication::main)
+                .with(TestcontainersConfiguration.class)
+                .run("--spring.profiles.active=test").getApplicationContext();
+        chambres = contexte.getBean(ChambreRepository.class);
+        reservations = contexte.getBean(ReservationRepository.class);
+        payments = contexte.getBean(PaymentRepository.class);
+        transaction = contexte.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexte.close();
+    }
+
+    // Une chambre par thread ; chaque reservation prend la nuit suivante
+    @State(Scope.Thread)
+    public static class ChambreDuThread {
+
+        Long chambreId;
+        int jour;
+
+        @Setup
+        public void setUp(ReservationEcritureBenchmark banc) {
+            chambreId = banc.chambres.save(new Chambre(null, "B" + banc.ecriture + banc.numeroChambre.incrementAndGet(),
+                    "Double", 100.0, 2, "Benchmark", true)).getId();
+        }
+    }
+
+    @Benchmark
+    public void reserver(ChambreDuThread chambre) {
+        Reservation reservation = reservation(chambre.chambreId, chambre.jour++);
+        if ("separees".equals(ecriture)) {
+            Chambre lue = chambres.findById(chambre.chambreId).orElseThrow();
+            Reservation saved = reservations.save(reservation);
+            Payment payment = payment(lue);
+            payment.setReservationId(saved.getId());
+            payments.save(payment);
+        } else {
+            transaction.executeWithoutResult(status -> {
+                Chambre lue = chambres.findById(chambre.chambreId).orElseThrow();
+                reservations.saveWithPayment(reservation, payment(lue));
+            });
+        }
+    }
+
+    // Sejour d'une nuit : le jour suivant reste libre pour la reservation suivante
+    private static Reservation reservation(Long chambreId, int jour) {
+        LocalDate debut = LocalDate.of(2030, 1, 1).plusDays(jour);
+        Reservation reservation = new Reservation();
+        reservation.setChambreId(chambreId);
+        reservation.setUtilisateurId(1L);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(debut.plusDays(1));
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(LocalDateTime.now());
+        return reservation;
+    }
+
+    private static Payment payment(Chambre chambre) {
+        Payment payment = new Payment();
+        payment.setAmount(BigDecimal.valueOf(chambre.getPrixBase()));
+        payment.setPaymentMethod("CARTE");
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setPaymentDate(LocalDateTime.now());
+        return payment;
+    }
+}
@@ -0,0 +1,73 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cout d'encodage et de decodage d'un evenement : JSON contre binaire, seuls, sans
+ * en-tetes ni envoi (voir EventPublisherBenchmark pour le chemin complet).
+ *
+ * La taille du message, qui ne se mesure pas en temps, est affichee au demarrage de
+ * chaque combinaison de parametres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodageEvenementsBenchmark {
+
+    private static final LocalDate DEBUT = LocalDate.of(2026, 7, 1);
+
+    @Param({CodecBinaire.NOM, CodecJson.NOM})
+    public String codec;
+
+    @Param({"PrixCalculatedEvent", "ReservationCreatedEvent", "PaymentCreatedEvent"})
+    public String evenement;
+
+    private CodecEvenement codecEvenement;
+    private Object aEncoder;
+    private Class<?> type;
+    private byte[] message;
+
+    @Setup
+    public void setUp() {
+        codecEvenement = CodecBinaire.NOM.equals(codec) ? new CodecBinaire() : new CodecJson();
+        aEncoder = switch (evenement) {
+            case "PrixCalculatedEvent" -> PrixCalculatedEvent.of(12L, "204", "Suite", DEBUT, DEBUT.plusDays(3), 3, 629.97);
+            case "ReservationCreatedEvent" -> ReservationCreatedEvent.of(1_842L, 12L, 57L, DEBUT, DEBUT.plusDays(3), "PENDING");
+            case "PaymentCreatedEvent" -> PaymentCreatedEvent.of(1_903L, 1_842L, 12L, new BigDecimal("629.97"), "CARTE", "PENDING");
+            default -> throw new IllegalArgumentException("Evenement inconnu: " + evenement);
+        };
+        type = aEncoder.getClass();
+        message = codecEvenement.encoder(aEncoder);
+        System.out.printf("%n%s %s : %d octets%n", evenement, codec, message.length);
+    }
+
+    @Benchmark
+    public byte[] encoder() {
+        return codecEvenement.encoder(aEncoder);
+    }
+
+    @Benchmark
+    public Object decoder() {
+        return codecEvenement.decoder(type, message);
+    }
+}
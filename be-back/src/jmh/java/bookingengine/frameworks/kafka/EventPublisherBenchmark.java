@@ -0,0 +1,106 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cout d'une publication hors transaction (devis) : passage par la voie d'envoi,
+ * routage, encodage et en-tetes, metriques d'envoi. L'envoi lui-meme est remplace
+ * par un acquittement immediat, sans broker ; chaque operation attend cet
+ * acquittement pour ne pas mesurer le simple depot dans la file de la voie.
+ * decoder mesure le chemin inverse d'EventListener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPublisherBenchmark {
+
+    private static final LocalDate DEBUT = LocalDate.of(2026, 7, 1);
+
+    @Param({CodecBinaire.NOM, CodecJson.NOM})
+    public String encodage;
+
+    private VoiesEnvoi voies;
+    private KafkaEventRelay relay;
+    private EncodageEvenements encodageEvenements;
+    private PrixCalculatedEvent prixCalcule;
+    private ReservationCreatedEvent reservationCreee;
+    private PaymentCreatedEvent paymentCree;
+    private ConsumerRecord<String, byte[]> messageRecu;
+
+    @Setup
+    public void setUp() {
+        encodageEvenements = new EncodageEvenements(encodage);
+        KafkaTemplate<String, byte[]> acquittementImmediat =
+                new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of())) {
+                    @Override
+                    public CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+                        return CompletableFuture.completedFuture(new SendResult<>(record, null));
+                    }
+                };
+        voies = new VoiesEnvoi(4, 10_000);
+        relay = new KafkaEventRelay(acquittementImmediat, encodageEvenements,
+                new MetriquesPublication(), voies, Duration.ofSeconds(10));
+
+        prixCalcule = PrixCalculatedEvent.of(12L, "204", "Suite", DEBUT, DEBUT.plusDays(3), 3, 629.97);
+        reservationCreee = ReservationCreatedEvent.of(1_842L, 12L, 57L, DEBUT, DEBUT.plusDays(3), "PENDING");
+        paymentCree = PaymentCreatedEvent.of(1_903L, 1_842L, 12L, new BigDecimal("629.97"), "CARTE", "PENDING");
+
+        ProducerRecord<String, byte[]> envoye = encodageEvenements.enregistrement(RouteEvenement.de(prixCalcule), prixCalcule);
+        messageRecu = new ConsumerRecord<>(envoye.topic(), 0, 0L, envoye.key(), envoye.value());
+        envoye.headers().forEach(entete -> messageRecu.headers().add(entete));
+    }
+
+    @Benchmark
+    public Object publierPrixCalcule() {
+        return relay.envoyer(prixCalcule).join();
+    }
+
+    @Benchmark
+    public Object publierReservationCreee() {
+        return relay.envoyer(reservationCreee).join();
+    }
+
+    @Benchmark
+    public Object publierPaymentCree() {
+        return relay.envoyer(paymentCree).join();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        voies.close();
+    }
+
+    @Benchmark
+    public Object decoder() {
+        return encodageEvenements.decoder(messageRecu);
+    }
+}
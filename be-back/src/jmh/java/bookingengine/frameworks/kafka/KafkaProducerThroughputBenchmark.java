@@ -0,0 +1,115 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PrixCalculatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debit du producteur Kafka : configuration par defaut contre profil kafka-debit
+ * (application-kafka-debit.properties), sur un broker embarque.
+ *
+ * Une operation envoie un lot de PrixCalculatedEvent serialises comme par
+ * KafkaEventRelay, sans attendre entre deux envois, puis attend tous les
+ * acquittements ; le score est rapporte a l'evenement (evenements par seconde).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaProducerThroughputBenchmark {
+
+    private static final int LOT = 10_000;
+    private static final String PROFIL_DEBIT = "application-kafka-debit.properties";
+    private static final String PREFIXE_PROPRIETES = "spring.kafka.producer.properties.";
+
+    @Param({"defaut", "kafka-debit"})
+    public String reglage;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private String[] messages;
+
+    @Setup
+    public void setUp() throws IOException {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, KafkaConfig.TOPIC_PRIX);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> configuration = new HashMap<>("defaut".equals(reglage) ? Map.of() : proprietesProfilDebit());
+        configuration.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        producerFactory = new DefaultKafkaProducerFactory<>(configuration, new StringSerializer(), new StringSerializer());
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        messages = messages(LOT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOT)
+    public void envoyerLot() {
+        CompletableFuture<?>[] envois = new CompletableFuture<?>[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            envois[i] = kafkaTemplate.send(KafkaConfig.TOPIC_PRIX, String.valueOf(i % 100), messages[i]);
+        }
+        CompletableFuture.allOf(envois).join();
+    }
+
+    private static String[] messages(int nombre) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        String[] messages = new String[nombre];
+        LocalDate debut = LocalDate.of(2026, 7, 1);
+        for (int i = 0; i < nombre; i++) {
+            messages[i] = objectMapper.writeValueAsString(PrixCalculatedEvent.of(
+                    (long) (i % 100), "1" + (i % 100), "Double", debut, debut.plusDays(1 + i % 7), 1 + i % 7, 89.99 * (1 + i % 7)));
+        }
+        return messages;
+    }
+
+    private static Map<String, Object> proprietesProfilDebit() throws IOException {
+        Properties profil = new Properties();
+        try (InputStream entree = KafkaProducerThroughputBenchmark.class.getClassLoader().getResourceAsStream(PROFIL_DEBIT)) {
+            profil.load(entree);
+        }
+        Map<String, Object> proprietes = new HashMap<>();
+        for (String cle : profil.stringPropertyNames()) {
+            if (cle.startsWith(PREFIXE_PROPRIETES)) {
+                proprietes.put(cle.substring(PREFIXE_PROPRIETES.length()), profil.getProperty(cle));
+            }
+        }
+        return proprietes;
+    }
+}
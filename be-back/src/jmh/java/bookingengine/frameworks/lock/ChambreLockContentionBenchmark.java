@@ -0,0 +1,86 @@
+package bookingengine.frameworks.lock;
+
+import bookingengine.domain.ports.ChambreLockPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Contention sur le verrou des reservations : verrou global unique contre verrous
+ * segmentes par chambre (StripedChambreLock).
+ *
+ * Chaque thread enchaine des "reservations" sur des chambres tirees au hasard, la
+ * section critique simulant le controle puis l'insertion en base. Le debit se lit
+ * en reservations par seconde, tous threads confondus ; -t change le nombre de
+ * threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ChambreLockContentionBenchmark {
+
+    @Param({"global", "segments"})
+    public String verrou;
+
+    @Param({"50"})
+    public int chambres;
+
+    @Param({"200"})
+    public long sectionMicros;
+
+    private ChambreLockPort chambreLock;
+    private long sectionNanos;
+
+    @Setup
+    public void setUp() {
+        chambreLock = "global".equals(verrou)
+                ? new VerrouGlobal()
+                : new StripedChambreLock(StripedChambreLock.SEGMENTS_PAR_DEFAUT);
+        sectionNanos = TimeUnit.MICROSECONDS.toNanos(sectionMicros);
+    }
+
+    @Benchmark
+    public Object reserver() {
+        long chambreId = 1 + ThreadLocalRandom.current().nextInt(chambres);
+        return chambreLock.withLock(chambreId, () -> {
+            LockSupport.parkNanos(sectionNanos);
+            return chambreId;
+        });
+    }
+
+    // Reference : un seul verrou pour toutes les chambres
+    private static final class VerrouGlobal implements ChambreLockPort {
+
+        private final ReentrantLock verrou = new ReentrantLock();
+
+        @Override
+        public <T> T withLocks(Collection<Long> chambreIds, Supplier<T> action) {
+            verrou.lock();
+            try {
+                return action.get();
+            } finally {
+                verrou.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package bookingengine.usecase;
+
+import bookingengine.domain.entities.Chambre;
+import bookingengine.domain.repositories.ChambreRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Depot de chambres en memoire pour les benchmarks : seules les lectures du chemin
+ * critique sont servies, sans acces base ni copie.
+ */
+public class ChambreRepositoryEnMemoire implements ChambreRepository {
+
+    private final Map<Long, Chambre> chambres = new HashMap<>();
+
+    public ChambreRepositoryEnMemoire(Collection<Chambre> chambres) {
+        chambres.forEach(chambre -> this.chambres.put(chambre.getId(), chambre));
+    }
+
+    @Override
+    public Optional<Chambre> findById(Long id) {
+        return Optional.ofNullable(chambres.get(id));
+    }
+
+    @Override
+    public List<Chambre> findAllById(Collection<Long> ids) {
+        List<Chambre> trouvees = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Chambre chambre = chambres.get(id);
+            if (chambre != null) {
+                trouvees.add(chambre);
+            }
+        }
+        return trouvees;
+    }
+
+    @Override
+    public List<Chambre> findAll() {
+        return List.copyOf(chambres.values());
+    }
+
+    @Override
+    public Chambre save(Chambre chambre) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Chambre> saveAll(List<Chambre> chambres) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Chambre> findByDisponible(boolean disponible) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Chambre> findByType(String type) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Chambre> findPage(Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,41 @@
+package bookingengine.usecase;
+
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+import bookingengine.domain.ports.EventPublisherPort;
+
+/**
+ * Publication ignoree : le cout de l'envoi est mesure a part (EventPublisherBenchmark).
+ */
+public class EventPublisherSansEffet implements EventPublisherPort {
+
+    @Override
+    public void publish(ChambreCreatedEvent event) {}
+
+    @Override
+    public void publish(SaisonCreatedEvent event) {}
+
+    @Override
+    public void publish(PrixCalculatedEvent event) {}
+
+    @Override
+    public void publish(PrixAggregatedEvent event) {}
+
+    @Override
+    public void publish(ReservationCreatedEvent event) {}
+
+    @Override
+    public void publish(ReservationCancelledEvent event) {}
+
+    @Override
+    public void publish(PaymentCreatedEvent event) {}
+
+    @Override
+    public void publish(PaymentStatusChangedEvent event) {}
+}
@@ -0,0 +1,15 @@
+package bookingengine.usecase;
+
+import bookingengine.domain.ports.MetriquesPort;
+
+/**
+ * Mesures ignorees : seul le cout du use case est mesure.
+ */
+public class MetriquesSansEffet implements MetriquesPort {
+
+    @Override
+    public void enregistrerNuitsDevis(long nombreNuits) {}
+
+    @Override
+    public void enregistrerConflits(int nombreConflits) {}
+}
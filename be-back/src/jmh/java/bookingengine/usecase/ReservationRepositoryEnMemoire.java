@@ -0,0 +1,135 @@
+package bookingengine.usecase;
+
+import bookingengine.domain.entities.Payment;
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.repositories.ReservationRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Depot de reservations en memoire pour les benchmarks : IndexOccupation charge les
+ * reservations actives une fois, le controle de conflit se fait par simple parcours
+ * (equivalent de la requete findConflictingReservations sans index).
+ */
+public class ReservationRepositoryEnMemoire implements ReservationRepository {
+
+    private final List<Reservation> reservations;
+
+    public ReservationRepositoryEnMemoire(List<Reservation> reservations) {
+        this.reservations = List.copyOf(reservations);
+    }
+
+    @Override
+    public List<Reservation> findActiveReservations() {
+        return reservations.stream().filter(r -> r.getStatus() != ReservationStatus.CANCELLED).toList();
+    }
+
+    @Override
+    public List<Long> findOccupiedChambreIds(Collection<Long> chambreIds, LocalDate dateDebut, LocalDate dateFin) {
+        return reservations.stream()
+                .filter(r -> chambreIds.contains(r.getChambreId()) && r.getStatus() != ReservationStatus.CANCELLED)
+                .filter(r -> r.getDateDebut().isBefore(dateFin) && r.getDateFin().isAfter(dateDebut))
+                .map(Reservation::getChambreId)
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public List<Reservation> findConflictingReservations(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        return reservations.stream()
+                .filter(r -> r.getChambreId().equals(chambreId) && r.getStatus() != ReservationStatus.CANCELLED)
+                .filter(r -> r.getDateDebut().isBefore(dateFin) && r.getDateFin().isAfter(dateDebut))
+                .toList();
+    }
+
+    @Override
+    public Optional<Reservation> findById(Long id) {
+        return reservations.stream().filter(r -> r.getId().equals(id)).findFirst();
+    }
+
+    @Override
+    public List<Reservation> findAll() {
+        return reservations;
+    }
+
+    @Override
+    public Reservation save(Reservation reservation) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Reservation saveWithPayment(Reservation reservation, Payment payment) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findByStatus(ReservationStatus status) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findByChambreId(Long chambreId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findByUtilisateurId(Long utilisateurId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Reservation> findByIdForUpdate(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findPendingCreatedBeforeForUpdate(LocalDateTime createdBefore, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int cancelAll(Collection<Long> ids, LocalDateTime cancelledAt) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findPage(Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findPageByStatus(ReservationStatus status, Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findPageByChambreId(Long chambreId, Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Reservation> findPageByUtilisateurId(Long utilisateurId, Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void forEachForExport(ReservationStatus status, LocalDate from, LocalDate to, Consumer<Reservation> action) {
+        throw new UnsupportedOperationException();
+    }
+}
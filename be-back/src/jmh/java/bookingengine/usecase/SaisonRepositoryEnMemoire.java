@@ -0,0 +1,53 @@
+package bookingengine.usecase;
+
+import bookingengine.domain.entities.Saison;
+import bookingengine.domain.repositories.SaisonRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Depot de saisons en memoire pour les benchmarks : CalendrierSaisons ne lit que
+ * findAll(), une fois au chargement.
+ */
+public class SaisonRepositoryEnMemoire implements SaisonRepository {
+
+    private final List<Saison> saisons;
+
+    public SaisonRepositoryEnMemoire(List<Saison> saisons) {
+        this.saisons = List.copyOf(saisons);
+    }
+
+    @Override
+    public List<Saison> findAll() {
+        return saisons;
+    }
+
+    @Override
+    public Optional<Saison> findByDate(LocalDate date) {
+        return saisons.stream()
+                .filter(s -> !date.isBefore(s.getDateDebut()) && !date.isAfter(s.getDateFin()))
+                .findFirst();
+    }
+
+    @Override
+    public List<Saison> findChevauchant(LocalDate dateDebut, LocalDate dateFin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Saison> findById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Saison save(Saison saison) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,111 @@
+package bookingengine.usecase.prix;
+
+import bookingengine.domain.entities.Chambre;
+import bookingengine.domain.entities.Saison;
+import bookingengine.usecase.ChambreRepositoryEnMemoire;
+import bookingengine.usecase.EventPublisherSansEffet;
+import bookingengine.usecase.MetriquesSansEffet;
+import bookingengine.usecase.SaisonRepositoryEnMemoire;
+import bookingengine.usecase.saison.CalendrierSaisons;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Calcul de prix sans base : chambres et saisons en memoire, publication ignoree.
+ *
+ * Les appels parcourent les chambres et des dates d'arrivee successives ; le cache
+ * est vide avant chaque devis sauf pour calculerPrixDetailleEnCache. Les saisons se
+ * partagent l'annee a venir, les sejours restent dans l'horizon du calendrier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculPrixBenchmark {
+
+    private static final int DATES_ARRIVEE = 300;
+
+    @Param({"1", "7", "30"})
+    public int nuits;
+
+    @Param({"0", "12", "365"})
+    public int saisons;
+
+    @Param({"10", "1000"})
+    public int chambres;
+
+    private CalculPrixUseCase calculPrix;
+    private CachePrix cachePrix;
+    private Long[] chambreIds;
+    private LocalDate[] arrivees;
+    private int curseur;
+
+    @Setup
+    public void setUp() {
+        LocalDate aujourdhui = LocalDate.now();
+        List<Chambre> lesChambres = LongStream.rangeClosed(1, chambres)
+                .mapToObj(id -> new Chambre(id, "C" + id, "Double", 80.0 + id % 50, 2, "Benchmark", true))
+                .toList();
+        List<Saison> lesSaisons = new ArrayList<>();
+        int duree = saisons == 0 ? 0 : 365 / saisons;
+        for (int i = 0; i < saisons; i++) {
+            LocalDate debut = aujourdhui.plusDays((long) i * duree);
+            lesSaisons.add(new Saison((long) i + 1, "Saison " + i, debut, debut.plusDays(duree - 1), 0.8 + (i % 5) * 0.1));
+        }
+
+        CalendrierSaisons calendrier = new CalendrierSaisons(new SaisonRepositoryEnMemoire(lesSaisons));
+        cachePrix = new CachePrix();
+        calculPrix = new CalculPrixUseCase(new ChambreRepositoryEnMemoire(lesChambres), calendrier, cachePrix,
+                new EventPublisherSansEffet(), new AgregationDevis(0.0), new MetriquesSansEffet());
+        chambreIds = lesChambres.stream().map(Chambre::getId).toArray(Long[]::new);
+        arrivees = LongStream.range(0, DATES_ARRIVEE).mapToObj(aujourdhui::plusDays).toArray(LocalDate[]::new);
+
+        // Charge le calendrier et place le devis lu par calculerPrixDetailleEnCache
+        calculPrix.calculerPrixDetaille(chambreIds[0], arrivees[0], arrivees[0].plusDays(nuits));
+    }
+
+    @Benchmark
+    public double calculerPrix() {
+        int i = curseur++;
+        LocalDate arrivee = arrivees[i % arrivees.length];
+        return calculPrix.calculerPrix(chambreIds[i % chambreIds.length], arrivee, arrivee.plusDays(nuits));
+    }
+
+    @Benchmark
+    public CalculPrixUseCase.ResultatCalculPrix calculerPrixDetaille() {
+        int i = curseur++;
+        LocalDate arrivee = arrivees[i % arrivees.length];
+        cachePrix.vider();
+        return calculPrix.calculerPrixDetaille(chambreIds[i % chambreIds.length], arrivee, arrivee.plusDays(nuits));
+    }
+
+    @Benchmark
+    public CalculPrixUseCase.ResultatCalculPrix calculerPrixDetailleSansDetails() {
+        int i = curseur++;
+        LocalDate arrivee = arrivees[i % arrivees.length];
+        cachePrix.vider();
+        return calculPrix.calculerPrixDetaille(chambreIds[i % chambreIds.length], arrivee, arrivee.plusDays(nuits), false);
+    }
+
+    @Benchmark
+    public CalculPrixUseCase.ResultatCalculPrix calculerPrixDetailleEnCache() {
+        return calculPrix.calculerPrixDetaille(chambreIds[0], arrivees[0], arrivees[0].plusDays(nuits));
+    }
+}
@@ -0,0 +1,104 @@
+package bookingengine.usecase.reservation;
+
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.usecase.ReservationRepositoryEnMemoire;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Controle de disponibilite par l'index d'occupation, charge depuis un depot en
+ * memoire : chaque chambre a ses sejours de 2 nuits tous les 3 jours a partir
+ * d'aujourd'hui. Les demandes portent sur 3 nuits a des dates successives, pour
+ * moitie dans la periode reservee (occupee) et pour moitie apres (libre).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisponibiliteBenchmark {
+
+    private static final int NUITS_DEMANDEES = 3;
+
+    @Param({"100", "1000"})
+    public int chambres;
+
+    @Param({"10", "100"})
+    public int reservationsParChambre;
+
+    private IndexOccupation indexOccupation;
+    private List<Long> chambreIds;
+    private LocalDate[] arrivees;
+    private Reservation nouvelle;
+    private int curseur;
+
+    @Setup
+    public void setUp() {
+        LocalDate aujourdhui = LocalDate.now();
+        List<Reservation> reservations = new ArrayList<>(chambres * reservationsParChambre);
+        long id = 1;
+        for (long chambreId = 1; chambreId <= chambres; chambreId++) {
+            for (int i = 0; i < reservationsParChambre; i++) {
+                LocalDate debut = aujourdhui.plusDays(3L * i);
+                reservations.add(reservation(id++, chambreId, debut, debut.plusDays(2)));
+            }
+        }
+        indexOccupation = new IndexOccupation(new ReservationRepositoryEnMemoire(reservations));
+        indexOccupation.recharger();
+
+        chambreIds = LongStream.rangeClosed(1, chambres).boxed().toList();
+        arrivees = LongStream.range(0, 6L * reservationsParChambre).mapToObj(aujourdhui::plusDays).toArray(LocalDate[]::new);
+        // Sejour juste apres le dernier de la chambre 1 ; son retrait reconstruit le bitmap de la chambre
+        LocalDate fin = aujourdhui.plusDays(3L * reservationsParChambre);
+        nouvelle = reservation(id, 1L, fin, fin.plusDays(NUITS_DEMANDEES));
+    }
+
+    @Benchmark
+    public boolean estLibre() {
+        int i = curseur++;
+        LocalDate arrivee = arrivees[i % arrivees.length];
+        return indexOccupation.estLibre(chambreIds.get(i % chambres), arrivee, arrivee.plusDays(NUITS_DEMANDEES));
+    }
+
+    @Benchmark
+    public List<Long> filtrerLibres() {
+        LocalDate arrivee = arrivees[curseur++ % arrivees.length];
+        return indexOccupation.filtrerLibres(chambreIds, arrivee, arrivee.plusDays(NUITS_DEMANDEES));
+    }
+
+    @Benchmark
+    public boolean reserverPuisAnnuler() {
+        indexOccupation.enregistrer(nouvelle);
+        boolean libre = indexOccupation.estLibre(1L, nouvelle.getDateDebut(), nouvelle.getDateFin());
+        indexOccupation.retirer(nouvelle.getId());
+        return libre;
+    }
+
+    private static Reservation reservation(Long id, Long chambreId, LocalDate debut, LocalDate fin) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setChambreId(chambreId);
+        reservation.setUtilisateurId(1L);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
+    }
+}
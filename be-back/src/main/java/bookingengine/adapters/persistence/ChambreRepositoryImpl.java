@@ -5,8 +5,10 @@ import bookingengine.adapters.persistence.mappers.ChambreMapper;
 import bookingengine.adapters.persistence.repositories.ChambreJpaRepository;
 import bookingengine.domain.entities.Chambre;
 import bookingengine.domain.repositories.ChambreRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +30,12 @@ public class ChambreRepositoryImpl implements ChambreRepository {
         return mapper.toDomain(saved);
     }
 
+    @Override
+    public List<Chambre> saveAll(List<Chambre> chambres) {
+        List<ChambreJpaEntity> entities = chambres.stream().map(mapper::toEntity).toList();
+        return jpaRepository.saveAll(entities).stream().map(mapper::toDomain).toList();
+    }
+
     @Override
     public Optional<Chambre> findById(Long id) {
         return jpaRepository.findById(id).map(mapper::toDomain);
@@ -35,7 +43,15 @@ public class ChambreRepositoryImpl implements ChambreRepository {
 
     @Override
     public List<Chambre> findAll() {
-        return jpaRepository.findAll().stream().map(mapper::toDomain).toList();
+        return jpaRepository.findAllChambres();
+    }
+
+    @Override
+    public List<Chambre> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findChambresByIdIn(ids);
     }
 
     @Override
@@ -45,11 +61,17 @@ public class ChambreRepositoryImpl implements ChambreRepository {
 
     @Override
     public List<Chambre> findByDisponible(boolean disponible) {
-        return jpaRepository.findByDisponible(disponible).stream().map(mapper::toDomain).toList();
+        return jpaRepository.findChambresByDisponible(disponible);
     }
 
     @Override
     public List<Chambre> findByType(String type) {
-        return jpaRepository.findByType(type).stream().map(mapper::toDomain).toList();
+        return jpaRepository.findChambresByType(type);
+    }
+
+    @Override
+    public List<Chambre> findPage(Long afterId, int limit) {
+        // Les ids generes sont strictement positifs
+        return jpaRepository.findChambresAfter(afterId != null ? afterId : 0L, Limit.of(limit));
     }
 }
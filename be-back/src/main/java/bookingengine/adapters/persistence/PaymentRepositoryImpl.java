@@ -5,8 +5,10 @@ import bookingengine.adapters.persistence.mappers.PaymentMapper;
 import bookingengine.adapters.persistence.repositories.PaymentJpaRepository;
 import bookingengine.domain.entities.Payment;
 import bookingengine.domain.repositories.PaymentRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,9 +35,14 @@ public class PaymentRepositoryImpl implements PaymentRepository {
         return jpaRepository.findById(id).map(mapper::toDomain);
     }
 
+    @Override
+    public Optional<Long> findReservationIdById(Long id) {
+        return jpaRepository.findReservationIdById(id);
+    }
+
     @Override
     public List<Payment> findAll() {
-        return jpaRepository.findAll().stream().map(mapper::toDomain).toList();
+        return jpaRepository.findAllLignes().stream().map(mapper::toDomain).toList();
     }
 
     @Override
@@ -45,6 +52,19 @@ public class PaymentRepositoryImpl implements PaymentRepository {
 
     @Override
     public List<Payment> findByReservationId(Long reservationId) {
-        return jpaRepository.findByReservationId(reservationId).stream().map(mapper::toDomain).toList();
+        return jpaRepository.findLignesByReservationId(reservationId).stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public int cancelPendingByReservationIds(Collection<Long> reservationIds) {
+        return jpaRepository.updateStatusByReservationIds(reservationIds,
+                PaymentJpaEntity.PaymentStatusJpa.PENDING, PaymentJpaEntity.PaymentStatusJpa.CANCELLED);
+    }
+
+    @Override
+    public List<Payment> findPage(Long afterId, int limit) {
+        // Les ids generes sont strictement positifs
+        return jpaRepository.findLignesAfter(afterId != null ? afterId : 0L, Limit.of(limit))
+                .stream().map(mapper::toDomain).toList();
     }
 }
@@ -1,33 +1,106 @@
 package bookingengine.adapters.persistence;
 
 import bookingengine.adapters.persistence.entities.ReservationJpaEntity;
+import bookingengine.adapters.persistence.mappers.PaymentMapper;
 import bookingengine.adapters.persistence.mappers.ReservationMapper;
+import bookingengine.adapters.persistence.repositories.PaymentJpaRepository;
 import bookingengine.adapters.persistence.repositories.ReservationJpaRepository;
+import bookingengine.domain.entities.Payment;
 import bookingengine.domain.entities.Reservation;
 import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.exceptions.ReservationConflictException;
 import bookingengine.domain.repositories.ReservationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class ReservationRepositoryImpl implements ReservationRepository {
 
+    // exclusion_violation, levee par la contrainte reservations_sans_chevauchement
+    private static final String SQLSTATE_EXCLUSION = "23P01";
+
+    // Lignes ramenees par aller-retour du curseur serveur lors d'un export
+    static final int TAILLE_LOT_EXPORT = 500;
+
     private final ReservationJpaRepository jpaRepository;
     private final ReservationMapper mapper;
+    private final PaymentJpaRepository paymentJpaRepository;
+    private final PaymentMapper paymentMapper;
+    private final EntityManager entityManager;
 
-    public ReservationRepositoryImpl(ReservationJpaRepository jpaRepository, ReservationMapper mapper) {
+    public ReservationRepositoryImpl(ReservationJpaRepository jpaRepository, ReservationMapper mapper,
+                                     PaymentJpaRepository paymentJpaRepository, PaymentMapper paymentMapper,
+                                     EntityManager entityManager) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.paymentJpaRepository = paymentJpaRepository;
+        this.paymentMapper = paymentMapper;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Reservation save(Reservation reservation) {
         ReservationJpaEntity entity = mapper.toEntity(reservation);
-        ReservationJpaEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        try {
+            // Les ids venant d'une sequence, l'INSERT attendrait le commit : le flush fait
+            // remonter ici une violation de la contrainte d'exclusion
+            ReservationJpaEntity saved = jpaRepository.saveAndFlush(entity);
+            return mapper.toDomain(saved);
+        } catch (DataAccessException | TransactionException e) {
+            throw traduire(e);
+        }
+    }
+
+    /**
+     * Ecrit une nouvelle reservation et son paiement avec un seul flush : les ids sont
+     * pris dans les blocs de sequence deja alloues, les deux INSERT partent ensemble.
+     * Rejoint la transaction du use case si elle existe.
+     */
+    @Override
+    @Transactional
+    public Reservation saveWithPayment(Reservation reservation, Payment payment) {
+        try {
+            ReservationJpaEntity saved = jpaRepository.save(mapper.toEntity(reservation));
+            payment.setReservationId(saved.getId());
+            paymentJpaRepository.save(paymentMapper.toEntity(payment));
+            entityManager.flush();
+            return mapper.toDomain(saved);
+        } catch (DataAccessException | PersistenceException e) {
+            throw traduire(e);
+        }
+    }
+
+    private static RuntimeException traduire(RuntimeException erreur) {
+        if (violeContrainteExclusion(erreur)) {
+            return new ReservationConflictException("La chambre est deja reservee pour les dates selectionnees", erreur);
+        }
+        return erreur;
+    }
+
+    private static boolean violeContrainteExclusion(Throwable erreur) {
+        for (Throwable cause = erreur; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && SQLSTATE_EXCLUSION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -35,9 +108,14 @@ public class ReservationRepositoryImpl implements ReservationRepository {
         return jpaRepository.findById(id).map(mapper::toDomain);
     }
 
+    @Override
+    public Optional<Reservation> findByIdForUpdate(Long id) {
+        return jpaRepository.findByIdForUpdate(id).map(mapper::toDomain);
+    }
+
     @Override
     public List<Reservation> findAll() {
-        return jpaRepository.findAll().stream().map(mapper::toDomain).toList();
+        return jpaRepository.findAllLignes().stream().map(mapper::toDomain).toList();
     }
 
     @Override
@@ -48,17 +126,17 @@ public class ReservationRepositoryImpl implements ReservationRepository {
     @Override
     public List<Reservation> findByStatus(ReservationStatus status) {
         ReservationJpaEntity.ReservationStatusJpa jpaStatus = ReservationJpaEntity.ReservationStatusJpa.valueOf(status.name());
-        return jpaRepository.findByStatus(jpaStatus).stream().map(mapper::toDomain).toList();
+        return jpaRepository.findLignesByStatus(jpaStatus).stream().map(mapper::toDomain).toList();
     }
 
     @Override
     public List<Reservation> findByChambreId(Long chambreId) {
-        return jpaRepository.findByChambreId(chambreId).stream().map(mapper::toDomain).toList();
+        return jpaRepository.findLignesByChambreId(chambreId).stream().map(mapper::toDomain).toList();
     }
 
     @Override
     public List<Reservation> findByUtilisateurId(Long utilisateurId) {
-        return jpaRepository.findByUtilisateurId(utilisateurId).stream().map(mapper::toDomain).toList();
+        return jpaRepository.findLignesByUtilisateurId(utilisateurId).stream().map(mapper::toDomain).toList();
     }
 
     @Override
@@ -73,4 +151,101 @@ public class ReservationRepositoryImpl implements ReservationRepository {
                 .map(mapper::toDomain)
                 .toList();
     }
+
+    @Override
+    public List<Reservation> findActiveReservations() {
+        return jpaRepository.findActiveLignes()
+                .stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Long> findOccupiedChambreIds(Collection<Long> chambreIds, LocalDate dateDebut, LocalDate dateFin) {
+        return jpaRepository.findOccupiedChambreIds(chambreIds, dateDebut, dateFin);
+    }
+
+    @Override
+    public List<Reservation> findPendingCreatedBeforeForUpdate(LocalDateTime createdBefore, int limit) {
+        return jpaRepository.findPendingCreatedBeforeForUpdate(createdBefore, limit)
+                .stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int cancelAll(Collection<Long> ids, LocalDateTime cancelledAt) {
+        return jpaRepository.updateStatus(ids, ReservationJpaEntity.ReservationStatusJpa.CANCELLED, cancelledAt);
+    }
+
+    @Override
+    public List<Reservation> findPage(Long afterId, int limit) {
+        return jpaRepository.findLignesAfter(depuis(afterId), Limit.of(limit))
+                .stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public List<Reservation> findPageByStatus(ReservationStatus status, Long afterId, int limit) {
+        ReservationJpaEntity.ReservationStatusJpa jpaStatus = ReservationJpaEntity.ReservationStatusJpa.valueOf(status.name());
+        return jpaRepository.findLignesByStatusAfter(jpaStatus, depuis(afterId), Limit.of(limit))
+                .stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public List<Reservation> findPageByChambreId(Long chambreId, Long afterId, int limit) {
+        return jpaRepository.findLignesByChambreIdAfter(chambreId, depuis(afterId), Limit.of(limit))
+                .stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public List<Reservation> findPageByUtilisateurId(Long utilisateurId, Long afterId, int limit) {
+        return jpaRepository.findLignesByUtilisateurIdAfter(utilisateurId, depuis(afterId), Limit.of(limit))
+                .stream().map(mapper::toDomain).toList();
+    }
+
+    /**
+     * Les lignes arrivent par lots de TAILLE_LOT_EXPORT depuis un curseur PostgreSQL
+     * (fetch size dans une transaction) et chaque entite est detachee apres usage :
+     * la memoire utilisee ne depend pas du nombre de reservations exportees.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachForExport(ReservationStatus status, LocalDate from, LocalDate to, Consumer<Reservation> action) {
+        StringBuilder jpql = new StringBuilder("SELECT r FROM ReservationJpaEntity r WHERE 1 = 1");
+        if (status != null) {
+            jpql.append(" AND r.status = :status");
+        }
+        if (from != null) {
+            jpql.append(" AND r.dateFin >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND r.dateDebut <= :to");
+        }
+        jpql.append(" ORDER BY r.id");
+
+        TypedQuery<ReservationJpaEntity> query = entityManager.createQuery(jpql.toString(), ReservationJpaEntity.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAILLE_LOT_EXPORT)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (status != null) {
+            query.setParameter("status", ReservationJpaEntity.ReservationStatusJpa.valueOf(status.name()));
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+
+        try (Stream<ReservationJpaEntity> lignes = query.getResultStream()) {
+            lignes.forEach(entity -> {
+                action.accept(mapper.toDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    // Les ids generes sont strictement positifs
+    private static Long depuis(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
 }
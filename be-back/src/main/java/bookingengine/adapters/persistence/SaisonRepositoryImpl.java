@@ -48,4 +48,9 @@ public class SaisonRepositoryImpl implements SaisonRepository {
     public Optional<Saison> findByDate(LocalDate date) {
         return jpaRepository.findByDate(date).map(mapper::toDomain);
     }
+
+    @Override
+    public List<Saison> findChevauchant(LocalDate dateDebut, LocalDate dateFin) {
+        return jpaRepository.findChevauchant(dateDebut, dateFin).stream().map(mapper::toDomain).toList();
+    }
 }
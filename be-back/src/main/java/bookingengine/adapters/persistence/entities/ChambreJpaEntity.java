@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class ChambreJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chambres_seq")
+    @SequenceGenerator(name = "chambres_seq", sequenceName = "chambres_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -8,7 +8,8 @@ import java.time.LocalDate;
 public class SaisonJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saisons_seq")
+    @SequenceGenerator(name = "saisons_seq", sequenceName = "saisons_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
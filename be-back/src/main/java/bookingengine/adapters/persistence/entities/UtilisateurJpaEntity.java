@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class UtilisateurJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "utilisateurs_seq")
+    @SequenceGenerator(name = "utilisateurs_seq", sequenceName = "utilisateurs_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -1,6 +1,7 @@
 package bookingengine.adapters.persistence.mappers;
 
 import bookingengine.adapters.persistence.entities.PaymentJpaEntity;
+import bookingengine.adapters.persistence.projections.PaymentLigne;
 import bookingengine.domain.entities.Payment;
 import bookingengine.domain.entities.PaymentStatus;
 import org.springframework.stereotype.Component;
@@ -20,6 +21,18 @@ public class PaymentMapper {
         );
     }
 
+    public Payment toDomain(PaymentLigne ligne) {
+        if (ligne == null) return null;
+        return new Payment(
+                ligne.id(),
+                ligne.reservationId(),
+                ligne.amount(),
+                ligne.paymentMethod(),
+                PaymentStatus.valueOf(ligne.status().name()),
+                ligne.paymentDate()
+        );
+    }
+
     public PaymentJpaEntity toEntity(Payment domain) {
         if (domain == null) return null;
         PaymentJpaEntity entity = new PaymentJpaEntity();
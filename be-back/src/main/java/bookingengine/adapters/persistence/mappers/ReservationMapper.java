@@ -1,6 +1,7 @@
 package bookingengine.adapters.persistence.mappers;
 
 import bookingengine.adapters.persistence.entities.ReservationJpaEntity;
+import bookingengine.adapters.persistence.projections.ReservationLigne;
 import bookingengine.domain.entities.Reservation;
 import bookingengine.domain.entities.ReservationStatus;
 import org.springframework.stereotype.Component;
@@ -22,6 +23,20 @@ public class ReservationMapper {
         );
     }
 
+    public Reservation toDomain(ReservationLigne ligne) {
+        if (ligne == null) return null;
+        return new Reservation(
+                ligne.id(),
+                ligne.chambreId(),
+                ligne.utilisateurId(),
+                ligne.dateDebut(),
+                ligne.dateFin(),
+                ReservationStatus.valueOf(ligne.status().name()),
+                ligne.createdAt(),
+                ligne.cancelledAt()
+        );
+    }
+
     public ReservationJpaEntity toEntity(Reservation domain) {
         if (domain == null) return null;
         ReservationJpaEntity entity = new ReservationJpaEntity();
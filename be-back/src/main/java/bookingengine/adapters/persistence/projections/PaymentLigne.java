@@ -0,0 +1,20 @@
+package bookingengine.adapters.persistence.projections;
+
+import bookingengine.adapters.persistence.entities.PaymentJpaEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Paiement lu par expression de constructeur JPQL, pour les lectures seules (voir
+ * ReservationLigne).
+ */
+public record PaymentLigne(
+        Long id,
+        Long reservationId,
+        BigDecimal amount,
+        String paymentMethod,
+        PaymentJpaEntity.PaymentStatusJpa status,
+        LocalDateTime paymentDate
+) {
+}
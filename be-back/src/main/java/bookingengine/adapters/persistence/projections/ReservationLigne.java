@@ -0,0 +1,23 @@
+package bookingengine.adapters.persistence.projections;
+
+import bookingengine.adapters.persistence.entities.ReservationJpaEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reservation lue par expression de constructeur JPQL, pour les lectures seules :
+ * aucune entite n'est geree par le contexte de persistance, donc ni instantane pour
+ * le dirty checking ni entree a vider en fin de transaction.
+ */
+public record ReservationLigne(
+        Long id,
+        Long chambreId,
+        Long utilisateurId,
+        LocalDate dateDebut,
+        LocalDate dateFin,
+        ReservationJpaEntity.ReservationStatusJpa status,
+        LocalDateTime createdAt,
+        LocalDateTime cancelledAt
+) {
+}
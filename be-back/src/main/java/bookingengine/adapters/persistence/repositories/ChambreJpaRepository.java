@@ -1,13 +1,37 @@
 package bookingengine.adapters.persistence.repositories;
 
 import bookingengine.adapters.persistence.entities.ChambreJpaEntity;
+import bookingengine.domain.entities.Chambre;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ChambreJpaRepository extends JpaRepository<ChambreJpaEntity, Long> {
-    List<ChambreJpaEntity> findByDisponible(boolean disponible);
-    List<ChambreJpaEntity> findByType(String type);
+
+    // Lectures seules construites directement en objets du domaine : aucune entite geree,
+    // ni instantane pour le dirty checking
+    String CHAMBRE = "SELECT new bookingengine.domain.entities.Chambre(" +
+            "c.id, c.numero, c.type, c.prixBase, c.capacite, c.description, c.disponible) " +
+            "FROM ChambreJpaEntity c ";
+
+    @Query(CHAMBRE + "ORDER BY c.id")
+    List<Chambre> findAllChambres();
+
+    @Query(CHAMBRE + "WHERE c.id IN :ids")
+    List<Chambre> findChambresByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(CHAMBRE + "WHERE c.disponible = :disponible ORDER BY c.id")
+    List<Chambre> findChambresByDisponible(@Param("disponible") boolean disponible);
+
+    @Query(CHAMBRE + "WHERE c.type = :type ORDER BY c.id")
+    List<Chambre> findChambresByType(@Param("type") String type);
+
+    @Query(CHAMBRE + "WHERE c.id > :id ORDER BY c.id")
+    List<Chambre> findChambresAfter(@Param("id") Long id, Limit limit);
 }
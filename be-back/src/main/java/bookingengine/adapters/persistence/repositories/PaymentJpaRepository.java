@@ -1,12 +1,44 @@
 package bookingengine.adapters.persistence.repositories;
 
 import bookingengine.adapters.persistence.entities.PaymentJpaEntity;
+import bookingengine.adapters.persistence.projections.PaymentLigne;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentJpaRepository extends JpaRepository<PaymentJpaEntity, Long> {
     List<PaymentJpaEntity> findByReservationId(Long reservationId);
+
+    @Query("SELECT p.reservationId FROM PaymentJpaEntity p WHERE p.id = :id")
+    Optional<Long> findReservationIdById(@Param("id") Long id);
+
+    // Lectures seules par expression de constructeur (voir ReservationJpaRepository.LIGNE)
+    String LIGNE = "SELECT new bookingengine.adapters.persistence.projections.PaymentLigne(" +
+            "p.id, p.reservationId, p.amount, p.paymentMethod, p.status, p.paymentDate) " +
+            "FROM PaymentJpaEntity p ";
+
+    @Query(LIGNE + "ORDER BY p.id")
+    List<PaymentLigne> findAllLignes();
+
+    @Query(LIGNE + "WHERE p.reservationId = :reservationId ORDER BY p.id")
+    List<PaymentLigne> findLignesByReservationId(@Param("reservationId") Long reservationId);
+
+    @Query(LIGNE + "WHERE p.id > :id ORDER BY p.id")
+    List<PaymentLigne> findLignesAfter(@Param("id") Long id, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PaymentJpaEntity p SET p.status = :nouveau " +
+           "WHERE p.reservationId IN :reservationIds AND p.status = :ancien")
+    int updateStatusByReservationIds(
+            @Param("reservationIds") Collection<Long> reservationIds,
+            @Param("ancien") PaymentJpaEntity.PaymentStatusJpa ancien,
+            @Param("nouveau") PaymentJpaEntity.PaymentStatusJpa nouveau);
 }
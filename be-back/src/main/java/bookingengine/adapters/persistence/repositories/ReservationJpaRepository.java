@@ -1,19 +1,57 @@
 package bookingengine.adapters.persistence.repositories;
 
 import bookingengine.adapters.persistence.entities.ReservationJpaEntity;
+import bookingengine.adapters.persistence.projections.ReservationLigne;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservationJpaRepository extends JpaRepository<ReservationJpaEntity, Long> {
-    List<ReservationJpaEntity> findByStatus(ReservationJpaEntity.ReservationStatusJpa status);
-    List<ReservationJpaEntity> findByChambreId(Long chambreId);
-    List<ReservationJpaEntity> findByUtilisateurId(Long utilisateurId);
+
+    // Lectures seules par expression de constructeur : aucune entite geree, ni instantane
+    // pour le dirty checking ; le mapper construit l'objet du domaine depuis la ligne
+    String LIGNE = "SELECT new bookingengine.adapters.persistence.projections.ReservationLigne(" +
+            "r.id, r.chambreId, r.utilisateurId, r.dateDebut, r.dateFin, r.status, r.createdAt, r.cancelledAt) " +
+            "FROM ReservationJpaEntity r ";
+
+    @Query(LIGNE + "ORDER BY r.id")
+    List<ReservationLigne> findAllLignes();
+
+    @Query(LIGNE + "WHERE r.status = :status ORDER BY r.id")
+    List<ReservationLigne> findLignesByStatus(@Param("status") ReservationJpaEntity.ReservationStatusJpa status);
+
+    @Query(LIGNE + "WHERE r.chambreId = :chambreId ORDER BY r.id")
+    List<ReservationLigne> findLignesByChambreId(@Param("chambreId") Long chambreId);
+
+    @Query(LIGNE + "WHERE r.utilisateurId = :utilisateurId ORDER BY r.id")
+    List<ReservationLigne> findLignesByUtilisateurId(@Param("utilisateurId") Long utilisateurId);
+
+    @Query(LIGNE + "WHERE r.status NOT IN ('CANCELLED')")
+    List<ReservationLigne> findActiveLignes();
+
+    @Query(LIGNE + "WHERE r.id > :id ORDER BY r.id")
+    List<ReservationLigne> findLignesAfter(@Param("id") Long id, Limit limit);
+
+    @Query(LIGNE + "WHERE r.status = :status AND r.id > :id ORDER BY r.id")
+    List<ReservationLigne> findLignesByStatusAfter(
+            @Param("status") ReservationJpaEntity.ReservationStatusJpa status, @Param("id") Long id, Limit limit);
+
+    @Query(LIGNE + "WHERE r.chambreId = :chambreId AND r.id > :id ORDER BY r.id")
+    List<ReservationLigne> findLignesByChambreIdAfter(@Param("chambreId") Long chambreId, @Param("id") Long id, Limit limit);
+
+    @Query(LIGNE + "WHERE r.utilisateurId = :utilisateurId AND r.id > :id ORDER BY r.id")
+    List<ReservationLigne> findLignesByUtilisateurIdAfter(
+            @Param("utilisateurId") Long utilisateurId, @Param("id") Long id, Limit limit);
 
     @Query("SELECT r FROM ReservationJpaEntity r WHERE r.chambreId = :chambreId " +
            "AND r.status NOT IN ('CANCELLED') " +
@@ -22,4 +60,29 @@ public interface ReservationJpaRepository extends JpaRepository<ReservationJpaEn
             @Param("chambreId") Long chambreId,
             @Param("dateDebut") LocalDate dateDebut,
             @Param("dateFin") LocalDate dateFin);
+
+    @Query("SELECT DISTINCT r.chambreId FROM ReservationJpaEntity r WHERE r.chambreId IN :chambreIds " +
+           "AND r.status NOT IN ('CANCELLED') " +
+           "AND r.dateDebut < :dateFin AND r.dateFin > :dateDebut")
+    List<Long> findOccupiedChambreIds(
+            @Param("chambreIds") Collection<Long> chambreIds,
+            @Param("dateDebut") LocalDate dateDebut,
+            @Param("dateFin") LocalDate dateFin);
+
+    @Query(value = "SELECT * FROM reservations WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<ReservationJpaEntity> findByIdForUpdate(@Param("id") Long id);
+
+    // SKIP LOCKED : une reservation en cours de paiement n'est ni attendue ni annulee
+    @Query(value = "SELECT * FROM reservations WHERE status = 'PENDING' AND created_at < :avant " +
+                   "ORDER BY id LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReservationJpaEntity> findPendingCreatedBeforeForUpdate(
+            @Param("avant") LocalDateTime avant,
+            @Param("limite") int limite);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReservationJpaEntity r SET r.status = :status, r.cancelledAt = :cancelledAt WHERE r.id IN :ids")
+    int updateStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") ReservationJpaEntity.ReservationStatusJpa status,
+            @Param("cancelledAt") LocalDateTime cancelledAt);
 }
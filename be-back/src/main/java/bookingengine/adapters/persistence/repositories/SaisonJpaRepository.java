@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +15,7 @@ public interface SaisonJpaRepository extends JpaRepository<SaisonJpaEntity, Long
 
     @Query("SELECT s FROM SaisonJpaEntity s WHERE :date BETWEEN s.dateDebut AND s.dateFin")
     Optional<SaisonJpaEntity> findByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT s FROM SaisonJpaEntity s WHERE s.dateDebut <= :dateFin AND s.dateFin >= :dateDebut")
+    List<SaisonJpaEntity> findChevauchant(@Param("dateDebut") LocalDate dateDebut, @Param("dateFin") LocalDate dateFin);
 }
@@ -5,6 +5,7 @@ import bookingengine.domain.entities.Chambre;
 import bookingengine.usecase.chambre.ChambreUseCase;
 import bookingengine.usecase.reservation.ReservationUseCase;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -35,18 +36,26 @@ public class ChambreController {
     @GetMapping
     @Operation(
             summary = "Lister toutes les chambres",
-            description = "Récupère la liste complète des chambres disponibles dans l'hôtel"
+            description = "Récupère les chambres de l'hôtel, paginées par curseur "
+                    + "(en-tête X-Curseur-Suivant) ; liste complète avec complet=true"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Liste des chambres récupérée avec succès"),
+            @ApiResponse(responseCode = "400", description = "Taille de page invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public ResponseEntity<List<ChambreDto>> getAllChambres() {
-        List<ChambreDto> chambres = chambreUseCase.obtenirToutesChambres()
-                .stream()
-                .map(ChambreDto::from)
-                .toList();
-        return ResponseEntity.ok(chambres);
+    public ResponseEntity<List<ChambreDto>> getAllChambres(
+            @Parameter(description = "Id de la dernière ligne de la page précédente (curseur)") @RequestParam(required = false) Long apres,
+            @Parameter(description = "Taille de page (50 par défaut, max 200)") @RequestParam(required = false) Integer taille,
+            @Parameter(description = "Liste complète sans pagination, sur demande explicite") @RequestParam(defaultValue = "false") boolean complet) {
+        if (ReponsePaginee.listeComplete(complet, apres, taille)) {
+            List<ChambreDto> chambres = chambreUseCase.obtenirToutesChambres()
+                    .stream()
+                    .map(ChambreDto::from)
+                    .toList();
+            return ResponseEntity.ok(chambres);
+        }
+        return ReponsePaginee.de(chambreUseCase.obtenirPageChambres(apres, taille), ChambreDto::from);
     }
 
     @GetMapping("{id}")
@@ -120,9 +129,8 @@ public class ChambreController {
     public ResponseEntity<List<ChambreDto>> getChambresDisponiblesPourPeriode(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin) {
-        List<ChambreDto> chambres = chambreUseCase.obtenirChambresDisponibles()
+        List<ChambreDto> chambres = chambreUseCase.obtenirChambresDisponiblesPourPeriode(dateDebut, dateFin)
                 .stream()
-                .filter(chambre -> reservationUseCase.verifierDisponibilite(chambre.getId(), dateDebut, dateFin))
                 .map(ChambreDto::from)
                 .toList();
         return ResponseEntity.ok(chambres);
@@ -161,6 +169,25 @@ public class ChambreController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ChambreDto.from(chambre));
     }
 
+    @PostMapping("lot")
+    @Operation(
+            summary = "Créer plusieurs chambres",
+            description = "Ajoute en une seule transaction un lot de chambres (au plus " + ChambreUseCase.TAILLE_MAX_LOT +
+                    "). Les insertions sont envoyées à la base par lots JDBC."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Chambres créées avec succès"),
+            @ApiResponse(responseCode = "400", description = "Lot vide, trop volumineux ou numéros en double", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public ResponseEntity<List<ChambreDto>> createChambres(@RequestBody List<ChambreDto> chambreDtos) {
+        List<ChambreDto> chambres = chambreUseCase.creerChambres(chambreDtos.stream().map(ChambreDto::toDomain).toList())
+                .stream()
+                .map(ChambreDto::from)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(chambres);
+    }
+
     @PutMapping("{id}")
     @Operation(
             summary = "Modifier une chambre existante",
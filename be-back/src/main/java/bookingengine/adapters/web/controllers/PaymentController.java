@@ -7,6 +7,7 @@ import bookingengine.domain.entities.Payment;
 import bookingengine.domain.entities.PaymentStatus;
 import bookingengine.usecase.payment.PaymentUseCase;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
@@ -28,15 +29,23 @@ public class PaymentController {
     }
 
     @GetMapping
-    @Operation(summary = "Lister tous les paiements")
+    @Operation(summary = "Lister tous les paiements",
+            description = "Paginée par curseur (en-tête X-Curseur-Suivant) ; liste complète avec complet=true")
     @ApiResponse(responseCode = "200", description = "Liste des paiements récupérée avec succès")
+    @ApiResponse(responseCode = "400", description = "Taille de page invalide")
     @ApiResponse(responseCode = "500", description = "Erreur serveur lors de la récupération des paiements")
-    public ResponseEntity<List<PaymentResponse>> getAllPayments() {
-        List<PaymentResponse> payments = paymentUseCase.obtenirTousLesPayments()
-                .stream()
-                .map(PaymentResponse::from)
-                .toList();
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<List<PaymentResponse>> getAllPayments(
+            @Parameter(description = "Id de la dernière ligne de la page précédente (curseur)") @RequestParam(required = false) Long apres,
+            @Parameter(description = "Taille de page (50 par défaut, max 200)") @RequestParam(required = false) Integer taille,
+            @Parameter(description = "Liste complète sans pagination, sur demande explicite") @RequestParam(defaultValue = "false") boolean complet) {
+        if (ReponsePaginee.listeComplete(complet, apres, taille)) {
+            List<PaymentResponse> payments = paymentUseCase.obtenirTousLesPayments()
+                    .stream()
+                    .map(PaymentResponse::from)
+                    .toList();
+            return ResponseEntity.ok(payments);
+        }
+        return ReponsePaginee.de(paymentUseCase.obtenirPagePayments(apres, taille), PaymentResponse::from);
     }
 
     @GetMapping("{id}")
@@ -1,6 +1,7 @@
 package bookingengine.adapters.web.controllers;
 
 import bookingengine.adapters.web.dto.CalculPrixRequest;
+import bookingengine.usecase.prix.CachePrix;
 import bookingengine.usecase.prix.CalculPrixUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +12,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("prix")
 @Tag(name = "Prix", description = "Calcul des prix")
@@ -26,7 +30,8 @@ public class PrixController {
     @Operation(
             summary = "Calculer le prix d'un séjour",
             description = "Calcule le prix total d'un séjour pour une chambre donnée entre deux dates, " +
-                    "en appliquant les coefficients saisonniers jour par jour. Retourne le détail du calcul par nuit."
+                    "en appliquant les coefficients saisonniers. Retourne le détail du calcul par nuit, " +
+                    "sauf si details=false (total seul, calculé en temps constant)."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Calcul effectué avec succès",
@@ -35,12 +40,70 @@ public class PrixController {
             @ApiResponse(responseCode = "400", description = "Dates invalides ou paramètres incorrects", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public ResponseEntity<CalculPrixUseCase.ResultatCalculPrix> calculerPrix(@RequestBody CalculPrixRequest request) {
+    public ResponseEntity<CalculPrixUseCase.ResultatCalculPrix> calculerPrix(
+            @RequestBody CalculPrixRequest request,
+            @RequestParam(defaultValue = "true") boolean details) {
+        verifierDemande(request, "La demande");
         CalculPrixUseCase.ResultatCalculPrix resultat = calculPrixUseCase.calculerPrixDetaille(
                 request.chambreId(),
                 request.dateDebut(),
-                request.dateFin()
+                request.dateFin(),
+                details
         );
         return ResponseEntity.ok(resultat);
     }
+
+    @PostMapping("calculer/lot")
+    @Operation(
+            summary = "Calculer le prix de plusieurs séjours",
+            description = "Calcule en un seul appel le prix de N couples (chambre, dates). Les chambres sont chargées " +
+                    "en une requête et chaque demande porte son propre résultat ou sa propre erreur. " +
+                    "Sans détail par nuit par défaut (details=true pour l'obtenir)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lot calculé, erreurs éventuelles reportées demande par demande"),
+            @ApiResponse(responseCode = "400", description = "Lot vide, trop volumineux ou demande incomplète", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public ResponseEntity<List<CalculPrixUseCase.ResultatLot>> calculerPrixLot(
+            @RequestBody List<CalculPrixRequest> requests,
+            @RequestParam(defaultValue = "false") boolean details) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Le lot de demandes ne peut pas être vide");
+        }
+        List<CalculPrixUseCase.DemandePrix> demandes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CalculPrixRequest request = requests.get(i);
+            verifierDemande(request, "La demande " + (i + 1) + " du lot");
+            demandes.add(new CalculPrixUseCase.DemandePrix(request.chambreId(), request.dateDebut(), request.dateFin()));
+        }
+        return ResponseEntity.ok(calculPrixUseCase.calculerPrixLot(demandes, details));
+    }
+
+    // Demande absente ou incomplete : 400 plutot qu'un NullPointerException plus loin
+    private static void verifierDemande(CalculPrixRequest request, String demande) {
+        if (request == null) {
+            throw new IllegalArgumentException(demande + " est vide");
+        }
+        if (request.chambreId() == null) {
+            throw new IllegalArgumentException(demande + " doit indiquer la chambre (chambreId)");
+        }
+        if (request.dateDebut() == null || request.dateFin() == null) {
+            throw new IllegalArgumentException(demande + " doit indiquer les dates de début et de fin");
+        }
+    }
+
+    @GetMapping("cache")
+    @Operation(
+            summary = "Statistiques du cache des devis",
+            description = "Retourne le nombre de succès, d'échecs et d'évictions du cache des devis, " +
+                    "ainsi que sa taille courante et sa capacité."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès",
+                    content = @Content(schema = @Schema(implementation = CachePrix.Statistiques.class)))
+    })
+    public ResponseEntity<CachePrix.Statistiques> getStatistiquesCache() {
+        return ResponseEntity.ok(calculPrixUseCase.statistiquesCache());
+    }
 }
@@ -0,0 +1,44 @@
+package bookingengine.adapters.web.controllers;
+
+import bookingengine.usecase.pagination.PageCurseur;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reponse d'une liste paginee par curseur : le corps reste un tableau JSON et le
+ * curseur de la page suivante passe dans l'en-tete X-Curseur-Suivant (absent sur
+ * la derniere page), a renvoyer dans le parametre "apres".
+ *
+ * Les listes sont toujours paginees (PageCurseur.TAILLE_PAR_DEFAUT sans "taille") ;
+ * la liste complete n'est renvoyee que sur demande explicite, complet=true.
+ */
+final class ReponsePaginee {
+
+    static final String EN_TETE_CURSEUR_SUIVANT = "X-Curseur-Suivant";
+
+    private ReponsePaginee() {
+    }
+
+    /**
+     * Vrai si la liste complete est demandee ; elle ne se combine pas avec un curseur
+     * ou une taille de page.
+     */
+    static boolean listeComplete(boolean complet, Long apres, Integer taille) {
+        if (complet && (apres != null || taille != null)) {
+            throw new IllegalArgumentException("Le paramètre complet ne se combine pas avec apres ou taille");
+        }
+        return complet;
+    }
+
+    static <T, R> ResponseEntity<List<R>> de(PageCurseur<T> page, Function<T, R> conversion) {
+        List<R> corps = page.elements().stream().map(conversion).toList();
+        if (page.curseurSuivant() == null) {
+            return ResponseEntity.ok(corps);
+        }
+        return ResponseEntity.ok()
+                .header(EN_TETE_CURSEUR_SUIVANT, page.curseurSuivant().toString())
+                .body(corps);
+    }
+}
@@ -6,13 +6,23 @@ import bookingengine.adapters.web.dto.ReservationUpdateRequest;
 import bookingengine.domain.entities.Reservation;
 import bookingengine.domain.entities.ReservationStatus;
 import bookingengine.usecase.reservation.ReservationUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,6 +31,13 @@ import java.util.List;
 @Tag(name = "Reservations", description = "Gestion des réservations")
 public class ReservationController {
 
+    static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    // Dates ISO (2026-03-01), comme dans les reponses JSON de l'API
+    private static final ObjectMapper EXPORT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
     private final ReservationUseCase reservationUseCase;
 
     public ReservationController(ReservationUseCase reservationUseCase) {
@@ -28,15 +45,57 @@ public class ReservationController {
     }
 
     @GetMapping
-    @Operation(summary = "Lister toutes les réservations")
+    @Operation(summary = "Lister toutes les réservations",
+            description = "Paginée par curseur (en-tête X-Curseur-Suivant) ; liste complète avec complet=true")
     @ApiResponse(responseCode = "200", description = "Liste des réservations récupérée")
+    @ApiResponse(responseCode = "400", description = "Taille de page invalide")
+    @ApiResponse(responseCode = "500", description = "Erreur serveur")
+    public ResponseEntity<List<ReservationResponse>> getAllReservations(
+            @Parameter(description = "Id de la dernière ligne de la page précédente (curseur)") @RequestParam(required = false) Long apres,
+            @Parameter(description = "Taille de page (50 par défaut, max 200)") @RequestParam(required = false) Integer taille,
+            @Parameter(description = "Liste complète sans pagination, sur demande explicite") @RequestParam(defaultValue = "false") boolean complet) {
+        if (ReponsePaginee.listeComplete(complet, apres, taille)) {
+            List<ReservationResponse> reservations = reservationUseCase.obtenirToutesLesReservations()
+                    .stream()
+                    .map(ReservationResponse::from)
+                    .toList();
+            return ResponseEntity.ok(reservations);
+        }
+        return ReponsePaginee.de(reservationUseCase.obtenirPageReservations(apres, taille), ReservationResponse::from);
+    }
+
+    @GetMapping("export")
+    @Operation(summary = "Exporter les réservations en NDJSON",
+            description = "Une réservation JSON par ligne (application/x-ndjson), par id croissant, lue en flux "
+                    + "depuis un curseur en base : la mémoire utilisée ne dépend pas du volume exporté")
+    @ApiResponse(responseCode = "200", description = "Export en cours d'écriture")
+    @ApiResponse(responseCode = "400", description = "Statut ou dates invalides")
     @ApiResponse(responseCode = "500", description = "Erreur serveur")
-    public ResponseEntity<List<ReservationResponse>> getAllReservations() {
-        List<ReservationResponse> reservations = reservationUseCase.obtenirToutesLesReservations()
-                .stream()
-                .map(ReservationResponse::from)
-                .toList();
-        return ResponseEntity.ok(reservations);
+    public void exportReservations(
+            @Parameter(description = "Statut des réservations exportées") @RequestParam(required = false) String status,
+            @Parameter(description = "Séjours se terminant à partir de cette date") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate du,
+            @Parameter(description = "Séjours commençant au plus tard à cette date") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate au,
+            HttpServletResponse response) throws IOException {
+        ReservationStatus reservationStatus = status != null ? ReservationStatus.valueOf(status.toUpperCase()) : null;
+
+        response.setContentType(MEDIA_TYPE_NDJSON);
+        OutputStream sortie = response.getOutputStream();
+        try {
+            reservationUseCase.exporterReservations(reservationStatus, du, au, reservation -> {
+                try {
+                    sortie.write(EXPORT_MAPPER.writeValueAsBytes(ReservationResponse.from(reservation)));
+                    sortie.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client deconnecte en cours d'export : le curseur est deja referme
+            throw e.getCause();
+        }
+        sortie.flush();
     }
 
     @GetMapping("{id}")
@@ -52,15 +111,23 @@ public class ReservationController {
     @GetMapping("status/{status}")
     @Operation(summary = "Lister les réservations par statut")
     @ApiResponse(responseCode = "200", description = "Réservations trouvées")
-    @ApiResponse(responseCode = "400", description = "Statut invalide")
+    @ApiResponse(responseCode = "400", description = "Statut ou taille de page invalide")
     @ApiResponse(responseCode = "500", description = "Erreur serveur")
-    public ResponseEntity<List<ReservationResponse>> getReservationsByStatus(@PathVariable String status) {
+    public ResponseEntity<List<ReservationResponse>> getReservationsByStatus(
+            @PathVariable String status,
+            @Parameter(description = "Id de la dernière ligne de la page précédente (curseur)") @RequestParam(required = false) Long apres,
+            @Parameter(description = "Taille de page (50 par défaut, max 200)") @RequestParam(required = false) Integer taille,
+            @Parameter(description = "Liste complète sans pagination, sur demande explicite") @RequestParam(defaultValue = "false") boolean complet) {
         ReservationStatus reservationStatus = ReservationStatus.valueOf(status.toUpperCase());
-        List<ReservationResponse> reservations = reservationUseCase.obtenirReservationsParStatut(reservationStatus)
-                .stream()
-                .map(ReservationResponse::from)
-                .toList();
-        return ResponseEntity.ok(reservations);
+        if (ReponsePaginee.listeComplete(complet, apres, taille)) {
+            List<ReservationResponse> reservations = reservationUseCase.obtenirReservationsParStatut(reservationStatus)
+                    .stream()
+                    .map(ReservationResponse::from)
+                    .toList();
+            return ResponseEntity.ok(reservations);
+        }
+        return ReponsePaginee.de(reservationUseCase.obtenirPageReservationsParStatut(reservationStatus, apres, taille),
+                ReservationResponse::from);
     }
 
     @GetMapping("chambre/{chambreId}")
@@ -68,12 +135,20 @@ public class ReservationController {
     @ApiResponse(responseCode = "200", description = "Réservations trouvées")
     @ApiResponse(responseCode = "404", description = "Chambre non trouvée")
     @ApiResponse(responseCode = "500", description = "Erreur serveur")
-    public ResponseEntity<List<ReservationResponse>> getReservationsByChambre(@PathVariable Long chambreId) {
-        List<ReservationResponse> reservations = reservationUseCase.obtenirReservationsParChambre(chambreId)
-                .stream()
-                .map(ReservationResponse::from)
-                .toList();
-        return ResponseEntity.ok(reservations);
+    public ResponseEntity<List<ReservationResponse>> getReservationsByChambre(
+            @PathVariable Long chambreId,
+            @Parameter(description = "Id de la dernière ligne de la page précédente (curseur)") @RequestParam(required = false) Long apres,
+            @Parameter(description = "Taille de page (50 par défaut, max 200)") @RequestParam(required = false) Integer taille,
+            @Parameter(description = "Liste complète sans pagination, sur demande explicite") @RequestParam(defaultValue = "false") boolean complet) {
+        if (ReponsePaginee.listeComplete(complet, apres, taille)) {
+            List<ReservationResponse> reservations = reservationUseCase.obtenirReservationsParChambre(chambreId)
+                    .stream()
+                    .map(ReservationResponse::from)
+                    .toList();
+            return ResponseEntity.ok(reservations);
+        }
+        return ReponsePaginee.de(reservationUseCase.obtenirPageReservationsParChambre(chambreId, apres, taille),
+                ReservationResponse::from);
     }
 
     @GetMapping("utilisateur/{utilisateurId}")
@@ -81,12 +156,20 @@ public class ReservationController {
     @ApiResponse(responseCode = "200", description = "Réservations trouvées")
     @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé")
     @ApiResponse(responseCode = "500", description = "Erreur serveur")
-    public ResponseEntity<List<ReservationResponse>> getReservationsByUtilisateur(@PathVariable Long utilisateurId) {
-        List<ReservationResponse> reservations = reservationUseCase.obtenirReservationsParUtilisateur(utilisateurId)
-                .stream()
-                .map(ReservationResponse::from)
-                .toList();
-        return ResponseEntity.ok(reservations);
+    public ResponseEntity<List<ReservationResponse>> getReservationsByUtilisateur(
+            @PathVariable Long utilisateurId,
+            @Parameter(description = "Id de la dernière ligne de la page précédente (curseur)") @RequestParam(required = false) Long apres,
+            @Parameter(description = "Taille de page (50 par défaut, max 200)") @RequestParam(required = false) Integer taille,
+            @Parameter(description = "Liste complète sans pagination, sur demande explicite") @RequestParam(defaultValue = "false") boolean complet) {
+        if (ReponsePaginee.listeComplete(complet, apres, taille)) {
+            List<ReservationResponse> reservations = reservationUseCase.obtenirReservationsParUtilisateur(utilisateurId)
+                    .stream()
+                    .map(ReservationResponse::from)
+                    .toList();
+            return ResponseEntity.ok(reservations);
+        }
+        return ReponsePaginee.de(reservationUseCase.obtenirPageReservationsParUtilisateur(utilisateurId, apres, taille),
+                ReservationResponse::from);
     }
 
     @PostMapping
@@ -6,12 +6,14 @@ import java.time.Instant;
 public record PaymentCreatedEvent(
         Long paymentId,
         Long reservationId,
+        Long chambreId,
         BigDecimal amount,
         String paymentMethod,
         String status,
         Instant timestamp
 ) {
-    public static PaymentCreatedEvent of(Long paymentId, Long reservationId, BigDecimal amount, String paymentMethod, String status) {
-        return new PaymentCreatedEvent(paymentId, reservationId, amount, paymentMethod, status, Instant.now());
+    public static PaymentCreatedEvent of(Long paymentId, Long reservationId, Long chambreId, BigDecimal amount,
+                                         String paymentMethod, String status) {
+        return new PaymentCreatedEvent(paymentId, reservationId, chambreId, amount, paymentMethod, status, Instant.now());
     }
 }
@@ -4,11 +4,14 @@ import java.time.Instant;
 
 public record PaymentStatusChangedEvent(
         Long paymentId,
+        Long reservationId,
+        Long chambreId,
         String oldStatus,
         String newStatus,
         Instant timestamp
 ) {
-    public static PaymentStatusChangedEvent of(Long paymentId, String oldStatus, String newStatus) {
-        return new PaymentStatusChangedEvent(paymentId, oldStatus, newStatus, Instant.now());
+    public static PaymentStatusChangedEvent of(Long paymentId, Long reservationId, Long chambreId,
+                                               String oldStatus, String newStatus) {
+        return new PaymentStatusChangedEvent(paymentId, reservationId, chambreId, oldStatus, newStatus, Instant.now());
     }
 }
@@ -0,0 +1,21 @@
+package bookingengine.domain.events;
+
+import java.time.Instant;
+
+public record PrixAggregatedEvent(
+        Long chambreId,
+        String numeroChambre,
+        String trancheNuits,
+        long nombreDevis,
+        double prixMin,
+        double prixMax,
+        Instant debutFenetre,
+        Instant finFenetre,
+        Instant timestamp
+) {
+    public static PrixAggregatedEvent of(Long chambreId, String numeroChambre, String trancheNuits, long nombreDevis,
+                                         double prixMin, double prixMax, Instant debutFenetre, Instant finFenetre) {
+        return new PrixAggregatedEvent(chambreId, numeroChambre, trancheNuits, nombreDevis, prixMin, prixMax,
+                debutFenetre, finFenetre, Instant.now());
+    }
+}
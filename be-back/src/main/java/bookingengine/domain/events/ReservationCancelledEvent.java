@@ -4,10 +4,11 @@ import java.time.Instant;
 
 public record ReservationCancelledEvent(
         Long reservationId,
+        Long chambreId,
         String reason,
         Instant timestamp
 ) {
-    public static ReservationCancelledEvent of(Long reservationId, String reason) {
-        return new ReservationCancelledEvent(reservationId, reason, Instant.now());
+    public static ReservationCancelledEvent of(Long reservationId, Long chambreId, String reason) {
+        return new ReservationCancelledEvent(reservationId, chambreId, reason, Instant.now());
     }
 }
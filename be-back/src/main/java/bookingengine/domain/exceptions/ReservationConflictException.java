@@ -0,0 +1,14 @@
+package bookingengine.domain.exceptions;
+
+/**
+ * Une reservation active chevauche deja la periode demandee pour la meme chambre.
+ */
+public class ReservationConflictException extends IllegalStateException {
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+
+    public ReservationConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
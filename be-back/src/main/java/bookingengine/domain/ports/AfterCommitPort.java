@@ -0,0 +1,14 @@
+package bookingengine.domain.ports;
+
+/**
+ * Report d'une action apres la validation de la transaction en cours, pour que
+ * l'etat tenu en memoire ne suive que les ecritures effectivement validees.
+ */
+public interface AfterCommitPort {
+
+    /**
+     * Execute l'action apres le commit de la transaction en cours ; jamais si elle
+     * est annulee. Hors transaction, l'action est executee tout de suite.
+     */
+    void executer(Runnable action);
+}
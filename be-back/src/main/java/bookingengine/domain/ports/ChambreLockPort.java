@@ -0,0 +1,19 @@
+package bookingengine.domain.ports;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface ChambreLockPort {
+
+    /**
+     * Execute l'action en tenant le verrou de chacune des chambres. Les verrous
+     * sont pris dans un ordre stable, deux appels sur des chambres communes ne
+     * peuvent donc pas s'interbloquer.
+     */
+    <T> T withLocks(Collection<Long> chambreIds, Supplier<T> action);
+
+    default <T> T withLock(Long chambreId, Supplier<T> action) {
+        return withLocks(List.of(chambreId), action);
+    }
+}
@@ -3,6 +3,7 @@ package bookingengine.domain.ports;
 import bookingengine.domain.events.ChambreCreatedEvent;
 import bookingengine.domain.events.PaymentCreatedEvent;
 import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
 import bookingengine.domain.events.PrixCalculatedEvent;
 import bookingengine.domain.events.ReservationCancelledEvent;
 import bookingengine.domain.events.ReservationCreatedEvent;
@@ -16,6 +17,8 @@ public interface EventPublisherPort {
 
     void publish(PrixCalculatedEvent event);
 
+    void publish(PrixAggregatedEvent event);
+
     void publish(ReservationCreatedEvent event);
 
     void publish(ReservationCancelledEvent event);
@@ -0,0 +1,14 @@
+package bookingengine.domain.ports;
+
+/**
+ * Mesures metier du chemin critique, exposees par l'infrastructure. Les durees
+ * d'appel des use cases et des repositories sont mesurees a part, sans eux.
+ */
+public interface MetriquesPort {
+
+    // Nombre de nuits de chaque devis servi, calcule ou lu dans le cache
+    void enregistrerNuitsDevis(long nombreNuits);
+
+    // Nombre de reservations en conflit trouvees par un controle de disponibilite (0 : libre)
+    void enregistrerConflits(int nombreConflits);
+}
@@ -1,14 +1,21 @@
 package bookingengine.domain.repositories;
 
 import bookingengine.domain.entities.Chambre;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ChambreRepository {
     Chambre save(Chambre chambre);
+    // Ecriture groupee : les INSERT partent par lots JDBC dans une seule transaction
+    List<Chambre> saveAll(List<Chambre> chambres);
     Optional<Chambre> findById(Long id);
     List<Chambre> findAll();
+    List<Chambre> findAllById(Collection<Long> ids);
     void deleteById(Long id);
     List<Chambre> findByDisponible(boolean disponible);
     List<Chambre> findByType(String type);
+
+    // Pagination par curseur : au plus limit chambres d'id > afterId (null = depuis le debut), par id croissant
+    List<Chambre> findPage(Long afterId, int limit);
 }
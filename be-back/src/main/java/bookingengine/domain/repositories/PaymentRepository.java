@@ -1,13 +1,21 @@
 package bookingengine.domain.repositories;
 
 import bookingengine.domain.entities.Payment;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository {
     Payment save(Payment payment);
     Optional<Payment> findById(Long id);
+    // Reservation d'un paiement, sans charger le paiement
+    Optional<Long> findReservationIdById(Long id);
     List<Payment> findAll();
     void deleteById(Long id);
     List<Payment> findByReservationId(Long reservationId);
+    // Annule en un UPDATE les paiements encore PENDING de ces reservations ; renvoie le nombre de lignes modifiees
+    int cancelPendingByReservationIds(Collection<Long> reservationIds);
+
+    // Pagination par curseur : au plus limit paiements d'id > afterId (null = depuis le debut), par id croissant
+    List<Payment> findPage(Long afterId, int limit);
 }
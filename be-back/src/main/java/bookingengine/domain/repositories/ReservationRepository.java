@@ -1,14 +1,22 @@
 package bookingengine.domain.repositories;
 
+import bookingengine.domain.entities.Payment;
 import bookingengine.domain.entities.Reservation;
 import bookingengine.domain.entities.ReservationStatus;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReservationRepository {
     Reservation save(Reservation reservation);
+    // Nouvelle reservation et son paiement ecrits ensemble (un seul flush) ; fixe payment.reservationId
+    Reservation saveWithPayment(Reservation reservation, Payment payment);
     Optional<Reservation> findById(Long id);
+    // Relue en base et verrouillee (SELECT ... FOR UPDATE) jusqu'a la fin de la transaction
+    Optional<Reservation> findByIdForUpdate(Long id);
     List<Reservation> findAll();
     void deleteById(Long id);
     List<Reservation> findByStatus(ReservationStatus status);
@@ -16,4 +24,22 @@ public interface ReservationRepository {
     List<Reservation> findByUtilisateurId(Long utilisateurId);
     boolean existsById(Long id);
     List<Reservation> findConflictingReservations(Long chambreId, LocalDate dateDebut, LocalDate dateFin);
+    List<Reservation> findActiveReservations();
+    // Parmi chambreIds, celles ayant une reservation non annulee chevauchant [dateDebut, dateFin[
+    List<Long> findOccupiedChambreIds(Collection<Long> chambreIds, LocalDate dateDebut, LocalDate dateFin);
+
+    // Expiration : au plus limit reservations PENDING creees avant createdBefore, par id croissant,
+    // verrouillees jusqu'a la fin de la transaction (les lignes deja verrouillees sont sautees)
+    List<Reservation> findPendingCreatedBeforeForUpdate(LocalDateTime createdBefore, int limit);
+    // Annulation ensembliste en un UPDATE ; renvoie le nombre de lignes modifiees
+    int cancelAll(Collection<Long> ids, LocalDateTime cancelledAt);
+
+    // Pagination par curseur : au plus limit reservations d'id > afterId (null = depuis le debut), par id croissant
+    List<Reservation> findPage(Long afterId, int limit);
+    List<Reservation> findPageByStatus(ReservationStatus status, Long afterId, int limit);
+    List<Reservation> findPageByChambreId(Long chambreId, Long afterId, int limit);
+    List<Reservation> findPageByUtilisateurId(Long utilisateurId, Long afterId, int limit);
+
+    // Parcours en flux par id croissant, filtres optionnels (null = pas de filtre) : sejours chevauchant [from, to]
+    void forEachForExport(ReservationStatus status, LocalDate from, LocalDate to, Consumer<Reservation> action);
 }
@@ -11,4 +11,6 @@ public interface SaisonRepository {
     List<Saison> findAll();
     void deleteById(Long id);
     Optional<Saison> findByDate(LocalDate date);
+    // Saisons dont la periode [dateDebut, dateFin] (bornes incluses) croise celle donnee
+    List<Saison> findChevauchant(LocalDate dateDebut, LocalDate dateFin);
 }
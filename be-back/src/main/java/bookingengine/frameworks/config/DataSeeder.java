@@ -77,7 +77,6 @@ public class DataSeeder implements CommandLineRunner {
         admin.setPassword(passwordEncoder.encode("admin123"));
         admin.setEmail("admin@hotel-spa.fr");
         admin.setRole("ADMIN");
-        utilisateurRepository.save(admin);
 
         // Regular user
         UtilisateurJpaEntity user = new UtilisateurJpaEntity();
@@ -85,7 +84,6 @@ public class DataSeeder implements CommandLineRunner {
         user.setPassword(passwordEncoder.encode("user123"));
         user.setEmail("user@example.com");
         user.setRole("USER");
-        utilisateurRepository.save(user);
 
         // Additional demo users
         UtilisateurJpaEntity marie = new UtilisateurJpaEntity();
@@ -93,14 +91,13 @@ public class DataSeeder implements CommandLineRunner {
         marie.setPassword(passwordEncoder.encode("password"));
         marie.setEmail("marie.dupont@email.com");
         marie.setRole("USER");
-        utilisateurRepository.save(marie);
 
         UtilisateurJpaEntity jean = new UtilisateurJpaEntity();
         jean.setUsername("jean.martin");
         jean.setPassword(passwordEncoder.encode("password"));
         jean.setEmail("jean.martin@email.com");
         jean.setRole("USER");
-        utilisateurRepository.save(jean);
+        utilisateurRepository.saveAll(List.of(admin, user, marie, jean));
 
         logger.info("Created {} utilisateurs", utilisateurRepository.count());
     }
@@ -0,0 +1,59 @@
+package bookingengine.frameworks.config;
+
+import bookingengine.usecase.reservation.ExpirationReservationsUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Annule periodiquement les reservations PENDING dont le paiement n'est pas arrive
+ * dans le delai (booking.reservation.expiration.*).
+ *
+ * Chaque lot est une transaction courte ; une execution enchaine au plus lots-max
+ * lots, le reste attend l'execution suivante.
+ */
+@Component
+public class ExpirationReservationsEnAttente {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpirationReservationsEnAttente.class);
+
+    private final ExpirationReservationsUseCase expirationUseCase;
+    private final Duration delai;
+    private final int tailleLot;
+    private final int lotsMax;
+
+    public ExpirationReservationsEnAttente(
+            ExpirationReservationsUseCase expirationUseCase,
+            @Value("${booking.reservation.expiration.delai:PT30M}") Duration delai,
+            @Value("${booking.reservation.expiration.lot:200}") int tailleLot,
+            @Value("${booking.reservation.expiration.lots-max:10}") int lotsMax) {
+        this.expirationUseCase = expirationUseCase;
+        this.delai = delai;
+        this.tailleLot = tailleLot;
+        this.lotsMax = lotsMax;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.reservation.expiration.intervalle:PT1M}",
+            initialDelayString = "${booking.reservation.expiration.intervalle:PT1M}")
+    public void expirer() {
+        int annulees = 0;
+        try {
+            for (int lot = 0; lot < lotsMax; lot++) {
+                int annuleesLot = expirationUseCase.annulerReservationsExpirees(delai, tailleLot);
+                annulees += annuleesLot;
+                if (annuleesLot < tailleLot) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Expiration des réservations en attente interrompue: {}", e.getMessage());
+        }
+        if (annulees > 0) {
+            log.info("{} réservations en attente expirées (délai {})", annulees, delai);
+        }
+    }
+}
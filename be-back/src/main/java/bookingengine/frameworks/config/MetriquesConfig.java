@@ -0,0 +1,59 @@
+package bookingengine.frameworks.config;
+
+import bookingengine.frameworks.metriques.ChronometreMethodes;
+import bookingengine.frameworks.metriques.DataSourceComptee;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.BeanNameAutoProxyCreator;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Chronometrage des use cases et des repositories, declare ici comme les transactions
+ * pour que les classes mesurees n'en sachent rien.
+ *
+ * Les use cases passent par le proxy de TransactionConfig, qui porte aussi cet
+ * intercepteur ; les implementations des repositories ont leur propre proxy.
+ * La DataSource est enveloppee pour compter les instructions SQL (BudgetRequetesSql).
+ */
+@Configuration
+public class MetriquesConfig {
+
+    static final String INTERCEPTEUR_METRIQUES_USE_CASE = "useCaseMetricsInterceptor";
+    static final String INTERCEPTEUR_METRIQUES_REPOSITORY = "repositoryMetricsInterceptor";
+
+    @Bean(name = INTERCEPTEUR_METRIQUES_USE_CASE)
+    public ChronometreMethodes useCaseMetricsInterceptor(MeterRegistry registry) {
+        return new ChronometreMethodes(registry, "booking.usecase");
+    }
+
+    @Bean(name = INTERCEPTEUR_METRIQUES_REPOSITORY)
+    public ChronometreMethodes repositoryMetricsInterceptor(MeterRegistry registry) {
+        return new ChronometreMethodes(registry, "booking.repository");
+    }
+
+    @Bean
+    public static BeanNameAutoProxyCreator repositoryMetricsProxyCreator() {
+        BeanNameAutoProxyCreator proxyCreator = new BeanNameAutoProxyCreator();
+        proxyCreator.setBeanNames("*RepositoryImpl");
+        proxyCreator.setInterceptorNames(INTERCEPTEUR_METRIQUES_REPOSITORY);
+        // Les tests d'integration injectent les implementations elles-memes
+        proxyCreator.setProxyTargetClass(true);
+        return proxyCreator;
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceCompteeProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceComptee)) {
+                    return new DataSourceComptee(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package bookingengine.frameworks.config;
+
+import bookingengine.usecase.prix.CalculPrixUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ferme periodiquement la fenetre d'agregation des devis : un resume par chambre et
+ * tranche de duree de sejour part sur le topic des prix.
+ */
+@Component
+public class PublicationDevisAgreges {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicationDevisAgreges.class);
+
+    private final CalculPrixUseCase calculPrixUseCase;
+
+    public PublicationDevisAgreges(CalculPrixUseCase calculPrixUseCase) {
+        this.calculPrixUseCase = calculPrixUseCase;
+    }
+
+    @Scheduled(fixedRateString = "${booking.prix.evenements.fenetre:PT1M}",
+            initialDelayString = "${booking.prix.evenements.fenetre:PT1M}")
+    public void publier() {
+        try {
+            int resumes = calculPrixUseCase.publierDevisAgreges();
+            log.debug("{} résumés de devis publiés", resumes);
+        } catch (RuntimeException e) {
+            log.error("Publication des devis agrégés impossible: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package bookingengine.frameworks.config;
+
+import org.springframework.aop.framework.autoproxy.BeanNameAutoProxyCreator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.interceptor.NameMatchTransactionAttributeSource;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+/**
+ * Transactions des use cases, declarees ici pour qu'ils restent en Java pur.
+ *
+ * Chaque methode d'ecriture (creer*, modifier*, supprimer*, annuler*) s'execute dans
+ * une transaction : les ecritures en base et les evenements qu'elle publie (outbox)
+ * sont valides ou annules ensemble. Les lectures restent sans transaction.
+ *
+ * Le meme proxy chronometre tous les use cases (MetriquesConfig), en amont de la
+ * transaction : la duree mesuree comprend le commit.
+ *
+ * Les verrous de chambre (ChambreLockPort) sont pris dans la methode, donc dans la
+ * transaction, et rendus a sa fin seulement : controle puis ecriture restent
+ * serialises jusqu'au commit.
+ */
+@Configuration
+public class TransactionConfig {
+
+    static final String INTERCEPTEUR_TRANSACTION = "useCaseTransactionInterceptor";
+
+    @Bean(name = INTERCEPTEUR_TRANSACTION)
+    public TransactionInterceptor useCaseTransactionInterceptor(TransactionManager transactionManager) {
+        NameMatchTransactionAttributeSource source = new NameMatchTransactionAttributeSource();
+        RuleBasedTransactionAttribute ecriture = new RuleBasedTransactionAttribute();
+        for (String methode : new String[]{"creer*", "modifier*", "supprimer*", "annuler*"}) {
+            source.addTransactionalMethod(methode, ecriture);
+        }
+        return new TransactionInterceptor(transactionManager, source);
+    }
+
+    @Bean
+    public static BeanNameAutoProxyCreator useCaseTransactionProxyCreator() {
+        BeanNameAutoProxyCreator proxyCreator = new BeanNameAutoProxyCreator();
+        proxyCreator.setBeanNames("reservationUseCase", "expirationReservationsUseCase", "paymentUseCase",
+                "chambreUseCase", "saisonUseCase", "calculPrixUseCase", "authUseCase");
+        proxyCreator.setInterceptorNames(MetriquesConfig.INTERCEPTEUR_METRIQUES_USE_CASE, INTERCEPTEUR_TRANSACTION);
+        proxyCreator.setProxyTargetClass(true);
+        return proxyCreator;
+    }
+}
@@ -1,6 +1,9 @@
 package bookingengine.frameworks.config;
 
+import bookingengine.domain.ports.AfterCommitPort;
+import bookingengine.domain.ports.ChambreLockPort;
 import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.ports.MetriquesPort;
 import bookingengine.domain.ports.PasswordEncoderPort;
 import bookingengine.domain.repositories.ChambreRepository;
 import bookingengine.domain.repositories.PaymentRepository;
@@ -10,9 +13,15 @@ import bookingengine.domain.repositories.UtilisateurRepository;
 import bookingengine.usecase.auth.AuthUseCase;
 import bookingengine.usecase.chambre.ChambreUseCase;
 import bookingengine.usecase.payment.PaymentUseCase;
+import bookingengine.usecase.prix.AgregationDevis;
+import bookingengine.usecase.prix.CachePrix;
 import bookingengine.usecase.prix.CalculPrixUseCase;
+import bookingengine.usecase.reservation.ExpirationReservationsUseCase;
+import bookingengine.usecase.reservation.IndexOccupation;
 import bookingengine.usecase.reservation.ReservationUseCase;
+import bookingengine.usecase.saison.CalendrierSaisons;
 import bookingengine.usecase.saison.SaisonUseCase;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -20,20 +29,55 @@ import org.springframework.context.annotation.Configuration;
 public class UseCaseConfig {
 
     @Bean
-    public SaisonUseCase saisonUseCase(SaisonRepository saisonRepository, EventPublisherPort eventPublisher) {
-        return new SaisonUseCase(saisonRepository, eventPublisher);
+    public CalendrierSaisons calendrierSaisons(SaisonRepository saisonRepository, AfterCommitPort afterCommit) {
+        return new CalendrierSaisons(saisonRepository, afterCommit);
     }
 
     @Bean
-    public ChambreUseCase chambreUseCase(ChambreRepository chambreRepository, EventPublisherPort eventPublisher) {
-        return new ChambreUseCase(chambreRepository, eventPublisher);
+    public CachePrix cachePrix(@Value("${booking.prix.cache.capacite:10000}") int capacite,
+                               AfterCommitPort afterCommit) {
+        return new CachePrix(capacite, afterCommit);
+    }
+
+    @Bean
+    public AgregationDevis agregationDevis(
+            @Value("${booking.prix.evenements.echantillonnage:" + AgregationDevis.TAUX_ECHANTILLONNAGE_PAR_DEFAUT + "}") double taux) {
+        return new AgregationDevis(taux);
+    }
+
+    // Index en memoire seulement avec le verrou local (une instance) : avec le verrou
+    // postgres, plusieurs noeuds ecrivent et l'occupation est lue en base
+    @Bean
+    public IndexOccupation indexOccupation(ReservationRepository reservationRepository, AfterCommitPort afterCommit,
+                                           @Value("${booking.reservation.verrou.mode:local}") String modeVerrou) {
+        return new IndexOccupation(reservationRepository, afterCommit, "postgres".equals(modeVerrou));
+    }
+
+    @Bean
+    public SaisonUseCase saisonUseCase(SaisonRepository saisonRepository,
+                                       EventPublisherPort eventPublisher,
+                                       CalendrierSaisons calendrierSaisons,
+                                       CachePrix cachePrix) {
+        return new SaisonUseCase(saisonRepository, eventPublisher, calendrierSaisons, cachePrix);
+    }
+
+    @Bean
+    public ChambreUseCase chambreUseCase(ChambreRepository chambreRepository,
+                                         EventPublisherPort eventPublisher,
+                                         CachePrix cachePrix,
+                                         IndexOccupation indexOccupation) {
+        return new ChambreUseCase(chambreRepository, eventPublisher, cachePrix, indexOccupation);
     }
 
     @Bean
     public CalculPrixUseCase calculPrixUseCase(ChambreRepository chambreRepository,
-                                                SaisonRepository saisonRepository,
-                                                EventPublisherPort eventPublisher) {
-        return new CalculPrixUseCase(chambreRepository, saisonRepository, eventPublisher);
+                                                CalendrierSaisons calendrierSaisons,
+                                                CachePrix cachePrix,
+                                                EventPublisherPort eventPublisher,
+                                                AgregationDevis agregationDevis,
+                                                MetriquesPort metriques) {
+        return new CalculPrixUseCase(chambreRepository, calendrierSaisons, cachePrix, eventPublisher, agregationDevis,
+                metriques);
     }
 
     @Bean
@@ -44,15 +88,27 @@ public class UseCaseConfig {
     @Bean
     public ReservationUseCase reservationUseCase(ReservationRepository reservationRepository,
                                                   ChambreRepository chambreRepository,
-                                                  PaymentRepository paymentRepository,
-                                                  EventPublisherPort eventPublisher) {
-        return new ReservationUseCase(reservationRepository, chambreRepository, paymentRepository, eventPublisher);
+                                                  EventPublisherPort eventPublisher,
+                                                  IndexOccupation indexOccupation,
+                                                  ChambreLockPort chambreLock,
+                                                  MetriquesPort metriques) {
+        return new ReservationUseCase(reservationRepository, chambreRepository,
+                eventPublisher, indexOccupation, chambreLock, metriques);
+    }
+
+    @Bean
+    public ExpirationReservationsUseCase expirationReservationsUseCase(ReservationRepository reservationRepository,
+                                                                       PaymentRepository paymentRepository,
+                                                                       EventPublisherPort eventPublisher,
+                                                                       IndexOccupation indexOccupation) {
+        return new ExpirationReservationsUseCase(reservationRepository, paymentRepository, eventPublisher, indexOccupation);
     }
 
     @Bean
     public PaymentUseCase paymentUseCase(PaymentRepository paymentRepository,
                                          ReservationRepository reservationRepository,
-                                         EventPublisherPort eventPublisher) {
-        return new PaymentUseCase(paymentRepository, reservationRepository, eventPublisher);
+                                         EventPublisherPort eventPublisher,
+                                         IndexOccupation indexOccupation) {
+        return new PaymentUseCase(paymentRepository, reservationRepository, eventPublisher, indexOccupation);
     }
 }
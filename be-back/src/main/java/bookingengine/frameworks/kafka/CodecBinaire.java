@@ -0,0 +1,325 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Encodage binaire compact des evenements domaine.
+ *
+ * Message : version du schema (1 octet), type d'evenement (1 octet), puis les champs
+ * du record dans l'ordre de declaration. Entiers en varint zigzag, textes en UTF-8
+ * precedes de leur longueur, dates en jours depuis l'epoque, instants en secondes +
+ * nanosecondes ; un champ objet nul tient sur un octet. Tout changement de champ
+ * d'un evenement impose d'incrementer VERSION_SCHEMA ; un nouveau type d'evenement
+ * prend simplement le numero suivant.
+ */
+final class CodecBinaire implements CodecEvenement {
+
+    static final String NOM = "binaire";
+    static final int VERSION_SCHEMA = 1;
+
+    private static final int CHAMBRE_CREEE = 1;
+    private static final int SAISON_CREEE = 2;
+    private static final int PRIX_CALCULE = 3;
+    private static final int PAIEMENT_CREE = 4;
+    private static final int STATUT_PAIEMENT_CHANGE = 5;
+    private static final int RESERVATION_CREEE = 6;
+    private static final int RESERVATION_ANNULEE = 7;
+    private static final int PRIX_AGREGES = 8;
+
+    @Override
+    public String nom() {
+        return NOM;
+    }
+
+    @Override
+    public byte[] encoder(Object evenement) {
+        Ecriture e = new Ecriture();
+        e.octet(VERSION_SCHEMA);
+        switch (evenement) {
+            case ChambreCreatedEvent c -> {
+                e.octet(CHAMBRE_CREEE);
+                e.id(c.chambreId());
+                e.texte(c.numero());
+                e.texte(c.type());
+                e.reel(c.prixBase());
+                e.instant(c.timestamp());
+            }
+            case SaisonCreatedEvent s -> {
+                e.octet(SAISON_CREEE);
+                e.id(s.saisonId());
+                e.texte(s.nom());
+                e.date(s.dateDebut());
+                e.date(s.dateFin());
+                e.reel(s.coefficientPrix());
+                e.instant(s.timestamp());
+            }
+            case PrixCalculatedEvent p -> {
+                e.octet(PRIX_CALCULE);
+                e.id(p.chambreId());
+                e.texte(p.numeroChambre());
+                e.texte(p.typeChambre());
+                e.date(p.dateDebut());
+                e.date(p.dateFin());
+                e.entier(p.nombreNuits());
+                e.reel(p.prixTotal());
+                e.instant(p.timestamp());
+            }
+            case PrixAggregatedEvent p -> {
+                e.octet(PRIX_AGREGES);
+                e.id(p.chambreId());
+                e.texte(p.numeroChambre());
+                e.texte(p.trancheNuits());
+                e.entier(p.nombreDevis());
+                e.reel(p.prixMin());
+                e.reel(p.prixMax());
+                e.instant(p.debutFenetre());
+                e.instant(p.finFenetre());
+                e.instant(p.timestamp());
+            }
+            case PaymentCreatedEvent p -> {
+                e.octet(PAIEMENT_CREE);
+                e.id(p.paymentId());
+                e.id(p.reservationId());
+                e.id(p.chambreId());
+                e.montant(p.amount());
+                e.texte(p.paymentMethod());
+                e.texte(p.status());
+                e.instant(p.timestamp());
+            }
+            case PaymentStatusChangedEvent p -> {
+                e.octet(STATUT_PAIEMENT_CHANGE);
+                e.id(p.paymentId());
+                e.id(p.reservationId());
+                e.id(p.chambreId());
+                e.texte(p.oldStatus());
+                e.texte(p.newStatus());
+                e.instant(p.timestamp());
+            }
+            case ReservationCreatedEvent r -> {
+                e.octet(RESERVATION_CREEE);
+                e.id(r.reservationId());
+                e.id(r.chambreId());
+                e.id(r.utilisateurId());
+                e.date(r.dateDebut());
+                e.date(r.dateFin());
+                e.texte(r.status());
+                e.instant(r.timestamp());
+            }
+            case ReservationCancelledEvent r -> {
+                e.octet(RESERVATION_ANNULEE);
+                e.id(r.reservationId());
+                e.id(r.chambreId());
+                e.texte(r.reason());
+                e.instant(r.timestamp());
+            }
+            default -> throw new IllegalArgumentException("Evenement non serialisable: " + evenement.getClass().getName());
+        }
+        return e.octets();
+    }
+
+    @Override
+    public Object decoder(Class<?> type, byte[] donnees) {
+        // Le type est porte par le message lui-meme, l'en-tete n'est pas necessaire
+        Lecture l = new Lecture(donnees);
+        try {
+            int version = l.octet();
+            if (version != VERSION_SCHEMA) {
+                throw new IllegalArgumentException("Version de schema non supportee: " + version);
+            }
+            // Arguments evalues de gauche a droite : meme ordre qu'a l'ecriture
+            int typeEvenement = l.octet();
+            return switch (typeEvenement) {
+                case CHAMBRE_CREEE -> new ChambreCreatedEvent(
+                        l.id(), l.texte(), l.texte(), l.reel(), l.instant());
+                case SAISON_CREEE -> new SaisonCreatedEvent(
+                        l.id(), l.texte(), l.date(), l.date(), l.reel(), l.instant());
+                case PRIX_CALCULE -> new PrixCalculatedEvent(
+                        l.id(), l.texte(), l.texte(), l.date(), l.date(), l.entier(), l.reel(), l.instant());
+                case PRIX_AGREGES -> new PrixAggregatedEvent(
+                        l.id(), l.texte(), l.texte(), l.entier(), l.reel(), l.reel(), l.instant(), l.instant(), l.instant());
+                case PAIEMENT_CREE -> new PaymentCreatedEvent(
+                        l.id(), l.id(), l.id(), l.montant(), l.texte(), l.texte(), l.instant());
+                case STATUT_PAIEMENT_CHANGE -> new PaymentStatusChangedEvent(
+                        l.id(), l.id(), l.id(), l.texte(), l.texte(), l.instant());
+                case RESERVATION_CREEE -> new ReservationCreatedEvent(
+                        l.id(), l.id(), l.id(), l.date(), l.date(), l.texte(), l.instant());
+                case RESERVATION_ANNULEE -> new ReservationCancelledEvent(
+                        l.id(), l.id(), l.texte(), l.instant());
+                default -> throw new IllegalArgumentException("Type d'evenement binaire inconnu: " + typeEvenement);
+            };
+        } catch (IndexOutOfBoundsException | ArithmeticException e) {
+            throw new IllegalArgumentException("Message binaire tronque", e);
+        }
+    }
+
+    private static final class Ecriture {
+
+        private byte[] tampon = new byte[64];
+        private int taille;
+
+        void octet(int valeur) {
+            if (taille == tampon.length) {
+                tampon = Arrays.copyOf(tampon, taille * 2);
+            }
+            tampon[taille++] = (byte) valeur;
+        }
+
+        // Varint non signe : 7 bits par octet, bit de poids fort = suite
+        void varint(long valeur) {
+            while ((valeur & ~0x7FL) != 0) {
+                octet((int) ((valeur & 0x7F) | 0x80));
+                valeur >>>= 7;
+            }
+            octet((int) valeur);
+        }
+
+        void entier(long valeur) {
+            varint((valeur << 1) ^ (valeur >> 63));
+        }
+
+        void id(Long valeur) {
+            if (valeur == null) {
+                octet(0);
+            } else {
+                octet(1);
+                entier(valeur);
+            }
+        }
+
+        void reel(double valeur) {
+            long bits = Double.doubleToLongBits(valeur);
+            for (int decalage = 56; decalage >= 0; decalage -= 8) {
+                octet((int) (bits >>> decalage));
+            }
+        }
+
+        // Longueur + 1, 0 pour null
+        void octets(byte[] valeur) {
+            if (valeur == null) {
+                varint(0);
+                return;
+            }
+            varint(valeur.length + 1L);
+            for (byte b : valeur) {
+                octet(b);
+            }
+        }
+
+        void texte(String valeur) {
+            octets(valeur == null ? null : valeur.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void montant(BigDecimal valeur) {
+            octets(valeur == null ? null : valeur.unscaledValue().toByteArray());
+            if (valeur != null) {
+                entier(valeur.scale());
+            }
+        }
+
+        void date(LocalDate valeur) {
+            id(valeur == null ? null : valeur.toEpochDay());
+        }
+
+        void instant(Instant valeur) {
+            id(valeur == null ? null : valeur.getEpochSecond());
+            if (valeur != null) {
+                varint(valeur.getNano());
+            }
+        }
+
+        byte[] octets() {
+            return Arrays.copyOf(tampon, taille);
+        }
+    }
+
+    private static final class Lecture {
+
+        private final byte[] donnees;
+        private int position;
+
+        Lecture(byte[] donnees) {
+            this.donnees = donnees;
+        }
+
+        int octet() {
+            return donnees[position++] & 0xFF;
+        }
+
+        long varint() {
+            long valeur = 0;
+            for (int decalage = 0; decalage < 64; decalage += 7) {
+                int b = octet();
+                valeur |= (long) (b & 0x7F) << decalage;
+                if ((b & 0x80) == 0) {
+                    return valeur;
+                }
+            }
+            throw new IllegalArgumentException("Varint trop long");
+        }
+
+        long entier() {
+            long brut = varint();
+            return (brut >>> 1) ^ -(brut & 1);
+        }
+
+        Long id() {
+            return octet() == 0 ? null : entier();
+        }
+
+        double reel() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | octet();
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        byte[] octets() {
+            long longueur = varint();
+            if (longueur == 0) {
+                return null;
+            }
+            int fin = Math.addExact(position, Math.toIntExact(longueur - 1));
+            if (fin > donnees.length) {
+                throw new IndexOutOfBoundsException(fin);
+            }
+            byte[] valeur = Arrays.copyOfRange(donnees, position, fin);
+            position = fin;
+            return valeur;
+        }
+
+        String texte() {
+            byte[] valeur = octets();
+            return valeur == null ? null : new String(valeur, StandardCharsets.UTF_8);
+        }
+
+        BigDecimal montant() {
+            byte[] nonEchelonne = octets();
+            return nonEchelonne == null ? null : new BigDecimal(new BigInteger(nonEchelonne), Math.toIntExact(entier()));
+        }
+
+        LocalDate date() {
+            Long jours = id();
+            return jours == null ? null : LocalDate.ofEpochDay(jours);
+        }
+
+        Instant instant() {
+            Long secondes = id();
+            return secondes == null ? null : Instant.ofEpochSecond(secondes, varint());
+        }
+    }
+}
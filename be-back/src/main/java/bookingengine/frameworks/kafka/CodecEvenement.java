@@ -0,0 +1,15 @@
+package bookingengine.frameworks.kafka;
+
+/**
+ * Encodage d'un evenement domaine en valeur de message Kafka, et inverse.
+ */
+interface CodecEvenement {
+
+    // Valeur de l'en-tete EncodageEvenements.ENTETE_ENCODAGE des messages produits
+    String nom();
+
+    byte[] encoder(Object evenement);
+
+    // type : classe annoncee par l'en-tete du message, null pour un message sans en-tete
+    Object decoder(Class<?> type, byte[] donnees);
+}
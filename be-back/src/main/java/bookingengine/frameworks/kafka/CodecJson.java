@@ -0,0 +1,49 @@
+package bookingengine.frameworks.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON lisible (Kafka UI), identique a l'encodage historique des evenements.
+ */
+final class CodecJson implements CodecEvenement {
+
+    static final String NOM = "json";
+
+    private final ObjectMapper objectMapper;
+
+    CodecJson() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Override
+    public String nom() {
+        return NOM;
+    }
+
+    @Override
+    public byte[] encoder(Object evenement) {
+        try {
+            return objectMapper.writeValueAsBytes(evenement);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Evenement non serialisable: " + evenement.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object decoder(Class<?> type, byte[] donnees) {
+        // Message produit avant les en-tetes : rendu tel quel
+        if (type == null) {
+            return new String(donnees, StandardCharsets.UTF_8);
+        }
+        try {
+            return objectMapper.readValue(donnees, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Message JSON illisible pour " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Choix de l'encodage des messages produits (booking.kafka.encodage : binaire ou
+ * json) et decodage des messages recus quel que soit leur encodage.
+ *
+ * Chaque message porte en en-tetes son encodage et le type d'evenement : un topic
+ * peut donc melanger les deux formats pendant un changement de configuration. Un
+ * message sans en-tete (produit avant leur ajout) est du JSON.
+ */
+@Component
+public class EncodageEvenements {
+
+    static final String ENTETE_ENCODAGE = "booking-encodage";
+    static final String ENTETE_TYPE = "booking-evenement";
+
+    private static final Map<String, Class<?>> TYPES = Stream.of(
+                    ChambreCreatedEvent.class, SaisonCreatedEvent.class, PrixCalculatedEvent.class, PrixAggregatedEvent.class,
+                    PaymentCreatedEvent.class, PaymentStatusChangedEvent.class,
+                    ReservationCreatedEvent.class, ReservationCancelledEvent.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final Map<String, CodecEvenement> codecs;
+    private final CodecEvenement codecEnvoi;
+
+    public EncodageEvenements(@Value("${booking.kafka.encodage:" + CodecBinaire.NOM + "}") String encodage) {
+        this.codecs = Stream.of(new CodecJson(), new CodecBinaire())
+                .collect(Collectors.toMap(CodecEvenement::nom, Function.identity()));
+        this.codecEnvoi = codecs.get(encodage);
+        if (codecEnvoi == null) {
+            throw new IllegalArgumentException("Encodage Kafka inconnu: " + encodage + " (attendu: " + codecs.keySet() + ")");
+        }
+    }
+
+    String encodageEnvoi() {
+        return codecEnvoi.nom();
+    }
+
+    ProducerRecord<String, byte[]> enregistrement(RouteEvenement route, Object evenement) {
+        byte[] valeur = codecEnvoi.encoder(evenement);
+        List<Header> entetes = List.of(
+                new RecordHeader(ENTETE_ENCODAGE, codecEnvoi.nom().getBytes(StandardCharsets.UTF_8)),
+                new RecordHeader(ENTETE_TYPE, evenement.getClass().getSimpleName().getBytes(StandardCharsets.UTF_8)));
+        return new ProducerRecord<>(route.topic(), null, route.cle(), valeur, entetes);
+    }
+
+    Object decoder(ConsumerRecord<String, byte[]> enregistrement) {
+        Headers entetes = enregistrement.headers();
+        String encodage = entete(entetes, ENTETE_ENCODAGE);
+        CodecEvenement codec = codecs.get(encodage != null ? encodage : CodecJson.NOM);
+        if (codec == null) {
+            throw new IllegalArgumentException("Encodage Kafka inconnu: " + encodage);
+        }
+        String type = entete(entetes, ENTETE_TYPE);
+        return codec.decoder(type != null ? TYPES.get(type) : null, enregistrement.value());
+    }
+
+    private static String entete(Headers entetes, String nom) {
+        Header entete = entetes.lastHeader(nom);
+        return entete == null ? null : new String(entete.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,37 +1,130 @@
 package bookingengine.frameworks.kafka;
 
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+/**
+ * Consomme les topics booking.* par lots. Chaque topic a son propre nombre de
+ * consommateurs (booking.kafka.consommateurs.*, utile jusqu'au nombre de
+ * partitions) ; les messages d'un lot sont decodes puis distribues a la methode
+ * traiter() de leur type. Un message illisible est journalise et compte sans
+ * bloquer le reste du lot.
+ */
 @Service
 public class EventListener {
 
     private static final Logger log = LoggerFactory.getLogger(EventListener.class);
 
-    @KafkaListener(topics = KafkaConfig.TOPIC_CHAMBRES, groupId = "booking-engine")
-    public void handleChambreEvent(String message) {
-        log.info("Reçu event chambre: {}", message);
+    private final EncodageEvenements encodage;
+    private final MetriquesConsommation metriques;
+
+    public EventListener(EncodageEvenements encodage, MetriquesConsommation metriques) {
+        this.encodage = encodage;
+        this.metriques = metriques;
+    }
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_CHAMBRES, groupId = "booking-engine",
+            concurrency = "${booking.kafka.consommateurs.chambres:1}")
+    public void handleChambreEvents(List<ConsumerRecord<String, byte[]>> messages, Consumer<?, ?> consommateur) {
+        consommer(messages, consommateur);
+    }
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_SAISONS, groupId = "booking-engine",
+            concurrency = "${booking.kafka.consommateurs.saisons:1}")
+    public void handleSaisonEvents(List<ConsumerRecord<String, byte[]>> messages, Consumer<?, ?> consommateur) {
+        consommer(messages, consommateur);
+    }
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_PRIX, groupId = "booking-engine",
+            concurrency = "${booking.kafka.consommateurs.prix:1}")
+    public void handlePrixEvents(List<ConsumerRecord<String, byte[]>> messages, Consumer<?, ?> consommateur) {
+        consommer(messages, consommateur);
+    }
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_PAYMENTS, groupId = "booking-engine",
+            concurrency = "${booking.kafka.consommateurs.payments:1}")
+    public void handlePaymentEvents(List<ConsumerRecord<String, byte[]>> messages, Consumer<?, ?> consommateur) {
+        consommer(messages, consommateur);
+    }
+
+    @KafkaListener(topics = KafkaConfig.TOPIC_RESERVATIONS, groupId = "booking-engine",
+            concurrency = "${booking.kafka.consommateurs.reservations:1}")
+    public void handleReservationEvents(List<ConsumerRecord<String, byte[]>> messages, Consumer<?, ?> consommateur) {
+        consommer(messages, consommateur);
+    }
+
+    private void consommer(List<ConsumerRecord<String, byte[]>> messages, Consumer<?, ?> consommateur) {
+        int illisibles = 0;
+        for (ConsumerRecord<String, byte[]> message : messages) {
+            try {
+                distribuer(encodage.decoder(message));
+            } catch (IllegalArgumentException e) {
+                illisibles++;
+                log.error("Event illisible ignoré ({}-{} offset {}): {}",
+                        message.topic(), message.partition(), message.offset(), e.getMessage());
+            }
+        }
+        metriques.enregistrerLot(messages, illisibles, consommateur);
+    }
+
+    void distribuer(Object evenement) {
+        switch (evenement) {
+            case ChambreCreatedEvent e -> traiter(e);
+            case SaisonCreatedEvent e -> traiter(e);
+            case PrixCalculatedEvent e -> traiter(e);
+            case PrixAggregatedEvent e -> traiter(e);
+            case PaymentCreatedEvent e -> traiter(e);
+            case PaymentStatusChangedEvent e -> traiter(e);
+            case ReservationCreatedEvent e -> traiter(e);
+            case ReservationCancelledEvent e -> traiter(e);
+            // Message JSON sans en-tete de type (produit avant leur ajout)
+            default -> log.info("Reçu event non typé: {}", evenement);
+        }
+    }
+
+    void traiter(ChambreCreatedEvent event) {
+        log.debug("Reçu event chambre: {}", event);
+    }
+
+    void traiter(SaisonCreatedEvent event) {
+        log.debug("Reçu event saison: {}", event);
+    }
+
+    void traiter(PrixCalculatedEvent event) {
+        log.debug("Reçu event prix: {}", event);
+    }
+
+    void traiter(PrixAggregatedEvent event) {
+        log.debug("Reçu event prix agrégés: {}", event);
     }
 
-    @KafkaListener(topics = KafkaConfig.TOPIC_SAISONS, groupId = "booking-engine")
-    public void handleSaisonEvent(String message) {
-        log.info("Reçu event saison: {}", message);
+    void traiter(PaymentCreatedEvent event) {
+        log.debug("Reçu event payment: {}", event);
     }
 
-    @KafkaListener(topics = KafkaConfig.TOPIC_PRIX, groupId = "booking-engine")
-    public void handlePrixEvent(String message) {
-        log.info("Reçu event prix: {}", message);
+    void traiter(PaymentStatusChangedEvent event) {
+        log.debug("Reçu event payment: {}", event);
     }
 
-    @KafkaListener(topics = KafkaConfig.TOPIC_PAYMENTS, groupId = "booking-engine")
-    public void handlePaymentEvent(String message) {
-        log.info("Reçu event payment: {}", message);
+    void traiter(ReservationCreatedEvent event) {
+        log.debug("Reçu event reservation: {}", event);
     }
 
-    @KafkaListener(topics = KafkaConfig.TOPIC_RESERVATIONS, groupId = "booking-engine")
-    public void handleReservationEvent(String message) {
-        log.info("Reçu event reservation: {}", message);
+    void traiter(ReservationCancelledEvent event) {
+        log.debug("Reçu event reservation: {}", event);
     }
 }
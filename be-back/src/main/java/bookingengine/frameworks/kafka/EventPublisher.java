@@ -1,6 +1,7 @@
 package bookingengine.frameworks.kafka;
 
 import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
 import bookingengine.domain.events.PrixCalculatedEvent;
 import bookingengine.domain.events.SaisonCreatedEvent;
 import bookingengine.domain.events.PaymentCreatedEvent;
@@ -8,69 +9,64 @@ import bookingengine.domain.events.PaymentStatusChangedEvent;
 import bookingengine.domain.events.ReservationCreatedEvent;
 import bookingengine.domain.events.ReservationCancelledEvent;
 import bookingengine.domain.ports.EventPublisherPort;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Dans une transaction, l'evenement passe par l'outbox : il est enregistre avec
+ * l'ecriture metier et envoye a Kafka apres le commit par KafkaEventRelay. Hors
+ * transaction (calcul de prix en lecture), il n'y a pas d'ecriture a laquelle le
+ * rattacher et l'envoi part directement, sans attendre l'acquittement.
+ */
 @Component
 public class EventPublisher implements EventPublisherPort {
 
-    private static final Logger log = LoggerFactory.getLogger(EventPublisher.class);
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final KafkaEventRelay relay;
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
-
-    public EventPublisher(KafkaTemplate<String, String> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+    public EventPublisher(ApplicationEventPublisher applicationEventPublisher, KafkaEventRelay relay) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.relay = relay;
     }
 
     public void publish(ChambreCreatedEvent event) {
-        sendEvent(KafkaConfig.TOPIC_CHAMBRES, event.chambreId().toString(), event);
+        publier(event);
     }
 
     public void publish(SaisonCreatedEvent event) {
-        sendEvent(KafkaConfig.TOPIC_SAISONS, event.saisonId().toString(), event);
+        publier(event);
     }
 
     public void publish(PrixCalculatedEvent event) {
-        sendEvent(KafkaConfig.TOPIC_PRIX, event.chambreId().toString(), event);
+        publier(event);
+    }
+
+    public void publish(PrixAggregatedEvent event) {
+        publier(event);
     }
 
     public void publish(PaymentCreatedEvent event) {
-        sendEvent(KafkaConfig.TOPIC_PAYMENTS, event.paymentId().toString(), event);
+        publier(event);
     }
 
     public void publish(PaymentStatusChangedEvent event) {
-        sendEvent(KafkaConfig.TOPIC_PAYMENTS, event.paymentId().toString(), event);
+        publier(event);
     }
 
     public void publish(ReservationCreatedEvent event) {
-        sendEvent(KafkaConfig.TOPIC_RESERVATIONS, event.reservationId().toString(), event);
+        publier(event);
     }
 
     public void publish(ReservationCancelledEvent event) {
-        sendEvent(KafkaConfig.TOPIC_RESERVATIONS, event.reservationId().toString(), event);
+        publier(event);
     }
 
-    private void sendEvent(String topic, String key, Object event) {
-        try {
-            String json = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(topic, key, json)
-                    .whenComplete((result, ex) -> {
-                        if (ex != null) {
-                            log.error("Erreur envoi event Kafka: {}", ex.getMessage());
-                        } else {
-                            log.info("Event publié sur {} : {}", topic, json);
-                        }
-                    });
-        } catch (JsonProcessingException e) {
-            log.error("Erreur sérialisation event: {}", e.getMessage());
+    private void publier(Object event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            applicationEventPublisher.publishEvent(event);
+        } else {
+            relay.envoyer(event);
         }
     }
 }
@@ -2,6 +2,7 @@ package bookingengine.frameworks.kafka;
 
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -20,23 +21,37 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    // Plafond du nombre de consommateurs actifs par topic (un par partition)
+    @Value("${booking.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${booking.kafka.replicas:1}")
+    private int replicas;
+
+    // Nombre maximal de messages remis en un lot a EventListener
+    @Value("${booking.kafka.consommateurs.lot-max:500}")
+    private int tailleLotMax;
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "booking-engine");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, tailleLotMax);
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
-        // Ne pas utiliser de MessageConverter - recevoir les String directement
+        // Lots : un appel par poll ; la concurrence est fixee topic par topic sur les @KafkaListener
+        factory.setBatchListener(true);
+        // Ne pas utiliser de MessageConverter - les valeurs brutes sont decodees par EncodageEvenements
         return factory;
     }
 
@@ -48,41 +63,35 @@ public class KafkaConfig {
 
     @Bean
     public NewTopic chambresTopic() {
-        return TopicBuilder.name(TOPIC_CHAMBRES)
-                .partitions(1)
-                .replicas(1)
-                .build();
+        return topic(TOPIC_CHAMBRES);
     }
 
     @Bean
     public NewTopic saisonsTopic() {
-        return TopicBuilder.name(TOPIC_SAISONS)
-                .partitions(1)
-                .replicas(1)
-                .build();
+        return topic(TOPIC_SAISONS);
     }
 
     @Bean
     public NewTopic prixTopic() {
-        return TopicBuilder.name(TOPIC_PRIX)
-                .partitions(1)
-                .replicas(1)
-                .build();
+        return topic(TOPIC_PRIX);
     }
 
     @Bean
     public NewTopic paymentsTopic() {
-        return TopicBuilder.name(TOPIC_PAYMENTS)
-                .partitions(1)
-                .replicas(1)
-                .build();
+        return topic(TOPIC_PAYMENTS);
     }
 
     @Bean
     public NewTopic reservationsTopic() {
-        return TopicBuilder.name(TOPIC_RESERVATIONS)
-                .partitions(1)
-                .replicas(1)
+        return topic(TOPIC_RESERVATIONS);
+    }
+
+    // KafkaAdmin cree les topics absents et ajoute les partitions manquantes aux
+    // topics existants (le nombre de partitions ne peut pas diminuer)
+    private NewTopic topic(String nom) {
+        return TopicBuilder.name(nom)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 }
@@ -0,0 +1,104 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Vide l'outbox vers Kafka.
+ *
+ * Les evenements publies dans une transaction sont enregistres par le registre de
+ * publications de Spring Modulith avec l'ecriture metier ; relayer() est appele
+ * apres le commit et ne fait que confier l'envoi a la voie de sa cle (VoiesEnvoi),
+ * ce qui garde l'ordre des evenements d'une chambre, y compris face aux relances.
+ * Le futur rendu n'aboutit qu'a l'acquittement de Kafka : Spring Modulith ne marque
+ * la publication terminee qu'a ce moment, en cas d'echec elle reste en attente et
+ * sera relancee (RelanceOutbox, redemarrage).
+ */
+@Component
+public class KafkaEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaEventRelay.class);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final EncodageEvenements encodage;
+    private final MetriquesPublication metriques;
+    private final VoiesEnvoi voies;
+    private final Duration delaiEnvoi;
+
+    public KafkaEventRelay(KafkaTemplate<String, byte[]> kafkaTemplate, EncodageEvenements encodage,
+                           MetriquesPublication metriques, VoiesEnvoi voies,
+                           @Value("${booking.outbox.envoi.delai:PT10S}") Duration delaiEnvoi) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.encodage = encodage;
+        this.metriques = metriques;
+        this.voies = voies;
+        this.delaiEnvoi = delaiEnvoi;
+    }
+
+    @TransactionalEventListener(classes = {
+            ChambreCreatedEvent.class, SaisonCreatedEvent.class, PrixCalculatedEvent.class, PrixAggregatedEvent.class,
+            PaymentCreatedEvent.class, PaymentStatusChangedEvent.class,
+            ReservationCreatedEvent.class, ReservationCancelledEvent.class
+    })
+    public CompletableFuture<Void> relayer(Object evenement) {
+        return envoyer(evenement)
+                .orTimeout(delaiEnvoi.toMillis(), TimeUnit.MILLISECONDS)
+                .<Void>thenApply(result -> null)
+                .exceptionally(this::echec);
+    }
+
+    private Void echec(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof TimeoutException) {
+            throw new IllegalStateException("Envoi Kafka sans acquittement apres " + delaiEnvoi + ", publication conservee", cause);
+        }
+        throw new IllegalStateException("Envoi Kafka en echec, publication conservee: " + cause.getMessage(), cause);
+    }
+
+    // Envoi sur la voie de la cle, sans attendre l'acquittement
+    CompletableFuture<SendResult<String, byte[]>> envoyer(Object evenement) {
+        RouteEvenement route = RouteEvenement.de(evenement);
+        return voies.soumettre(route.cle(), () -> envoyer(route, evenement));
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> envoyer(RouteEvenement route, Object evenement) {
+        ProducerRecord<String, byte[]> enregistrement;
+        try {
+            enregistrement = encodage.enregistrement(route, evenement);
+        } catch (IllegalArgumentException e) {
+            metriques.enregistrer(0, false);
+            return CompletableFuture.failedFuture(e);
+        }
+        long debut = System.nanoTime();
+        return kafkaTemplate.send(enregistrement)
+                .whenComplete((result, ex) -> {
+                    metriques.enregistrer(System.nanoTime() - debut, ex == null);
+                    if (ex != null) {
+                        log.error("Erreur envoi event Kafka: {}", ex.getMessage());
+                    } else {
+                        log.debug("Event publié sur {} ({} octets, {}) : {}", route.topic(),
+                                enregistrement.value().length, encodage.encodageEnvoi(), evenement);
+                    }
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package bookingengine.frameworks.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs des consommateurs Kafka : messages et lots traites, messages illisibles,
+ * et retard (lag) de chaque partition, c'est-a-dire le nombre de messages publies
+ * mais pas encore lus. Le lag est releve apres chaque lot a partir des positions
+ * connues du consommateur, sans appel supplementaire au broker.
+ */
+@Component
+public class MetriquesConsommation {
+
+    private static final Logger log = LoggerFactory.getLogger(MetriquesConsommation.class);
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder lots = new LongAdder();
+    private final LongAdder erreurs = new LongAdder();
+    // Dernier lag connu par partition (partitions lues par cette instance)
+    private final Map<TopicPartition, Long> lagParPartition = new ConcurrentHashMap<>();
+
+    private long dernierTotalJournalise;
+
+    void enregistrerLot(List<? extends ConsumerRecord<?, ?>> lot, int illisibles, Consumer<?, ?> consommateur) {
+        messages.add(lot.size());
+        lots.increment();
+        erreurs.add(illisibles);
+        lot.stream()
+                .map(message -> new TopicPartition(message.topic(), message.partition()))
+                .distinct()
+                .forEach(partition -> {
+                    OptionalLong lag = consommateur.currentLag(partition);
+                    if (lag.isPresent()) {
+                        lagParPartition.put(partition, lag.getAsLong());
+                    }
+                });
+    }
+
+    public Instantane instantane() {
+        Map<String, Long> lagParTopic = new TreeMap<>();
+        lagParPartition.forEach((partition, lag) -> lagParTopic.merge(partition.topic(), lag, Long::sum));
+        long nombreLots = lots.sum();
+        long nombreMessages = messages.sum();
+        return new Instantane(nombreMessages, nombreLots, erreurs.sum(),
+                nombreLots == 0 ? 0 : (double) nombreMessages / nombreLots, lagParTopic);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.kafka.metriques.intervalle:PT1M}",
+            initialDelayString = "${booking.kafka.metriques.intervalle:PT1M}")
+    public void journaliser() {
+        Instantane instantane = instantane();
+        if (instantane.messages() == dernierTotalJournalise) {
+            return;
+        }
+        dernierTotalJournalise = instantane.messages();
+        log.info("Consommation Kafka: {} messages en {} lots (moyenne {}), {} illisibles, lag par topic {}",
+                instantane.messages(), instantane.lots(), String.format("%.1f", instantane.tailleLotMoyenne()),
+                instantane.erreurs(), instantane.lagParTopic());
+    }
+
+    public record Instantane(long messages, long lots, long erreurs, double tailleLotMoyenne,
+                             Map<String, Long> lagParTopic) {}
+}
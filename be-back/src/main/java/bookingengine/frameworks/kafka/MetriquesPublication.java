@@ -0,0 +1,59 @@
+package bookingengine.frameworks.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs des envois Kafka : nombre d'envois acquittes, d'erreurs et latence
+ * entre l'appel a send() et l'acquittement du broker. Un resume est journalise
+ * periodiquement quand il y a eu de l'activite, a la place d'une ligne par evenement.
+ */
+@Component
+public class MetriquesPublication {
+
+    private static final Logger log = LoggerFactory.getLogger(MetriquesPublication.class);
+
+    private final LongAdder envois = new LongAdder();
+    private final LongAdder erreurs = new LongAdder();
+    private final LongAdder latenceTotaleNanos = new LongAdder();
+    private final LongAccumulator latenceMaxNanos = new LongAccumulator(Math::max, 0);
+
+    private long dernierTotalJournalise;
+
+    void enregistrer(long latenceNanos, boolean succes) {
+        if (succes) {
+            envois.increment();
+            latenceTotaleNanos.add(latenceNanos);
+            latenceMaxNanos.accumulate(latenceNanos);
+        } else {
+            erreurs.increment();
+        }
+    }
+
+    public Instantane instantane() {
+        long nombreEnvois = envois.sum();
+        double latenceMoyenneMs = nombreEnvois == 0 ? 0 : latenceTotaleNanos.sum() / 1_000_000.0 / nombreEnvois;
+        return new Instantane(nombreEnvois, erreurs.sum(), latenceMoyenneMs, latenceMaxNanos.get() / 1_000_000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.kafka.metriques.intervalle:PT1M}",
+            initialDelayString = "${booking.kafka.metriques.intervalle:PT1M}")
+    public void journaliser() {
+        Instantane instantane = instantane();
+        long total = instantane.envois() + instantane.erreurs();
+        if (total == dernierTotalJournalise) {
+            return;
+        }
+        dernierTotalJournalise = total;
+        log.info("Publication Kafka: {} envois, {} erreurs, latence moyenne {} ms, max {} ms",
+                instantane.envois(), instantane.erreurs(),
+                String.format("%.2f", instantane.latenceMoyenneMs()), String.format("%.2f", instantane.latenceMaxMs()));
+    }
+
+    public record Instantane(long envois, long erreurs, double latenceMoyenneMs, double latenceMaxMs) {}
+}
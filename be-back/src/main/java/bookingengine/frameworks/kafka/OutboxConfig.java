@@ -0,0 +1,23 @@
+package bookingengine.frameworks.kafka;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    /**
+     * Threads qui relaient les publications vers Kafka apres commit, une voie par
+     * thread choisie par la cle pour garder l'ordre des evenements d'une chambre.
+     * La file de chaque voie est bornee : si elle deborde, la publication reste en
+     * attente dans le registre et sera reprise par RelanceOutbox.
+     */
+    @Bean
+    VoiesEnvoi voiesEnvoi(@Value("${booking.outbox.threads:4}") int threads,
+                          @Value("${booking.outbox.file:10000}") int capaciteFile) {
+        return new VoiesEnvoi(threads, capaciteFile);
+    }
+}
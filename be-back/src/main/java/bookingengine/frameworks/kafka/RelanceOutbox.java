@@ -0,0 +1,41 @@
+package bookingengine.frameworks.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Relance periodiquement les publications restees en attente (Kafka indisponible,
+ * file du relais pleine). Les publications en attente au demarrage sont reprises
+ * par Spring Modulith (spring.modulith.events.republish-outstanding-events-on-restart).
+ */
+@Component
+public class RelanceOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RelanceOutbox.class);
+
+    private final IncompleteEventPublications publicationsEnAttente;
+    private final Duration ageMinimum;
+
+    public RelanceOutbox(IncompleteEventPublications publicationsEnAttente,
+                         @Value("${booking.outbox.relance.age-minimum:PT1M}") Duration ageMinimum) {
+        this.publicationsEnAttente = publicationsEnAttente;
+        this.ageMinimum = ageMinimum;
+    }
+
+    // L'age minimum evite de relancer une publication dont le premier envoi est encore en cours
+    @Scheduled(fixedDelayString = "${booking.outbox.relance.intervalle:PT1M}",
+            initialDelayString = "${booking.outbox.relance.intervalle:PT1M}")
+    public void relancer() {
+        try {
+            publicationsEnAttente.resubmitIncompletePublicationsOlderThan(ageMinimum);
+        } catch (RuntimeException e) {
+            log.error("Relance des publications en attente impossible: {}", e.getMessage());
+        }
+    }
+}
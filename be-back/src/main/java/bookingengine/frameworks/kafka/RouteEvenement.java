@@ -0,0 +1,41 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+
+/**
+ * Topic et cle Kafka d'un evenement domaine.
+ *
+ * Tout ce qui concerne une chambre (devis, reservations, paiements via leur
+ * reservation) est cle par chambreId : le partitionneur envoie une chambre sur une
+ * seule partition, ou l'ordre de ses evenements est garanti, et les consommateurs
+ * se repartissent les chambres.
+ */
+record RouteEvenement(String topic, String cle) {
+
+    static RouteEvenement de(Object evenement) {
+        return switch (evenement) {
+            case ChambreCreatedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_CHAMBRES, e.chambreId().toString());
+            case SaisonCreatedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_SAISONS, e.saisonId().toString());
+            case PrixCalculatedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_PRIX, e.chambreId().toString());
+            case PrixAggregatedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_PRIX, e.chambreId().toString());
+            case PaymentCreatedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_PAYMENTS, cle(e.chambreId(), e.paymentId()));
+            case PaymentStatusChangedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_PAYMENTS, cle(e.chambreId(), e.paymentId()));
+            case ReservationCreatedEvent e -> new RouteEvenement(KafkaConfig.TOPIC_RESERVATIONS, e.chambreId().toString());
+            case ReservationCancelledEvent e -> new RouteEvenement(KafkaConfig.TOPIC_RESERVATIONS, cle(e.chambreId(), e.reservationId()));
+            default -> throw new IllegalArgumentException("Evenement sans topic: " + evenement.getClass().getName());
+        };
+    }
+
+    // Publications enregistrees avant l'ajout de chambreId (ou reservation supprimee) :
+    // repli sur l'identifiant de l'evenement plutot qu'un echec de relais
+    private static String cle(Long chambreId, Long repli) {
+        return (chambreId != null ? chambreId : repli).toString();
+    }
+}
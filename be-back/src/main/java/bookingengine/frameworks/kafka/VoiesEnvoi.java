@@ -0,0 +1,68 @@
+package bookingengine.frameworks.kafka;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Voies d'envoi vers Kafka : un thread par voie, la voie choisie par la cle du
+ * message. Tous les envois d'une meme cle (une chambre) passent par le meme thread,
+ * dans l'ordre de soumission ; le producteur conserve ensuite cet ordre dans la
+ * partition. Un pool partage ne le garantit pas : deux threads peuvent appeler
+ * send() dans le desordre.
+ *
+ * La capacite de file est repartie entre les voies : une soumission refusee rend
+ * un futur en echec, la publication reste en attente dans le registre et sera relancee.
+ */
+class VoiesEnvoi implements AutoCloseable {
+
+    private final ThreadPoolExecutor[] voies;
+
+    VoiesEnvoi(int nombre, int capaciteFile) {
+        if (nombre < 1) {
+            throw new IllegalArgumentException("Au moins une voie d'envoi est requise");
+        }
+        voies = new ThreadPoolExecutor[nombre];
+        for (int i = 0; i < nombre; i++) {
+            String nom = "outbox-" + i;
+            voies[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, capaciteFile / nombre)), tache -> new Thread(tache, nom));
+        }
+    }
+
+    <T> CompletableFuture<T> soumettre(String cle, Supplier<CompletableFuture<T>> envoi) {
+        CompletableFuture<T> resultat = new CompletableFuture<>();
+        try {
+            voies[Math.floorMod(cle.hashCode(), voies.length)].execute(() -> {
+                try {
+                    envoi.get().whenComplete((valeur, ex) -> {
+                        if (ex != null) {
+                            resultat.completeExceptionally(ex);
+                        } else {
+                            resultat.complete(valeur);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    resultat.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resultat.completeExceptionally(e);
+        }
+        return resultat;
+    }
+
+    // Les envois deja soumis partent avant l'arret, comme le faisait l'ancien pool
+    @Override
+    public void close() throws InterruptedException {
+        for (ThreadPoolExecutor voie : voies) {
+            voie.shutdown();
+        }
+        for (ThreadPoolExecutor voie : voies) {
+            voie.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package bookingengine.frameworks.lock;
+
+import bookingengine.domain.ports.ChambreLockPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Verrous consultatifs PostgreSQL, partages par toutes les instances de l'application.
+ *
+ * L'action s'execute dans une transaction ; pg_advisory_xact_lock est libere a sa
+ * fin (commit ou rollback), les ecritures de l'action rejoignant cette transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.verrou.mode", havingValue = "postgres")
+public class PostgresAdvisoryChambreLock implements ChambreLockPort {
+
+    // Premiere cle des verrous consultatifs : isole ces verrous d'autres usages eventuels
+    static final int ESPACE_RESERVATION = 0x52455356;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostgresAdvisoryChambreLock(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public <T> T withLocks(Collection<Long> chambreIds, Supplier<T> action) {
+        TreeSet<Integer> cles = new TreeSet<>();
+        for (Long chambreId : chambreIds) {
+            cles.add(Long.hashCode(chambreId));
+        }
+        return transactionTemplate.execute(status -> {
+            for (int cle : cles) {
+                jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?, ?)", Integer.class,
+                        ESPACE_RESERVATION, cle);
+            }
+            return action.get();
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package bookingengine.frameworks.lock;
+
+import bookingengine.domain.ports.ChambreLockPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Verrous en memoire, repartis sur un nombre fixe de segments indexes par chambreId.
+ * Deux chambres ne se bloquent que si elles tombent sur le meme segment.
+ * Valable pour une seule instance de l'application.
+ *
+ * Dans une transaction, les verrous sont rendus a sa fin (afterCompletion), comme
+ * pg_advisory_xact_lock : la reservation suivante de la chambre voit l'ecriture
+ * validee, et l'index d'occupation deja a jour, au lieu de controler avant le commit.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reservation.verrou.mode", havingValue = "local", matchIfMissing = true)
+public class StripedChambreLock implements ChambreLockPort {
+
+    public static final int SEGMENTS_PAR_DEFAUT = 64;
+
+    private final ReentrantLock[] segments;
+
+    public StripedChambreLock(@Value("${booking.reservation.verrou.segments:" + SEGMENTS_PAR_DEFAUT + "}") int nombreSegments) {
+        if (nombreSegments <= 0) {
+            throw new IllegalArgumentException("Le nombre de segments doit etre positif");
+        }
+        this.segments = new ReentrantLock[nombreSegments];
+        for (int i = 0; i < nombreSegments; i++) {
+            segments[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public <T> T withLocks(Collection<Long> chambreIds, Supplier<T> action) {
+        // Ordre croissant des segments, sans doublon : pas d'interblocage possible
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (Long chambreId : chambreIds) {
+            indices.add(segment(chambreId));
+        }
+        List<ReentrantLock> pris = new ArrayList<>(indices.size());
+        boolean rendusEnFinDeTransaction = false;
+        try {
+            for (int indice : indices) {
+                segments[indice].lock();
+                pris.add(segments[indice]);
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        rendre(pris);
+                    }
+                });
+                rendusEnFinDeTransaction = true;
+            }
+            return action.get();
+        } finally {
+            if (!rendusEnFinDeTransaction) {
+                rendre(pris);
+            }
+        }
+    }
+
+    private static void rendre(List<ReentrantLock> pris) {
+        for (int i = pris.size() - 1; i >= 0; i--) {
+            pris.get(i).unlock();
+        }
+    }
+
+    int segment(Long chambreId) {
+        return Math.floorMod(Long.hashCode(chambreId), segments.length);
+    }
+}
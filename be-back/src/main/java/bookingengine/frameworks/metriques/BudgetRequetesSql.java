@@ -0,0 +1,71 @@
+package bookingengine.frameworks.metriques;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Nombre d'instructions SQL par requete HTTP : un histogramme par endpoint
+ * (booking.http.requetes.sql) et un avertissement au-dela du budget
+ * (booking.sql.budget-par-requete), signe le plus courant d'un N+1.
+ *
+ * Place en tete de chaine pour compter aussi ce qu'envoient les autres filtres.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BudgetRequetesSql extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetRequetesSql.class);
+
+    static final String URI_INCONNUE = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final int budget;
+
+    public BudgetRequetesSql(MeterRegistry registry,
+                             @Value("${booking.sql.budget-par-requete:10}") int budget) {
+        this.registry = registry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (CompteurRequetesSql.Mesure mesure = CompteurRequetesSql.demarrer()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                enregistrer(request, mesure.nombre());
+            }
+        }
+    }
+
+    private void enregistrer(HttpServletRequest request, int nombre) {
+        Object motif = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = motif != null ? motif.toString() : URI_INCONNUE;
+        DistributionSummary.builder("booking.http.requetes.sql")
+                .description("Instructions SQL envoyees par requete HTTP")
+                .baseUnit("requetes")
+                .tag("methode", request.getMethod())
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50)
+                .register(registry)
+                .record(nombre);
+        if (nombre > budget) {
+            log.warn("{} {} : {} requêtes SQL pour un budget de {}", request.getMethod(), uri, nombre, budget);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package bookingengine.frameworks.metriques;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la duree de chaque appel de methode publique du bean intercepte : un timer
+ * par classe et methode, etiquete par l'exception levee (none si l'appel aboutit).
+ * Le nombre d'appels et d'echecs se lit dans le compteur du timer.
+ */
+public class ChronometreMethodes implements MethodInterceptor {
+
+    static final String SANS_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+    private final String nom;
+    // Timers des appels sans exception, le cas courant : pas de recherche dans le registre
+    private final Map<Method, Timer> timersSucces = new ConcurrentHashMap<>();
+
+    public ChronometreMethodes(MeterRegistry registry, String nom) {
+        this.registry = registry;
+        this.nom = nom;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method methode = invocation.getMethod();
+        if (!Modifier.isPublic(methode.getModifiers()) || methode.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        long debut = System.nanoTime();
+        try {
+            Object resultat = invocation.proceed();
+            timersSucces.computeIfAbsent(methode, m -> timer(invocation, SANS_EXCEPTION))
+                    .record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+            return resultat;
+        } catch (Throwable e) {
+            timer(invocation, e.getClass().getSimpleName()).record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(MethodInvocation invocation, String exception) {
+        Class<?> classe = ClassUtils.getUserClass(AopUtils.getTargetClass(invocation.getThis()));
+        return Timer.builder(nom)
+                .tag("classe", classe.getSimpleName())
+                .tag("methode", invocation.getMethod().getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package bookingengine.frameworks.metriques;
+
+/**
+ * Compte les instructions SQL envoyees par le thread courant pendant une mesure.
+ *
+ * Les mesures s'imbriquent : une instruction compte pour toutes les mesures ouvertes
+ * sur le thread (celle d'un test autour de celle de la requete HTTP par exemple).
+ * Hors mesure, compter ne coute qu'une lecture de ThreadLocal.
+ */
+public final class CompteurRequetesSql {
+
+    private static final ThreadLocal<Mesure> COURANTE = new ThreadLocal<>();
+
+    private CompteurRequetesSql() {
+    }
+
+    /**
+     * Ouvre une mesure sur le thread courant, a fermer sur le meme thread
+     * (try-with-resources).
+     */
+    public static Mesure demarrer() {
+        Mesure mesure = new Mesure(COURANTE.get());
+        COURANTE.set(mesure);
+        return mesure;
+    }
+
+    static void compter() {
+        for (Mesure mesure = COURANTE.get(); mesure != null; mesure = mesure.englobante) {
+            mesure.nombre++;
+        }
+    }
+
+    public static final class Mesure implements AutoCloseable {
+
+        private final Mesure englobante;
+        private int nombre;
+
+        private Mesure(Mesure englobante) {
+            this.englobante = englobante;
+        }
+
+        public int nombre() {
+            return nombre;
+        }
+
+        @Override
+        public void close() {
+            if (COURANTE.get() == this) {
+                if (englobante == null) {
+                    COURANTE.remove();
+                } else {
+                    COURANTE.set(englobante);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package bookingengine.frameworks.metriques;
+
+import bookingengine.frameworks.kafka.MetriquesConsommation;
+import bookingengine.frameworks.kafka.MetriquesPublication;
+import bookingengine.usecase.prix.CachePrix;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expose dans Micrometer les compteurs deja tenus par l'application (cache des devis,
+ * publication et consommation Kafka), lus a chaque collecte sans double comptage.
+ */
+@Component
+public class CompteursExistants implements MeterBinder {
+
+    private final CachePrix cachePrix;
+    private final MetriquesPublication publication;
+    private final MetriquesConsommation consommation;
+
+    public CompteursExistants(CachePrix cachePrix, MetriquesPublication publication,
+                              MetriquesConsommation consommation) {
+        this.cachePrix = cachePrix;
+        this.publication = publication;
+        this.consommation = consommation;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("booking.prix.cache.hits", cachePrix, c -> c.statistiques().hits())
+                .register(registry);
+        FunctionCounter.builder("booking.prix.cache.misses", cachePrix, c -> c.statistiques().misses())
+                .register(registry);
+        FunctionCounter.builder("booking.prix.cache.evictions", cachePrix, c -> c.statistiques().evictions())
+                .register(registry);
+        Gauge.builder("booking.prix.cache.taille", cachePrix, c -> c.statistiques().taille())
+                .register(registry);
+
+        // Latence entre send() et l'acquittement du broker, pour les envois acquittes
+        FunctionTimer.builder("booking.kafka.publication", publication,
+                        p -> p.instantane().envois(),
+                        p -> p.instantane().latenceMoyenneMs() * p.instantane().envois(),
+                        TimeUnit.MILLISECONDS)
+                .register(registry);
+        FunctionCounter.builder("booking.kafka.publication.erreurs", publication, p -> p.instantane().erreurs())
+                .register(registry);
+
+        FunctionCounter.builder("booking.kafka.consommation.messages", consommation, c -> c.instantane().messages())
+                .register(registry);
+        FunctionCounter.builder("booking.kafka.consommation.lots", consommation, c -> c.instantane().lots())
+                .register(registry);
+        FunctionCounter.builder("booking.kafka.consommation.erreurs", consommation, c -> c.instantane().erreurs())
+                .register(registry);
+        Gauge.builder("booking.kafka.consommation.lag", consommation,
+                        c -> c.instantane().lagParTopic().values().stream().mapToLong(Long::longValue).sum())
+                .description("Messages publies pas encore lus, partitions lues par cette instance")
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package bookingengine.frameworks.metriques;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Enveloppe la DataSource pour signaler a CompteurRequetesSql chaque instruction
+ * preparee ou creee sur ses connexions, quelle qu'en soit la source (Hibernate,
+ * JdbcTemplate, registre d'evenements).
+ *
+ * Un lot JDBC compte pour une instruction : c'est un aller-retour vers la base.
+ * close() ferme le pool enveloppe a l'arret du contexte, comme le bean d'origine.
+ */
+public class DataSourceComptee extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> CREATIONS_INSTRUCTION = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    public DataSourceComptee(DataSource cible) {
+        super(cible);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return compter(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return compter(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private static Connection compter(Connection connexion) {
+        return (Connection) Proxy.newProxyInstance(DataSourceComptee.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, methode, args) -> invoquer(proxy, connexion, methode, args));
+    }
+
+    private static Object invoquer(Object proxy, Connection connexion, Method methode, Object[] args) throws Throwable {
+        switch (methode.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        if (CREATIONS_INSTRUCTION.contains(methode.getName())) {
+            CompteurRequetesSql.compter();
+        }
+        try {
+            return methode.invoke(connexion, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
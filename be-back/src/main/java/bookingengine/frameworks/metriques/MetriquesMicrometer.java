@@ -0,0 +1,40 @@
+package bookingengine.frameworks.metriques;
+
+import bookingengine.domain.ports.MetriquesPort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Histogrammes metier : nuits par devis et conflits trouves par controle de
+ * disponibilite, avec des bornes de classes fixes pour Prometheus.
+ */
+@Component
+public class MetriquesMicrometer implements MetriquesPort {
+
+    private final DistributionSummary nuitsDevis;
+    private final DistributionSummary conflits;
+
+    public MetriquesMicrometer(MeterRegistry registry) {
+        this.nuitsDevis = DistributionSummary.builder("booking.prix.devis.nuits")
+                .description("Nombre de nuits par devis servi")
+                .baseUnit("nuits")
+                .serviceLevelObjectives(1, 2, 3, 5, 7, 14, 30)
+                .register(registry);
+        this.conflits = DistributionSummary.builder("booking.reservation.conflits")
+                .description("Reservations en conflit trouvees par controle de disponibilite")
+                .baseUnit("reservations")
+                .serviceLevelObjectives(0, 1, 2, 5, 10)
+                .register(registry);
+    }
+
+    @Override
+    public void enregistrerNuitsDevis(long nombreNuits) {
+        nuitsDevis.record(nombreNuits);
+    }
+
+    @Override
+    public void enregistrerConflits(int nombreConflits) {
+        conflits.record(nombreConflits);
+    }
+}
@@ -5,17 +5,31 @@ import bookingengine.domain.events.ChambreCreatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
 import bookingengine.domain.repositories.ChambreRepository;
+import bookingengine.usecase.pagination.PageCurseur;
+import bookingengine.usecase.prix.CachePrix;
+import bookingengine.usecase.reservation.IndexOccupation;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 public class ChambreUseCase {
 
+    public static final int TAILLE_MAX_LOT = 500;
+
     private final ChambreRepository chambreRepository;
     private final EventPublisherPort eventPublisher;
+    private final CachePrix cachePrix;
+    private final IndexOccupation indexOccupation;
 
-    public ChambreUseCase(ChambreRepository chambreRepository, EventPublisherPort eventPublisher) {
+    public ChambreUseCase(ChambreRepository chambreRepository, EventPublisherPort eventPublisher,
+                          CachePrix cachePrix, IndexOccupation indexOccupation) {
         this.chambreRepository = chambreRepository;
         this.eventPublisher = eventPublisher;
+        this.cachePrix = cachePrix;
+        this.indexOccupation = indexOccupation;
     }
 
     public Chambre creerChambre(Chambre chambre) {
@@ -25,12 +39,45 @@ public class ChambreUseCase {
         return saved;
     }
 
-    public Chambre modifierChambre(Long id, Chambre chambre) {
-        if (chambreRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("Chambre non trouvée avec l'id: " + id);
+    /**
+     * Cree un lot de chambres en une ecriture groupee : les ids viennent de la
+     * sequence par blocs et les INSERT partent par lots JDBC, au lieu d'un aller-retour
+     * par chambre. Un evenement est publie par chambre creee.
+     */
+    public List<Chambre> creerChambres(List<Chambre> chambres) {
+        if (chambres == null || chambres.isEmpty()) {
+            throw new IllegalArgumentException("Le lot de chambres ne peut pas être vide");
+        }
+        if (chambres.size() > TAILLE_MAX_LOT) {
+            throw new IllegalArgumentException("Le lot ne peut pas dépasser " + TAILLE_MAX_LOT + " chambres");
+        }
+        Set<String> numeros = new HashSet<>();
+        for (Chambre chambre : chambres) {
+            if (!numeros.add(chambre.getNumero())) {
+                throw new IllegalArgumentException("Numéro de chambre en double dans le lot: " + chambre.getNumero());
+            }
         }
+
+        List<Chambre> saved = chambreRepository.saveAll(chambres);
+        for (Chambre chambre : saved) {
+            eventPublisher.publish(ChambreCreatedEvent.of(
+                    chambre.getId(), chambre.getNumero(), chambre.getType(), chambre.getPrixBase()));
+        }
+        return saved;
+    }
+
+    public Chambre modifierChambre(Long id, Chambre chambre) {
+        Chambre existante = chambreRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Chambre non trouvée avec l'id: " + id));
         chambre.setId(id);
-        return chambreRepository.save(chambre);
+        Chambre saved = chambreRepository.save(chambre);
+        // Seuls le prix de base, le numero et le type figurent dans un devis
+        if (saved.getPrixBase() != existante.getPrixBase()
+                || !Objects.equals(saved.getNumero(), existante.getNumero())
+                || !Objects.equals(saved.getType(), existante.getType())) {
+            cachePrix.invaliderChambre(id);
+        }
+        return saved;
     }
 
     public void supprimerChambre(Long id) {
@@ -38,6 +85,7 @@ public class ChambreUseCase {
             throw new EntityNotFoundException("Chambre non trouvée avec l'id: " + id);
         }
         chambreRepository.deleteById(id);
+        cachePrix.invaliderChambre(id);
     }
 
     public Chambre obtenirChambre(Long id) {
@@ -49,10 +97,31 @@ public class ChambreUseCase {
         return chambreRepository.findAll();
     }
 
+    public PageCurseur<Chambre> obtenirPageChambres(Long apres, Integer taille) {
+        int tailleEffective = PageCurseur.tailleEffective(taille);
+        return PageCurseur.depuis(chambreRepository.findPage(apres, tailleEffective + 1), tailleEffective, Chambre::getId);
+    }
+
     public List<Chambre> obtenirChambresDisponibles() {
         return chambreRepository.findByDisponible(true);
     }
 
+    /**
+     * Chambres disponibles sans reservation active chevauchant la periode : une
+     * seule requete pour les chambres, l'occupation vient de l'index en memoire.
+     */
+    public List<Chambre> obtenirChambresDisponiblesPourPeriode(LocalDate dateDebut, LocalDate dateFin) {
+        if (dateDebut.isAfter(dateFin)) {
+            throw new IllegalArgumentException("La date de début doit être avant ou égale à la date de fin");
+        }
+        List<Chambre> disponibles = chambreRepository.findByDisponible(true);
+        Set<Long> libres = new HashSet<>(indexOccupation.filtrerLibres(
+                disponibles.stream().map(Chambre::getId).toList(), dateDebut, dateFin));
+        return disponibles.stream()
+                .filter(chambre -> libres.contains(chambre.getId()))
+                .toList();
+    }
+
     public List<Chambre> obtenirChambresParType(String type) {
         return chambreRepository.findByType(type);
     }
@@ -0,0 +1,43 @@
+package bookingengine.usecase.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une liste parcourue par curseur (keyset) : les elements sont tries par id
+ * croissant et curseurSuivant est le dernier id de la page, a repasser en "apres"
+ * pour obtenir la suite. Il vaut null quand il n'y a plus rien a lire.
+ *
+ * Le repository filtre sur id > apres au lieu de sauter des lignes : une page
+ * lointaine coute le meme prix que la premiere.
+ */
+public record PageCurseur<T>(List<T> elements, Long curseurSuivant) {
+
+    public static final int TAILLE_PAR_DEFAUT = 50;
+    public static final int TAILLE_MAX = 200;
+
+    /**
+     * Taille demandee, bornee a TAILLE_MAX ; TAILLE_PAR_DEFAUT si absente.
+     */
+    public static int tailleEffective(Integer taille) {
+        if (taille == null) {
+            return TAILLE_PAR_DEFAUT;
+        }
+        if (taille <= 0) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        return Math.min(taille, TAILLE_MAX);
+    }
+
+    /**
+     * Construit la page a partir d'au plus taille + 1 lignes lues : la ligne en trop
+     * indique seulement qu'une page suivante existe.
+     */
+    public static <T> PageCurseur<T> depuis(List<T> lignes, int taille, Function<T, Long> identifiant) {
+        if (lignes.size() <= taille) {
+            return new PageCurseur<>(List.copyOf(lignes), null);
+        }
+        List<T> elements = List.copyOf(lignes.subList(0, taille));
+        return new PageCurseur<>(elements, identifiant.apply(elements.get(taille - 1)));
+    }
+}
@@ -10,6 +10,8 @@ import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
 import bookingengine.domain.repositories.PaymentRepository;
 import bookingengine.domain.repositories.ReservationRepository;
+import bookingengine.usecase.pagination.PageCurseur;
+import bookingengine.usecase.reservation.IndexOccupation;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,16 +21,19 @@ public class PaymentUseCase {
     private final PaymentRepository paymentRepository;
     private final ReservationRepository reservationRepository;
     private final EventPublisherPort eventPublisher;
+    private final IndexOccupation indexOccupation;
 
-    public PaymentUseCase(PaymentRepository paymentRepository, ReservationRepository reservationRepository, EventPublisherPort eventPublisher) {
+    public PaymentUseCase(PaymentRepository paymentRepository, ReservationRepository reservationRepository,
+                          EventPublisherPort eventPublisher, IndexOccupation indexOccupation) {
         this.paymentRepository = paymentRepository;
         this.reservationRepository = reservationRepository;
         this.eventPublisher = eventPublisher;
+        this.indexOccupation = indexOccupation;
     }
 
     public Payment creerPayment(Payment payment) {
         // Validation : vérifier que la réservation existe
-        reservationRepository.findById(payment.getReservationId())
+        Reservation reservation = reservationRepository.findById(payment.getReservationId())
             .orElseThrow(() -> new EntityNotFoundException("Reservation not found with id: " + payment.getReservationId()));
 
         // Définir le statut initial et la date
@@ -41,7 +46,8 @@ public class PaymentUseCase {
 
         Payment saved = paymentRepository.save(payment);
         eventPublisher.publish(PaymentCreatedEvent.of(
-                saved.getId(), saved.getReservationId(), saved.getAmount(), saved.getPaymentMethod(), saved.getStatus().name()));
+                saved.getId(), saved.getReservationId(), reservation.getChambreId(),
+                saved.getAmount(), saved.getPaymentMethod(), saved.getStatus().name()));
         return saved;
     }
 
@@ -54,16 +60,33 @@ public class PaymentUseCase {
         return paymentRepository.findAll();
     }
 
+    public PageCurseur<Payment> obtenirPagePayments(Long apres, Integer taille) {
+        int tailleEffective = PageCurseur.tailleEffective(taille);
+        return PageCurseur.depuis(paymentRepository.findPage(apres, tailleEffective + 1), tailleEffective, Payment::getId);
+    }
+
     public List<Payment> obtenirPaymentsParReservation(Long reservationId) {
         return paymentRepository.findByReservationId(reservationId);
     }
 
     public Payment modifierPayment(Long id, Payment payment) {
+        Long reservationId = paymentRepository.findReservationIdById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + id));
+
+        // Réservation verrouillée avant toute écriture du paiement : même ordre que
+        // l'expiration (réservation puis paiements), qui saute alors cette réservation
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+            .orElse(null);
+
+        // Paiement relu sous le verrou : l'expiration a pu l'annuler entre-temps
         Payment existing = paymentRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + id));
 
         PaymentStatus oldStatus = existing.getStatus();
-        Long reservationId = existing.getReservationId();
+        if (payment.getStatus() == PaymentStatus.CONFIRMED && oldStatus != PaymentStatus.CONFIRMED
+                && reservation != null && reservation.getStatus() == ReservationStatus.CANCELLED) {
+            throw new IllegalStateException("La reservation " + reservationId + " est annulee, le paiement ne peut plus etre confirme");
+        }
 
         payment.setId(id);
         payment.setReservationId(reservationId);
@@ -78,39 +101,38 @@ public class PaymentUseCase {
 
         // Publier un événement si le statut a changé
         if (!oldStatus.equals(updated.getStatus())) {
+            // La chambre de la réservation sert de clé à l'événement (ordre par chambre)
             eventPublisher.publish(PaymentStatusChangedEvent.of(
-                    updated.getId(), oldStatus.name(), updated.getStatus().name()));
+                    updated.getId(), reservationId, reservation != null ? reservation.getChambreId() : null,
+                    oldStatus.name(), updated.getStatus().name()));
 
             // Si le paiement passe à CONFIRMED, confirmer aussi la réservation
             if (updated.getStatus() == PaymentStatus.CONFIRMED) {
-                confirmReservation(reservationId);
+                confirmReservation(reservation);
             }
 
             // Si le paiement est annulé ou remboursé, annuler la réservation
             if (updated.getStatus() == PaymentStatus.CANCELLED || updated.getStatus() == PaymentStatus.REFUNDED) {
-                cancelReservation(reservationId);
+                cancelReservation(reservation);
             }
         }
 
         return updated;
     }
 
-    private void confirmReservation(Long reservationId) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-            .orElse(null);
+    private void confirmReservation(Reservation reservation) {
         if (reservation != null && reservation.getStatus() == ReservationStatus.PENDING) {
             reservation.setStatus(ReservationStatus.CONFIRMED);
             reservationRepository.save(reservation);
         }
     }
 
-    private void cancelReservation(Long reservationId) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-            .orElse(null);
+    private void cancelReservation(Reservation reservation) {
         if (reservation != null && reservation.getStatus() != ReservationStatus.CANCELLED) {
             reservation.setStatus(ReservationStatus.CANCELLED);
             reservation.setCancelledAt(LocalDateTime.now());
             reservationRepository.save(reservation);
+            indexOccupation.retirer(reservation.getId());
         }
     }
 
@@ -0,0 +1,104 @@
+package bookingengine.usecase.prix;
+
+import bookingengine.domain.events.PrixAggregatedEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Agregation des devis par fenetre de temps, a la place d'un evenement par devis.
+ *
+ * Chaque devis est compte dans un agregat (chambre, tranche de duree de sejour) :
+ * nombre de devis, prix minimum et maximum. fermerFenetre() retire les agregats et
+ * les renvoie sous forme d'evenements. Une fraction des devis (taux d'echantillonnage)
+ * est en plus publiee telle quelle pour garder un signal de demande detaille.
+ */
+public class AgregationDevis {
+
+    public static final double TAUX_ECHANTILLONNAGE_PAR_DEFAUT = 0.01;
+
+    private final double tauxEchantillonnage;
+    private final Map<Cle, Agregat> agregats = new ConcurrentHashMap<>();
+    private volatile Instant debutFenetre = Instant.now();
+
+    public AgregationDevis() {
+        this(TAUX_ECHANTILLONNAGE_PAR_DEFAUT);
+    }
+
+    public AgregationDevis(double tauxEchantillonnage) {
+        if (tauxEchantillonnage < 0 || tauxEchantillonnage > 1) {
+            throw new IllegalArgumentException("Le taux d'échantillonnage doit être compris entre 0 et 1");
+        }
+        this.tauxEchantillonnage = tauxEchantillonnage;
+    }
+
+    /**
+     * Compte le devis dans la fenetre courante ; renvoie true si le devis est tire
+     * pour etre publie individuellement.
+     */
+    public boolean enregistrer(Long chambreId, CalculPrixUseCase.ResultatCalculPrix resultat) {
+        Cle cle = new Cle(chambreId, TrancheSejour.de(resultat.nombreNuits()));
+        // merge est atomique par cle : pas de verrou global sur le chemin du devis
+        agregats.merge(cle, new Agregat(resultat.numeroChambre(), 1, resultat.prixTotal(), resultat.prixTotal()),
+                Agregat::fusionner);
+        return tauxEchantillonnage >= 1 || ThreadLocalRandom.current().nextDouble() < tauxEchantillonnage;
+    }
+
+    public List<PrixAggregatedEvent> fermerFenetre() {
+        Instant fin = Instant.now();
+        Instant debut = debutFenetre;
+        debutFenetre = fin;
+        List<PrixAggregatedEvent> evenements = new ArrayList<>();
+        // Retrait cle par cle : un devis concurrent est compte ici ou dans la fenetre suivante, jamais perdu
+        for (Cle cle : agregats.keySet()) {
+            Agregat agregat = agregats.remove(cle);
+            if (agregat != null) {
+                evenements.add(PrixAggregatedEvent.of(cle.chambreId(), agregat.numeroChambre(),
+                        cle.tranche().libelle(), agregat.nombre(), agregat.prixMin(), agregat.prixMax(), debut, fin));
+            }
+        }
+        return evenements;
+    }
+
+    public enum TrancheSejour {
+        UNE_NUIT("1", 1),
+        DEUX_A_TROIS_NUITS("2-3", 3),
+        QUATRE_A_SEPT_NUITS("4-7", 7),
+        HUIT_A_QUATORZE_NUITS("8-14", 14),
+        QUINZE_NUITS_ET_PLUS("15+", Long.MAX_VALUE);
+
+        private final String libelle;
+        private final long nuitsMax;
+
+        TrancheSejour(String libelle, long nuitsMax) {
+            this.libelle = libelle;
+            this.nuitsMax = nuitsMax;
+        }
+
+        public String libelle() {
+            return libelle;
+        }
+
+        public static TrancheSejour de(long nombreNuits) {
+            for (TrancheSejour tranche : values()) {
+                if (nombreNuits <= tranche.nuitsMax) {
+                    return tranche;
+                }
+            }
+            return QUINZE_NUITS_ET_PLUS;
+        }
+    }
+
+    private record Cle(Long chambreId, TrancheSejour tranche) {}
+
+    private record Agregat(String numeroChambre, long nombre, double prixMin, double prixMax) {
+        Agregat fusionner(Agregat autre) {
+            return new Agregat(numeroChambre, nombre + autre.nombre,
+                    Math.min(prixMin, autre.prixMin), Math.max(prixMax, autre.prixMax));
+        }
+    }
+}
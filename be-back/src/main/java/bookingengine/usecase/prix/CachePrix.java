@@ -0,0 +1,128 @@
+package bookingengine.usecase.prix;
+
+import bookingengine.domain.ports.AfterCommitPort;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache LRU borne des devis, cle (chambreId, dateDebut, dateFin).
+ *
+ * L'invalidation est ciblee : une chambre dont le prix change n'evince que ses
+ * propres devis, une saison modifiee n'evince que les sejours qui la chevauchent.
+ * Chaque invalidation incremente une generation ; un devis calcule avant une
+ * invalidation n'est pas mis en cache (il a pu lire l'ancien tarif).
+ *
+ * Les invalidations ne s'appliquent qu'au commit de l'ecriture (AfterCommitPort) :
+ * un devis calcule entre-temps lit encore l'ancien tarif, il est alors evince ou
+ * refuse par la generation au lieu de rester en cache.
+ */
+public class CachePrix {
+
+    public static final int CAPACITE_PAR_DEFAUT = 10_000;
+
+    private final int capacite;
+    private final AfterCommitPort afterCommit;
+    private final LinkedHashMap<Cle, CalculPrixUseCase.ResultatCalculPrix> entrees;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CachePrix() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    // Sans transaction : chaque invalidation s'applique immediatement
+    public CachePrix(int capacite) {
+        this(capacite, Runnable::run);
+    }
+
+    public CachePrix(int capacite, AfterCommitPort afterCommit) {
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité du cache doit être positive");
+        }
+        this.capacite = capacite;
+        this.afterCommit = afterCommit;
+        this.entrees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cle, CalculPrixUseCase.ResultatCalculPrix> eldest) {
+                if (size() > CachePrix.this.capacite) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Un devis en cache sans detail par nuit ne satisfait pas une demande detaillee.
+     */
+    public synchronized Optional<CalculPrixUseCase.ResultatCalculPrix> obtenir(Cle cle, boolean avecDetails) {
+        CalculPrixUseCase.ResultatCalculPrix resultat = entrees.get(cle);
+        if (resultat == null || (avecDetails && resultat.detailsParJour().isEmpty())) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(resultat);
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void enregistrer(Cle cle, CalculPrixUseCase.ResultatCalculPrix resultat, long generationLue) {
+        if (generationLue != generation) {
+            return;
+        }
+        CalculPrixUseCase.ResultatCalculPrix existant = entrees.get(cle);
+        if (existant != null && !existant.detailsParJour().isEmpty() && resultat.detailsParJour().isEmpty()) {
+            return;
+        }
+        entrees.put(cle, resultat);
+    }
+
+    public void invaliderChambre(Long chambreId) {
+        afterCommit.executer(() -> invaliderChambreValidee(chambreId));
+    }
+
+    private synchronized void invaliderChambreValidee(Long chambreId) {
+        generation++;
+        entrees.keySet().removeIf(cle -> cle.chambreId().equals(chambreId));
+    }
+
+    /**
+     * Evince les sejours dont au moins une nuit tombe dans [debut, fin] (bornes incluses,
+     * comme les dates de saison).
+     */
+    public void invaliderPeriode(LocalDate debut, LocalDate fin) {
+        afterCommit.executer(() -> invaliderPeriodeValidee(debut, fin));
+    }
+
+    private synchronized void invaliderPeriodeValidee(LocalDate debut, LocalDate fin) {
+        generation++;
+        entrees.keySet().removeIf(cle -> !cle.dateDebut().isAfter(fin) && cle.dateFin().isAfter(debut));
+    }
+
+    public synchronized void vider() {
+        generation++;
+        entrees.clear();
+    }
+
+    public synchronized Statistiques statistiques() {
+        return new Statistiques(hits, misses, evictions, entrees.size(), capacite);
+    }
+
+    public record Cle(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {}
+
+    public record Statistiques(long hits, long misses, long evictions, int taille, int capacite) {
+        public double tauxSucces() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
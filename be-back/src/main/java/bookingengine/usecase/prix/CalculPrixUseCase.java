@@ -2,27 +2,43 @@ package bookingengine.usecase.prix;
 
 import bookingengine.domain.entities.Chambre;
 import bookingengine.domain.entities.Saison;
+import bookingengine.domain.events.PrixAggregatedEvent;
 import bookingengine.domain.events.PrixCalculatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.ports.MetriquesPort;
 import bookingengine.domain.repositories.ChambreRepository;
-import bookingengine.domain.repositories.SaisonRepository;
+import bookingengine.usecase.saison.CalendrierSaisons;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class CalculPrixUseCase {
 
+    public static final int TAILLE_MAX_LOT = 100;
+
     private final ChambreRepository chambreRepository;
-    private final SaisonRepository saisonRepository;
+    private final CalendrierSaisons calendrierSaisons;
+    private final CachePrix cachePrix;
     private final EventPublisherPort eventPublisher;
+    private final AgregationDevis agregationDevis;
+    private final MetriquesPort metriques;
 
-    public CalculPrixUseCase(ChambreRepository chambreRepository, SaisonRepository saisonRepository, EventPublisherPort eventPublisher) {
+    public CalculPrixUseCase(ChambreRepository chambreRepository, CalendrierSaisons calendrierSaisons,
+                             CachePrix cachePrix, EventPublisherPort eventPublisher, AgregationDevis agregationDevis,
+                             MetriquesPort metriques) {
         this.chambreRepository = chambreRepository;
-        this.saisonRepository = saisonRepository;
+        this.calendrierSaisons = calendrierSaisons;
+        this.cachePrix = cachePrix;
         this.eventPublisher = eventPublisher;
+        this.agregationDevis = agregationDevis;
+        this.metriques = metriques;
     }
 
     public double calculerPrix(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
@@ -34,28 +50,113 @@ public class CalculPrixUseCase {
             throw new IllegalArgumentException("La date de fin doit être après la date de début");
         }
 
-        double prixTotal = 0;
-        LocalDate dateActuelle = dateDebut;
+        double prixTotal = chambre.getPrixBase() * calendrierSaisons.sommeCoefficients(dateDebut, dateFin);
+        metriques.enregistrerNuitsDevis(nombreNuits);
+        return Math.round(prixTotal * 100.0) / 100.0;
+    }
+
+    public ResultatCalculPrix calculerPrixDetaille(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        return calculerPrixDetaille(chambreId, dateDebut, dateFin, true);
+    }
 
-        while (dateActuelle.isBefore(dateFin)) {
-            double prixNuit = chambre.getPrixBase();
+    /**
+     * Sans detail par nuit, le total vient directement des coefficients cumules
+     * du calendrier ; la boucle jour par jour n'est faite que si le detail est demande.
+     * Un devis deja present dans le cache est renvoye sans relire la chambre.
+     */
+    public ResultatCalculPrix calculerPrixDetaille(Long chambreId, LocalDate dateDebut, LocalDate dateFin, boolean avecDetails) {
+        CachePrix.Cle cle = new CachePrix.Cle(chambreId, dateDebut, dateFin);
+        ResultatCalculPrix enCache = cachePrix.obtenir(cle, avecDetails).orElse(null);
+        if (enCache != null) {
+            publier(chambreId, enCache);
+            return avecDetails ? enCache : sansDetails(enCache);
+        }
 
-            Saison saison = saisonRepository.findByDate(dateActuelle).orElse(null);
-            if (saison != null) {
-                prixNuit *= saison.getCoefficientPrix();
+        long generation = cachePrix.generation();
+        Chambre chambre = chambreRepository.findById(chambreId)
+                .orElseThrow(() -> new EntityNotFoundException("Chambre non trouvée avec l'id: " + chambreId));
+        ResultatCalculPrix resultat = calculer(chambre, dateDebut, dateFin, avecDetails);
+        cachePrix.enregistrer(cle, resultat, generation);
+        publier(chambreId, resultat);
+        return resultat;
+    }
+
+    /**
+     * Calcule un lot de devis : toutes les chambres sont chargees en une requete
+     * et les saisons viennent du calendrier partage. Les devis deja en cache ne
+     * declenchent aucune lecture. Une demande en erreur (chambre inconnue, dates
+     * invalides) n'interrompt pas le reste du lot.
+     */
+    public List<ResultatLot> calculerPrixLot(List<DemandePrix> demandes, boolean avecDetails) {
+        if (demandes == null || demandes.isEmpty()) {
+            throw new IllegalArgumentException("Le lot de demandes ne peut pas être vide");
+        }
+        if (demandes.size() > TAILLE_MAX_LOT) {
+            throw new IllegalArgumentException("Le lot ne peut pas dépasser " + TAILLE_MAX_LOT + " demandes");
+        }
+
+        long generation = cachePrix.generation();
+        Map<DemandePrix, ResultatCalculPrix> enCache = new HashMap<>();
+        Set<Long> chambreIds = new HashSet<>();
+        for (DemandePrix demande : demandes) {
+            if (demande.chambreId() == null) {
+                continue;
+            }
+            cachePrix.obtenir(cleDe(demande), avecDetails).ifPresentOrElse(
+                    resultat -> enCache.put(demande, resultat),
+                    () -> chambreIds.add(demande.chambreId()));
+        }
+        Map<Long, Chambre> chambres = new HashMap<>();
+        if (!chambreIds.isEmpty()) {
+            for (Chambre chambre : chambreRepository.findAllById(chambreIds)) {
+                chambres.put(chambre.getId(), chambre);
             }
+        }
 
-            prixTotal += prixNuit;
-            dateActuelle = dateActuelle.plusDays(1);
+        List<ResultatLot> resultats = new ArrayList<>(demandes.size());
+        for (DemandePrix demande : demandes) {
+            ResultatCalculPrix resultatEnCache = enCache.get(demande);
+            if (resultatEnCache != null) {
+                publier(demande.chambreId(), resultatEnCache);
+                resultats.add(ResultatLot.succes(demande, avecDetails ? resultatEnCache : sansDetails(resultatEnCache)));
+                continue;
+            }
+            Chambre chambre = chambres.get(demande.chambreId());
+            if (chambre == null) {
+                resultats.add(ResultatLot.erreur(demande, "Chambre non trouvée avec l'id: " + demande.chambreId()));
+                continue;
+            }
+            if (demande.dateDebut() == null || demande.dateFin() == null) {
+                resultats.add(ResultatLot.erreur(demande, "Les dates de début et de fin sont obligatoires"));
+                continue;
+            }
+            try {
+                ResultatCalculPrix resultat = calculer(chambre, demande.dateDebut(), demande.dateFin(), avecDetails);
+                cachePrix.enregistrer(cleDe(demande), resultat, generation);
+                publier(demande.chambreId(), resultat);
+                resultats.add(ResultatLot.succes(demande, resultat));
+            } catch (IllegalArgumentException e) {
+                resultats.add(ResultatLot.erreur(demande, e.getMessage()));
+            }
         }
+        return resultats;
+    }
 
-        return Math.round(prixTotal * 100.0) / 100.0;
+    public CachePrix.Statistiques statistiquesCache() {
+        return cachePrix.statistiques();
     }
 
-    public ResultatCalculPrix calculerPrixDetaille(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
-        Chambre chambre = chambreRepository.findById(chambreId)
-                .orElseThrow(() -> new EntityNotFoundException("Chambre non trouvée avec l'id: " + chambreId));
+    /**
+     * Ferme la fenetre d'agregation des devis et publie un resume par chambre et
+     * tranche de duree de sejour. Appele periodiquement.
+     */
+    public int publierDevisAgreges() {
+        List<PrixAggregatedEvent> resumes = agregationDevis.fermerFenetre();
+        resumes.forEach(eventPublisher::publish);
+        return resumes.size();
+    }
 
+    private ResultatCalculPrix calculer(Chambre chambre, LocalDate dateDebut, LocalDate dateFin, boolean avecDetails) {
         long nombreNuits = ChronoUnit.DAYS.between(dateDebut, dateFin);
         if (nombreNuits <= 0) {
             throw new IllegalArgumentException("La date de fin doit être après la date de début");
@@ -64,40 +165,41 @@ public class CalculPrixUseCase {
         List<DetailJour> detailsParJour = new ArrayList<>();
         double prixTotal = 0;
         double sommeCoefficients = 0;
-        LocalDate dateActuelle = dateDebut;
-
-        while (dateActuelle.isBefore(dateFin)) {
-            double prixNuit = chambre.getPrixBase();
-            double coefficient = 1.0;
-            String nomSaison = "Hors saison";
-
-            Saison saison = saisonRepository.findByDate(dateActuelle).orElse(null);
-            if (saison != null) {
-                coefficient = saison.getCoefficientPrix();
-                nomSaison = saison.getNom();
-                prixNuit *= coefficient;
-            }
 
-            detailsParJour.add(new DetailJour(
-                    dateActuelle,
-                    nomSaison,
-                    coefficient,
-                    Math.round(prixNuit * 100.0) / 100.0
-            ));
+        if (avecDetails) {
+            LocalDate dateActuelle = dateDebut;
+
+            while (dateActuelle.isBefore(dateFin)) {
+                double prixNuit = chambre.getPrixBase();
+                double coefficient = 1.0;
+                String nomSaison = "Hors saison";
+
+                Saison saison = calendrierSaisons.saisonPour(dateActuelle).orElse(null);
+                if (saison != null) {
+                    coefficient = saison.getCoefficientPrix();
+                    nomSaison = saison.getNom();
+                    prixNuit *= coefficient;
+                }
 
-            prixTotal += prixNuit;
-            sommeCoefficients += coefficient;
-            dateActuelle = dateActuelle.plusDays(1);
+                detailsParJour.add(new DetailJour(
+                        dateActuelle,
+                        nomSaison,
+                        coefficient,
+                        Math.round(prixNuit * 100.0) / 100.0
+                ));
+
+                prixTotal += prixNuit;
+                sommeCoefficients += coefficient;
+                dateActuelle = dateActuelle.plusDays(1);
+            }
+        } else {
+            sommeCoefficients = calendrierSaisons.sommeCoefficients(dateDebut, dateFin);
+            prixTotal = chambre.getPrixBase() * sommeCoefficients;
         }
 
         double coefficientMoyen = Math.round((sommeCoefficients / nombreNuits) * 100.0) / 100.0;
         prixTotal = Math.round(prixTotal * 100.0) / 100.0;
 
-        // Publier l'événement Kafka
-        eventPublisher.publish(PrixCalculatedEvent.of(
-                chambreId, chambre.getNumero(), chambre.getType(),
-                dateDebut, dateFin, nombreNuits, prixTotal));
-
         return new ResultatCalculPrix(
                 chambre.getNumero(),
                 chambre.getType(),
@@ -107,10 +209,34 @@ public class CalculPrixUseCase {
                 chambre.getPrixBase(),
                 coefficientMoyen,
                 prixTotal,
-                detailsParJour
+                List.copyOf(detailsParJour)
         );
     }
 
+    // Compter le devis, y compris servi par le cache ; seul un échantillon part tel quel sur Kafka
+    private void publier(Long chambreId, ResultatCalculPrix resultat) {
+        metriques.enregistrerNuitsDevis(resultat.nombreNuits());
+        if (!agregationDevis.enregistrer(chambreId, resultat)) {
+            return;
+        }
+        eventPublisher.publish(PrixCalculatedEvent.of(
+                chambreId, resultat.numeroChambre(), resultat.typeChambre(),
+                resultat.dateDebut(), resultat.dateFin(), resultat.nombreNuits(), resultat.prixTotal()));
+    }
+
+    private static CachePrix.Cle cleDe(DemandePrix demande) {
+        return new CachePrix.Cle(demande.chambreId(), demande.dateDebut(), demande.dateFin());
+    }
+
+    private static ResultatCalculPrix sansDetails(ResultatCalculPrix resultat) {
+        if (resultat.detailsParJour().isEmpty()) {
+            return resultat;
+        }
+        return new ResultatCalculPrix(resultat.numeroChambre(), resultat.typeChambre(), resultat.dateDebut(),
+                resultat.dateFin(), resultat.nombreNuits(), resultat.prixBaseParNuit(),
+                resultat.coefficientSaisonnier(), resultat.prixTotal(), List.of());
+    }
+
     public record DetailJour(
             LocalDate date,
             String saison,
@@ -129,4 +255,26 @@ public class CalculPrixUseCase {
             double prixTotal,
             List<DetailJour> detailsParJour
     ) {}
+
+    public record DemandePrix(
+            Long chambreId,
+            LocalDate dateDebut,
+            LocalDate dateFin
+    ) {}
+
+    public record ResultatLot(
+            Long chambreId,
+            LocalDate dateDebut,
+            LocalDate dateFin,
+            ResultatCalculPrix resultat,
+            String erreur
+    ) {
+        static ResultatLot succes(DemandePrix demande, ResultatCalculPrix resultat) {
+            return new ResultatLot(demande.chambreId(), demande.dateDebut(), demande.dateFin(), resultat, null);
+        }
+
+        static ResultatLot erreur(DemandePrix demande, String erreur) {
+            return new ResultatLot(demande.chambreId(), demande.dateDebut(), demande.dateFin(), null, erreur);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package bookingengine.usecase.reservation;
+
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.repositories.PaymentRepository;
+import bookingengine.domain.repositories.ReservationRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Expiration des reservations dont le paiement n'est jamais arrive : une reservation
+ * PENDING plus ancienne que le delai est annulee avec son paiement en attente, et ses
+ * nuits redeviennent disponibles.
+ *
+ * Chaque appel traite un lot borne en deux UPDATE ensemblistes, dans une transaction
+ * courte : les lignes ne restent verrouillees que le temps d'un lot.
+ */
+public class ExpirationReservationsUseCase {
+
+    public static final String MOTIF_EXPIRATION = "Paiement non reçu dans le délai";
+
+    private final ReservationRepository reservationRepository;
+    private final PaymentRepository paymentRepository;
+    private final EventPublisherPort eventPublisher;
+    private final IndexOccupation indexOccupation;
+
+    public ExpirationReservationsUseCase(ReservationRepository reservationRepository,
+                                         PaymentRepository paymentRepository,
+                                         EventPublisherPort eventPublisher,
+                                         IndexOccupation indexOccupation) {
+        this.reservationRepository = reservationRepository;
+        this.paymentRepository = paymentRepository;
+        this.eventPublisher = eventPublisher;
+        this.indexOccupation = indexOccupation;
+    }
+
+    /**
+     * Annule au plus tailleLot reservations PENDING creees il y a plus de delai et
+     * renvoie le nombre de reservations annulees (moins que tailleLot : plus rien a expirer).
+     */
+    public int annulerReservationsExpirees(Duration delai, int tailleLot) {
+        if (delai.isNegative() || delai.isZero()) {
+            throw new IllegalArgumentException("Le délai d'expiration doit être positif");
+        }
+        if (tailleLot <= 0) {
+            throw new IllegalArgumentException("La taille de lot doit être positive");
+        }
+
+        LocalDateTime maintenant = LocalDateTime.now();
+        List<Reservation> expirees = reservationRepository.findPendingCreatedBeforeForUpdate(
+                maintenant.minus(delai), tailleLot);
+        if (expirees.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = expirees.stream().map(Reservation::getId).toList();
+        reservationRepository.cancelAll(ids, maintenant);
+        paymentRepository.cancelPendingByReservationIds(ids);
+        for (Reservation reservation : expirees) {
+            indexOccupation.retirer(reservation.getId());
+            eventPublisher.publish(ReservationCancelledEvent.of(
+                    reservation.getId(), reservation.getChambreId(), MOTIF_EXPIRATION));
+        }
+        return expirees.size();
+    }
+}
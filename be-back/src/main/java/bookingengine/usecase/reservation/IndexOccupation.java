@@ -0,0 +1,265 @@
+package bookingengine.usecase.reservation;
+
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.ports.AfterCommitPort;
+import bookingengine.domain.repositories.ReservationRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en memoire des nuits occupees, un bitmap par chambre.
+ *
+ * Le bit i d'une chambre represente la nuit origine + i, l'origine etant la
+ * premiere nuit reservee de la chambre : le bitmap ne couvre que l'intervalle
+ * reellement occupe. Les reservations non annulees sont chargees une seule fois
+ * depuis le repository ; ReservationUseCase et PaymentUseCase tiennent ensuite
+ * l'index a jour. Un sejour compte au moins une nuit, comme pour le paiement.
+ *
+ * enregistrer() et retirer() ne s'appliquent qu'au commit de la transaction en
+ * cours (AfterCommitPort) : une ecriture annulee ne laisse ni nuit fantome ni nuit
+ * liberee a tort. Entre l'ecriture et le commit, la contrainte d'exclusion en base
+ * reste l'arbitre des reservations concurrentes.
+ *
+ * L'index est propre a une instance de l'application : les ecritures faites
+ * directement en base ou par un autre noeud ne sont vues qu'apres recharger().
+ * Quand plusieurs instances ecrivent (verrou postgres), il est cree en lecture
+ * en base : chaque question part en requete et rien n'est garde en memoire.
+ */
+public class IndexOccupation {
+
+    private final ReservationRepository reservationRepository;
+    private final AfterCommitPort afterCommit;
+    private final boolean lectureEnBase;
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    // null tant que l'index n'a pas ete charge
+    private Map<Long, OccupationChambre> occupations;
+    private Map<Long, Long> chambreParReservation;
+
+    // Sans transaction : chaque modification s'applique immediatement
+    public IndexOccupation(ReservationRepository reservationRepository) {
+        this(reservationRepository, Runnable::run);
+    }
+
+    public IndexOccupation(ReservationRepository reservationRepository, AfterCommitPort afterCommit) {
+        this(reservationRepository, afterCommit, false);
+    }
+
+    /**
+     * lectureEnBase : l'occupation est lue en base a chaque appel, pour un
+     * deploiement a plusieurs instances ou un noeud ne voit pas les ecritures
+     * des autres (reservations, expiration).
+     */
+    public IndexOccupation(ReservationRepository reservationRepository, AfterCommitPort afterCommit,
+                           boolean lectureEnBase) {
+        this.reservationRepository = reservationRepository;
+        this.afterCommit = afterCommit;
+        this.lectureEnBase = lectureEnBase;
+    }
+
+    public boolean estLibre(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        if (lectureEnBase) {
+            return reservationRepository.findConflictingReservations(
+                    chambreId, dateDebut, finEffective(dateDebut, dateFin)).isEmpty();
+        }
+        charger();
+        verrou.readLock().lock();
+        try {
+            OccupationChambre occupation = occupations.get(chambreId);
+            return occupation == null || occupation.estLibre(dateDebut, dateFin);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Garde, parmi les chambres candidates, celles dont aucune nuit de la periode
+     * n'est occupee.
+     */
+    public List<Long> filtrerLibres(Collection<Long> chambreIds, LocalDate dateDebut, LocalDate dateFin) {
+        if (lectureEnBase) {
+            if (chambreIds.isEmpty()) {
+                return List.of();
+            }
+            Set<Long> occupees = new HashSet<>(reservationRepository.findOccupiedChambreIds(
+                    chambreIds, dateDebut, finEffective(dateDebut, dateFin)));
+            return chambreIds.stream().filter(id -> !occupees.contains(id)).toList();
+        }
+        charger();
+        verrou.readLock().lock();
+        try {
+            return chambreIds.stream()
+                    .filter(id -> {
+                        OccupationChambre occupation = occupations.get(id);
+                        return occupation == null || occupation.estLibre(dateDebut, dateFin);
+                    })
+                    .toList();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prend en compte une reservation creee ou modifiee : elle est retiree de son
+     * ancienne chambre puis ajoutee a la nouvelle, sauf si elle est annulee.
+     */
+    public void enregistrer(Reservation reservation) {
+        if (lectureEnBase) {
+            return;
+        }
+        afterCommit.executer(() -> enregistrerValidee(reservation));
+    }
+
+    public void retirer(Long reservationId) {
+        if (lectureEnBase) {
+            return;
+        }
+        afterCommit.executer(() -> retirerValidee(reservationId));
+    }
+
+    private void enregistrerValidee(Reservation reservation) {
+        verrou.writeLock().lock();
+        try {
+            if (occupations == null) {
+                return;
+            }
+            retirerSansVerrou(reservation.getId());
+            if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+                ajouterSansVerrou(reservation);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void retirerValidee(Long reservationId) {
+        verrou.writeLock().lock();
+        try {
+            if (occupations == null) {
+                return;
+            }
+            retirerSansVerrou(reservationId);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void recharger() {
+        if (lectureEnBase) {
+            return;
+        }
+        verrou.writeLock().lock();
+        try {
+            occupations = new HashMap<>();
+            chambreParReservation = new HashMap<>();
+            for (Reservation reservation : reservationRepository.findActiveReservations()) {
+                ajouterSansVerrou(reservation);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void charger() {
+        verrou.readLock().lock();
+        try {
+            if (occupations != null) {
+                return;
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+        verrou.writeLock().lock();
+        try {
+            if (occupations == null) {
+                recharger();
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void ajouterSansVerrou(Reservation reservation) {
+        occupations.computeIfAbsent(reservation.getChambreId(), id -> new OccupationChambre())
+                .ajouter(reservation.getId(), reservation.getDateDebut(), reservation.getDateFin());
+        chambreParReservation.put(reservation.getId(), reservation.getChambreId());
+    }
+
+    private void retirerSansVerrou(Long reservationId) {
+        Long chambreId = chambreParReservation.remove(reservationId);
+        if (chambreId == null) {
+            return;
+        }
+        OccupationChambre occupation = occupations.get(chambreId);
+        occupation.retirer(reservationId);
+        if (occupation.estVide()) {
+            occupations.remove(chambreId);
+        }
+    }
+
+    private static LocalDate finEffective(LocalDate dateDebut, LocalDate dateFin) {
+        return dateFin.isAfter(dateDebut) ? dateFin : dateDebut.plusDays(1);
+    }
+
+    private record Sejour(LocalDate dateDebut, LocalDate dateFin) {}
+
+    private static final class OccupationChambre {
+
+        private final Map<Long, Sejour> sejours = new HashMap<>();
+        private LocalDate origine;
+        private BitSet nuits = new BitSet();
+
+        boolean estLibre(LocalDate dateDebut, LocalDate dateFin) {
+            long debut = ChronoUnit.DAYS.between(origine, dateDebut);
+            long fin = ChronoUnit.DAYS.between(origine, finEffective(dateDebut, dateFin));
+            if (fin <= 0 || debut >= nuits.length()) {
+                return true;
+            }
+            int premiereOccupee = nuits.nextSetBit((int) Math.max(debut, 0));
+            return premiereOccupee < 0 || premiereOccupee >= fin;
+        }
+
+        void ajouter(Long reservationId, LocalDate dateDebut, LocalDate dateFin) {
+            Sejour sejour = new Sejour(dateDebut, finEffective(dateDebut, dateFin));
+            sejours.put(reservationId, sejour);
+            if (origine == null || sejour.dateDebut().isBefore(origine)) {
+                reconstruire();
+            } else {
+                marquer(sejour);
+            }
+        }
+
+        void retirer(Long reservationId) {
+            // Les sejours peuvent se chevaucher (donnees anterieures) : on reconstruit
+            if (sejours.remove(reservationId) != null) {
+                reconstruire();
+            }
+        }
+
+        boolean estVide() {
+            return sejours.isEmpty();
+        }
+
+        private void reconstruire() {
+            origine = sejours.values().stream().map(Sejour::dateDebut).min(LocalDate::compareTo).orElse(null);
+            nuits = new BitSet();
+            sejours.values().forEach(this::marquer);
+        }
+
+        private void marquer(Sejour sejour) {
+            nuits.set((int) ChronoUnit.DAYS.between(origine, sejour.dateDebut()),
+                    (int) ChronoUnit.DAYS.between(origine, sejour.dateFin()));
+        }
+    }
+}
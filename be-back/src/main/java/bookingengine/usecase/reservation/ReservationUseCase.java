@@ -8,32 +8,47 @@ import bookingengine.domain.entities.ReservationStatus;
 import bookingengine.domain.events.ReservationCreatedEvent;
 import bookingengine.domain.events.ReservationCancelledEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
+import bookingengine.domain.exceptions.ReservationConflictException;
+import bookingengine.domain.ports.ChambreLockPort;
 import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.ports.MetriquesPort;
 import bookingengine.domain.repositories.ChambreRepository;
-import bookingengine.domain.repositories.PaymentRepository;
 import bookingengine.domain.repositories.ReservationRepository;
+import bookingengine.usecase.pagination.PageCurseur;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ReservationUseCase {
 
     private final ReservationRepository reservationRepository;
     private final ChambreRepository chambreRepository;
-    private final PaymentRepository paymentRepository;
     private final EventPublisherPort eventPublisher;
+    private final IndexOccupation indexOccupation;
+    private final ChambreLockPort chambreLock;
+    private final MetriquesPort metriques;
 
     public ReservationUseCase(ReservationRepository reservationRepository,
                               ChambreRepository chambreRepository,
-                              PaymentRepository paymentRepository,
-                              EventPublisherPort eventPublisher) {
+                              EventPublisherPort eventPublisher,
+                              IndexOccupation indexOccupation,
+                              ChambreLockPort chambreLock,
+                              MetriquesPort metriques) {
         this.reservationRepository = reservationRepository;
         this.chambreRepository = chambreRepository;
-        this.paymentRepository = paymentRepository;
         this.eventPublisher = eventPublisher;
+        this.indexOccupation = indexOccupation;
+        this.chambreLock = chambreLock;
+        this.metriques = metriques;
     }
 
     public Reservation creerReservation(Reservation reservation) {
@@ -46,6 +61,13 @@ public class ReservationUseCase {
             throw new IllegalArgumentException("La date de debut doit etre avant la date de fin");
         }
 
+        // Contrôle puis insertion sous le verrou de la chambre : seules les
+        // réservations d'une même chambre s'attendent
+        return chambreLock.withLock(reservation.getChambreId(),
+                () -> creerReservationVerrouillee(reservation, paymentMethod));
+    }
+
+    private Reservation creerReservationVerrouillee(Reservation reservation, String paymentMethod) {
         // Vérifier que la chambre existe et est à la vente
         Chambre chambre = chambreRepository.findById(reservation.getChambreId())
                 .orElseThrow(() -> new EntityNotFoundException("Chambre not found with id: " + reservation.getChambreId()));
@@ -54,11 +76,13 @@ public class ReservationUseCase {
             throw new IllegalStateException("Cette chambre n'est pas disponible a la reservation (hors service)");
         }
 
-        // Vérifier qu'il n'y a pas de conflits de dates avec d'autres réservations
-        List<Reservation> conflits = reservationRepository.findConflictingReservations(
-                reservation.getChambreId(), reservation.getDateDebut(), reservation.getDateFin());
-        if (!conflits.isEmpty()) {
-            throw new IllegalStateException("La chambre est deja reservee pour les dates selectionnees");
+        // Pré-contrôle en mémoire ; la contrainte d'exclusion en base tranche les
+        // réservations concurrentes (ReservationConflictException à l'insertion).
+        // L'index dit seulement si la période est prise : 0 ou 1 conflit compté
+        boolean libre = indexOccupation.estLibre(reservation.getChambreId(), reservation.getDateDebut(), reservation.getDateFin());
+        metriques.enregistrerConflits(libre ? 0 : 1);
+        if (!libre) {
+            throw new ReservationConflictException("La chambre est deja reservee pour les dates selectionnees");
         }
 
         // Définir les valeurs par défaut
@@ -69,18 +93,19 @@ public class ReservationUseCase {
             reservation.setCreatedAt(LocalDateTime.now());
         }
 
-        Reservation saved = reservationRepository.save(reservation);
+        // Réservation et paiement en attente écrits ensemble : un seul envoi des deux
+        // INSERT, dans la transaction de la réservation
+        Reservation saved = reservationRepository.saveWithPayment(reservation,
+                paymentForReservation(reservation, chambre, paymentMethod));
+        indexOccupation.enregistrer(saved);
         eventPublisher.publish(ReservationCreatedEvent.of(
                 saved.getId(), saved.getChambreId(), saved.getUtilisateurId(),
                 saved.getDateDebut(), saved.getDateFin(), saved.getStatus().name()));
 
-        // Créer automatiquement un paiement en attente pour la réservation
-        createPaymentForReservation(saved, chambre, paymentMethod);
-
         return saved;
     }
 
-    private void createPaymentForReservation(Reservation reservation, Chambre chambre, String paymentMethod) {
+    private Payment paymentForReservation(Reservation reservation, Chambre chambre, String paymentMethod) {
         // Calculer le nombre de nuits
         long nombreNuits = ChronoUnit.DAYS.between(reservation.getDateDebut(), reservation.getDateFin());
         if (nombreNuits <= 0) {
@@ -91,15 +116,13 @@ public class ReservationUseCase {
         BigDecimal montantTotal = BigDecimal.valueOf(chambre.getPrixBase())
                 .multiply(BigDecimal.valueOf(nombreNuits));
 
-        // Créer le paiement
+        // Créer le paiement (l'id de la réservation est attribué à l'écriture)
         Payment payment = new Payment();
-        payment.setReservationId(reservation.getId());
         payment.setAmount(montantTotal);
         payment.setPaymentMethod(paymentMethod != null ? paymentMethod : "NON_DEFINI");
         payment.setStatus(PaymentStatus.PENDING);
         payment.setPaymentDate(LocalDateTime.now());
-
-        paymentRepository.save(payment);
+        return payment;
     }
 
     public Reservation obtenirReservationParId(Long id) {
@@ -123,8 +146,46 @@ public class ReservationUseCase {
         return reservationRepository.findByUtilisateurId(utilisateurId);
     }
 
+    // Pages lues taille + 1 par taille + 1 : la ligne en trop signale une page suivante
+    public PageCurseur<Reservation> obtenirPageReservations(Long apres, Integer taille) {
+        int tailleEffective = PageCurseur.tailleEffective(taille);
+        return page(reservationRepository.findPage(apres, tailleEffective + 1), tailleEffective);
+    }
+
+    public PageCurseur<Reservation> obtenirPageReservationsParStatut(ReservationStatus status, Long apres, Integer taille) {
+        int tailleEffective = PageCurseur.tailleEffective(taille);
+        return page(reservationRepository.findPageByStatus(status, apres, tailleEffective + 1), tailleEffective);
+    }
+
+    public PageCurseur<Reservation> obtenirPageReservationsParChambre(Long chambreId, Long apres, Integer taille) {
+        int tailleEffective = PageCurseur.tailleEffective(taille);
+        return page(reservationRepository.findPageByChambreId(chambreId, apres, tailleEffective + 1), tailleEffective);
+    }
+
+    public PageCurseur<Reservation> obtenirPageReservationsParUtilisateur(Long utilisateurId, Long apres, Integer taille) {
+        int tailleEffective = PageCurseur.tailleEffective(taille);
+        return page(reservationRepository.findPageByUtilisateurId(utilisateurId, apres, tailleEffective + 1), tailleEffective);
+    }
+
+    /**
+     * Transmet au consommateur, une par une et par id croissant, les reservations
+     * correspondant aux filtres (tous optionnels) : la periode retient les sejours
+     * qui chevauchent [du, au]. Rien n'est accumule en memoire.
+     */
+    public void exporterReservations(ReservationStatus status, LocalDate du, LocalDate au,
+                                     Consumer<Reservation> consommateur) {
+        if (du != null && au != null && du.isAfter(au)) {
+            throw new IllegalArgumentException("La date de début doit être avant ou égale à la date de fin");
+        }
+        reservationRepository.forEachForExport(status, du, au, consommateur);
+    }
+
+    private static PageCurseur<Reservation> page(List<Reservation> lignes, int taille) {
+        return PageCurseur.depuis(lignes, taille, Reservation::getId);
+    }
+
     public Reservation modifierReservation(Long id, Reservation reservation) {
-        Reservation existing = reservationRepository.findById(id)
+        Reservation courante = reservationRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Reservation not found with id: " + id));
 
         // Validation des dates
@@ -132,6 +193,18 @@ public class ReservationUseCase {
             throw new IllegalArgumentException("La date de debut doit etre avant la date de fin");
         }
 
+        // Verrouiller l'ancienne et la nouvelle chambre, puis relire sous verrou ;
+        // une seule chambre quand la reservation reste dans la meme
+        Set<Long> chambreIds = Stream.of(courante.getChambreId(), reservation.getChambreId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        return chambreLock.withLocks(chambreIds, () -> modifierReservationVerrouillee(id, reservation));
+    }
+
+    private Reservation modifierReservationVerrouillee(Long id, Reservation reservation) {
+        Reservation existing = reservationRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Reservation not found with id: " + id));
+
         // Vérifier la disponibilité si les dates ou la chambre changent
         boolean datesChanged = !reservation.getDateDebut().equals(existing.getDateDebut())
                 || !reservation.getDateFin().equals(existing.getDateFin());
@@ -143,8 +216,9 @@ public class ReservationUseCase {
                     .stream()
                     .filter(r -> !r.getId().equals(id)) // Exclure la réservation actuelle
                     .toList();
+            metriques.enregistrerConflits(conflits.size());
             if (!conflits.isEmpty()) {
-                throw new IllegalStateException("La chambre n'est pas disponible pour les dates selectionnees");
+                throw new ReservationConflictException("La chambre n'est pas disponible pour les dates selectionnees");
             }
         }
 
@@ -157,7 +231,9 @@ public class ReservationUseCase {
             reservation.setCancelledAt(LocalDateTime.now());
         }
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        indexOccupation.enregistrer(saved);
+        return saved;
     }
 
     public void supprimerReservation(Long id) {
@@ -170,10 +246,11 @@ public class ReservationUseCase {
         
         // Publier un événement d'annulation avant suppression
         if (reservation.getStatus() != ReservationStatus.CANCELLED) {
-            eventPublisher.publish(ReservationCancelledEvent.of(id, "Deletion"));
+            eventPublisher.publish(ReservationCancelledEvent.of(id, reservation.getChambreId(), "Deletion"));
         }
         
         reservationRepository.deleteById(id);
+        indexOccupation.retirer(id);
     }
 
     public void annulerReservation(Long id, String reason) {
@@ -184,18 +261,22 @@ public class ReservationUseCase {
         reservation.setCancelledAt(LocalDateTime.now());
 
         reservationRepository.save(reservation);
-        eventPublisher.publish(ReservationCancelledEvent.of(id, reason));
+        indexOccupation.retirer(id);
+        eventPublisher.publish(ReservationCancelledEvent.of(id, reservation.getChambreId(), reason));
     }
 
     public boolean verifierDisponibilite(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
         if (dateDebut.isAfter(dateFin)) {
             throw new IllegalArgumentException("Start date must be before or equal to end date");
         }
-        List<Reservation> conflits = reservationRepository.findConflictingReservations(chambreId, dateDebut, dateFin);
-        return conflits.isEmpty();
+        boolean libre = indexOccupation.estLibre(chambreId, dateDebut, dateFin);
+        metriques.enregistrerConflits(libre ? 0 : 1);
+        return libre;
     }
 
     public List<Reservation> obtenirReservationsConflictuelles(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
-        return reservationRepository.findConflictingReservations(chambreId, dateDebut, dateFin);
+        List<Reservation> conflits = reservationRepository.findConflictingReservations(chambreId, dateDebut, dateFin);
+        metriques.enregistrerConflits(conflits.size());
+        return conflits;
     }
 }
@@ -0,0 +1,170 @@
+package bookingengine.usecase.saison;
+
+import bookingengine.domain.entities.Saison;
+import bookingengine.domain.ports.AfterCommitPort;
+import bookingengine.domain.repositories.SaisonRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Index en memoire des saisons tarifaires, trie par date de debut.
+ *
+ * Les saisons sont chargees une seule fois depuis le repository puis resolues
+ * sans acces base. SaisonUseCase tient l'index a jour a chaque creation,
+ * modification ou suppression ; ces changements ne s'appliquent qu'au commit de
+ * l'ecriture (AfterCommitPort), une saison annulee n'est jamais vue. L'index est
+ * cle par date de debut : il suppose des saisons disjointes, ce que SaisonUseCase
+ * garantit en refusant toute saison qui en chevauche une autre.
+ *
+ * Sur un horizon glissant a partir d'aujourd'hui, les coefficients sont aussi
+ * cumules jour par jour : la somme des coefficients d'un sejour s'obtient alors
+ * en temps constant, S[fin] - S[debut].
+ */
+public class CalendrierSaisons {
+
+    public static final int HORIZON_PAR_DEFAUT_JOURS = 3 * 365;
+
+    private final SaisonRepository saisonRepository;
+    private final Clock clock;
+    private final int horizonJours;
+    private final AfterCommitPort afterCommit;
+
+    // Copie immuable remplacee a chaque ecriture : les lectures ne prennent aucun verrou
+    private volatile Index index;
+
+    public CalendrierSaisons(SaisonRepository saisonRepository) {
+        this(saisonRepository, Clock.systemDefaultZone(), HORIZON_PAR_DEFAUT_JOURS);
+    }
+
+    public CalendrierSaisons(SaisonRepository saisonRepository, AfterCommitPort afterCommit) {
+        this(saisonRepository, Clock.systemDefaultZone(), HORIZON_PAR_DEFAUT_JOURS, afterCommit);
+    }
+
+    // Sans transaction : chaque modification s'applique immediatement
+    public CalendrierSaisons(SaisonRepository saisonRepository, Clock clock, int horizonJours) {
+        this(saisonRepository, clock, horizonJours, Runnable::run);
+    }
+
+    public CalendrierSaisons(SaisonRepository saisonRepository, Clock clock, int horizonJours,
+                             AfterCommitPort afterCommit) {
+        this.saisonRepository = saisonRepository;
+        this.clock = clock;
+        this.horizonJours = horizonJours;
+        this.afterCommit = afterCommit;
+    }
+
+    public Optional<Saison> saisonPour(LocalDate date) {
+        return index().saisonPour(date);
+    }
+
+    public double coefficientPour(LocalDate date) {
+        return index().coefficientPour(date);
+    }
+
+    /**
+     * Somme des coefficients des nuits de [dateDebut, dateFin[. Temps constant
+     * dans l'horizon precalcule, parcours jour par jour en dehors.
+     */
+    public double sommeCoefficients(LocalDate dateDebut, LocalDate dateFin) {
+        Index courant = index();
+        long debut = ChronoUnit.DAYS.between(courant.origine(), dateDebut);
+        long fin = ChronoUnit.DAYS.between(courant.origine(), dateFin);
+        if (debut >= 0 && fin < courant.cumul().length) {
+            return courant.cumul()[(int) fin] - courant.cumul()[(int) debut];
+        }
+
+        double somme = 0;
+        for (LocalDate date = dateDebut; date.isBefore(dateFin); date = date.plusDays(1)) {
+            somme += courant.coefficientPour(date);
+        }
+        return somme;
+    }
+
+    public void enregistrer(Saison saison) {
+        // Copie prise tout de suite : l'appelant peut modifier l'instance avant le commit
+        Saison copie = copier(saison);
+        afterCommit.executer(() -> enregistrerValidee(copie));
+    }
+
+    public void retirer(Long saisonId) {
+        afterCommit.executer(() -> retirerValidee(saisonId));
+    }
+
+    private synchronized void enregistrerValidee(Saison saison) {
+        NavigableMap<LocalDate, Saison> copie = copieSansSaison(saison.getId());
+        copie.put(saison.getDateDebut(), saison);
+        index = construire(copie);
+    }
+
+    private synchronized void retirerValidee(Long saisonId) {
+        index = construire(copieSansSaison(saisonId));
+    }
+
+    public synchronized void recharger() {
+        NavigableMap<LocalDate, Saison> saisons = new TreeMap<>();
+        for (Saison saison : saisonRepository.findAll()) {
+            saisons.put(saison.getDateDebut(), copier(saison));
+        }
+        index = construire(saisons);
+    }
+
+    private Index index() {
+        Index courant = index;
+        if (courant == null || !courant.origine().equals(LocalDate.now(clock))) {
+            synchronized (this) {
+                if (index == null) {
+                    recharger();
+                } else if (!index.origine().equals(LocalDate.now(clock))) {
+                    // L'horizon glisse d'un jour : recalcul du cumul sans relire la base
+                    index = construire(index.saisonsParDebut());
+                }
+                courant = index;
+            }
+        }
+        return courant;
+    }
+
+    private Index construire(NavigableMap<LocalDate, Saison> saisons) {
+        LocalDate origine = LocalDate.now(clock);
+        double[] cumul = new double[horizonJours + 1];
+        Index partiel = new Index(saisons, origine, cumul);
+        LocalDate date = origine;
+        for (int i = 0; i < horizonJours; i++) {
+            cumul[i + 1] = cumul[i] + partiel.coefficientPour(date);
+            date = date.plusDays(1);
+        }
+        return partiel;
+    }
+
+    private NavigableMap<LocalDate, Saison> copieSansSaison(Long saisonId) {
+        NavigableMap<LocalDate, Saison> copie = new TreeMap<>(index().saisonsParDebut());
+        copie.values().removeIf(s -> s.getId() != null && s.getId().equals(saisonId));
+        return copie;
+    }
+
+    private static Saison copier(Saison saison) {
+        return new Saison(saison.getId(), saison.getNom(), saison.getDateDebut(),
+                saison.getDateFin(), saison.getCoefficientPrix());
+    }
+
+    private record Index(NavigableMap<LocalDate, Saison> saisonsParDebut, LocalDate origine, double[] cumul) {
+
+        Optional<Saison> saisonPour(LocalDate date) {
+            Map.Entry<LocalDate, Saison> entree = saisonsParDebut.floorEntry(date);
+            if (entree == null || entree.getValue().getDateFin().isBefore(date)) {
+                return Optional.empty();
+            }
+            return Optional.of(entree.getValue());
+        }
+
+        double coefficientPour(LocalDate date) {
+            return saisonPour(date).map(Saison::getCoefficientPrix).orElse(1.0);
+        }
+    }
+}
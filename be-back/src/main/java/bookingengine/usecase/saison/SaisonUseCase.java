@@ -5,6 +5,7 @@ import bookingengine.domain.events.SaisonCreatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
 import bookingengine.domain.repositories.SaisonRepository;
+import bookingengine.usecase.prix.CachePrix;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,32 +15,67 @@ public class SaisonUseCase {
 
     private final SaisonRepository saisonRepository;
     private final EventPublisherPort eventPublisher;
+    private final CalendrierSaisons calendrierSaisons;
+    private final CachePrix cachePrix;
 
-    public SaisonUseCase(SaisonRepository saisonRepository, EventPublisherPort eventPublisher) {
+    public SaisonUseCase(SaisonRepository saisonRepository, EventPublisherPort eventPublisher,
+                         CalendrierSaisons calendrierSaisons, CachePrix cachePrix) {
         this.saisonRepository = saisonRepository;
         this.eventPublisher = eventPublisher;
+        this.calendrierSaisons = calendrierSaisons;
+        this.cachePrix = cachePrix;
     }
 
     public Saison creerSaison(Saison saison) {
+        verifierPeriode(saison, null);
         Saison saved = saisonRepository.save(saison);
+        calendrierSaisons.enregistrer(saved);
+        cachePrix.invaliderPeriode(saved.getDateDebut(), saved.getDateFin());
         eventPublisher.publish(SaisonCreatedEvent.of(
                 saved.getId(), saved.getNom(), saved.getDateDebut(), saved.getDateFin(), saved.getCoefficientPrix()));
         return saved;
     }
 
     public Saison modifierSaison(Long id, Saison saison) {
-        if (saisonRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("Saison non trouvée avec l'id: " + id);
-        }
+        Saison existante = saisonRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Saison non trouvée avec l'id: " + id));
+        // Bornes lues avant la sauvegarde : le repository peut renvoyer la meme instance
+        LocalDate ancienDebut = existante.getDateDebut();
+        LocalDate ancienneFin = existante.getDateFin();
+        verifierPeriode(saison, id);
         saison.setId(id);
-        return saisonRepository.save(saison);
+        Saison saved = saisonRepository.save(saison);
+        calendrierSaisons.enregistrer(saved);
+        // Les devis couvrant l'ancienne comme la nouvelle periode sont perimes
+        cachePrix.invaliderPeriode(ancienDebut, ancienneFin);
+        cachePrix.invaliderPeriode(saved.getDateDebut(), saved.getDateFin());
+        return saved;
     }
 
-    public void supprimerSaison(Long id) {
-        if (saisonRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("Saison non trouvée avec l'id: " + id);
+    // Periode valide et disjointe des autres saisons ; saisonId est exclue de la recherche (modification)
+    private void verifierPeriode(Saison saison, Long saisonId) {
+        LocalDate debut = saison.getDateDebut();
+        LocalDate fin = saison.getDateFin();
+        if (debut == null || fin == null) {
+            throw new IllegalArgumentException("Les dates de début et de fin de la saison sont obligatoires");
+        }
+        if (debut.isAfter(fin)) {
+            throw new IllegalArgumentException("La date de début doit être avant ou égale à la date de fin");
         }
+        for (Saison autre : saisonRepository.findChevauchant(debut, fin)) {
+            if (!autre.getId().equals(saisonId)) {
+                throw new IllegalStateException("La saison chevauche la saison existante '" + autre.getNom()
+                        + "' (du " + autre.getDateDebut() + " au " + autre.getDateFin() + ")");
+            }
+        }
+    }
+
+    public void supprimerSaison(Long id) {
+        Saison existante = saisonRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Saison non trouvée avec l'id: " + id));
         saisonRepository.deleteById(id);
+        calendrierSaisons.retirer(id);
+        cachePrix.invaliderPeriode(existante.getDateDebut(), existante.getDateFin());
     }
 
     public Saison obtenirSaison(Long id) {
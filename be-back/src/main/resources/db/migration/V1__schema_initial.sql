@@ -0,0 +1,93 @@
+-- Schema initial : tables des entites JPA, sequences d'ids, index et contrainte de
+-- non-chevauchement des reservations.
+-- Idempotent : s'applique aussi aux bases creees auparavant par Hibernate (ddl-auto=update),
+-- baselinees en version 0 (spring.flyway.baseline-version).
+
+CREATE TABLE IF NOT EXISTS utilisateurs (
+    id       bigint       NOT NULL PRIMARY KEY,
+    username varchar(255) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    email    varchar(255) NOT NULL UNIQUE,
+    role     varchar(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS chambres (
+    id          bigint       NOT NULL PRIMARY KEY,
+    numero      varchar(255) NOT NULL UNIQUE,
+    type        varchar(255) NOT NULL,
+    prix_base   float(53)    NOT NULL,
+    capacite    integer      NOT NULL,
+    description varchar(255),
+    disponible  boolean      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS saisons (
+    id               bigint       NOT NULL PRIMARY KEY,
+    nom              varchar(255) NOT NULL,
+    date_debut       date         NOT NULL,
+    date_fin         date         NOT NULL,
+    coefficient_prix float(53)    NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id             bigint       NOT NULL PRIMARY KEY,
+    chambre_id     bigint       NOT NULL,
+    utilisateur_id bigint       NOT NULL,
+    date_debut     date         NOT NULL,
+    date_fin       date         NOT NULL,
+    status         varchar(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED')),
+    created_at     timestamp(6) NOT NULL,
+    cancelled_at   timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id             bigint        NOT NULL PRIMARY KEY,
+    reservation_id bigint        NOT NULL,
+    amount         numeric(38,2) NOT NULL,
+    payment_method varchar(255)  NOT NULL,
+    status         varchar(255)  NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'REFUNDED')),
+    payment_date   timestamp(6)  NOT NULL
+);
+
+-- Ids par blocs de 50 (allocationSize des @SequenceGenerator) pour les INSERT par lots JDBC
+CREATE SEQUENCE IF NOT EXISTS utilisateurs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS chambres_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS saisons_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payments_seq START WITH 1 INCREMENT BY 50;
+
+-- Bases dont les ids venaient de colonnes IDENTITY : les sequences repartent au-dela des
+-- ids existants (l'optimiseur pooled distribue les ids ]valeur - 50, valeur])
+SELECT setval('utilisateurs_seq', max(id) + 50) FROM utilisateurs
+HAVING max(id) + 50 > (SELECT last_value FROM utilisateurs_seq);
+SELECT setval('chambres_seq', max(id) + 50) FROM chambres
+HAVING max(id) + 50 > (SELECT last_value FROM chambres_seq);
+SELECT setval('saisons_seq', max(id) + 50) FROM saisons
+HAVING max(id) + 50 > (SELECT last_value FROM saisons_seq);
+SELECT setval('reservations_seq', max(id) + 50) FROM reservations
+HAVING max(id) + 50 > (SELECT last_value FROM reservations_seq);
+SELECT setval('payments_seq', max(id) + 50) FROM payments
+HAVING max(id) + 50 > (SELECT last_value FROM payments_seq);
+
+-- Pagination par curseur des listes filtrees : filtre puis id, sans tri
+CREATE INDEX IF NOT EXISTS idx_reservations_status_id ON reservations (status, id);
+CREATE INDEX IF NOT EXISTS idx_reservations_chambre_id_id ON reservations (chambre_id, id);
+CREATE INDEX IF NOT EXISTS idx_reservations_utilisateur_id_id ON reservations (utilisateur_id, id);
+
+-- Interdit en base le chevauchement de deux reservations non annulees d'une meme chambre.
+-- Un sejour compte au moins une nuit, comme dans l'index d'occupation.
+-- Si des reservations existantes se chevauchent deja, la migration echoue et
+-- l'application ne demarre pas : les corriger (annuler l'une des deux) puis relancer.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE reservations ADD COLUMN IF NOT EXISTS periode daterange
+    GENERATED ALWAYS AS (daterange(date_debut, GREATEST(date_fin, date_debut + 1), '[)')) STORED;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'reservations_sans_chevauchement') THEN
+        ALTER TABLE reservations ADD CONSTRAINT reservations_sans_chevauchement
+            EXCLUDE USING gist (chambre_id WITH =, periode WITH &&) WHERE (status <> 'CANCELLED');
+    END IF;
+END
+$$;
@@ -0,0 +1,16 @@
+-- Index des requetes du chemin critique, qui parcouraient jusqu'ici toute la table.
+-- reservations(utilisateur_id) et reservations(status) sont deja servis par les index
+-- (utilisateur_id, id) et (status, id) de V1.
+
+-- Controle de conflit (findConflictingReservations) : chambre puis chevauchement de dates,
+-- reservations non annulees seulement. Le predicat est celui de la requete et de la
+-- contrainte d'exclusion : les reservations annulees ne pesent pas sur l'index.
+CREATE INDEX IF NOT EXISTS idx_reservations_actives_chambre_dates
+    ON reservations (chambre_id, date_debut, date_fin) WHERE status <> 'CANCELLED';
+
+-- Paiements d'une reservation (confirmation et annulation en cascade)
+CREATE INDEX IF NOT EXISTS idx_payments_reservation_id ON payments (reservation_id);
+
+-- Saison d'une date (:date BETWEEN date_debut AND date_fin). date_fin en tete : les saisons
+-- passees s'accumulent alors que les dates demandees sont presentes ou futures
+CREATE INDEX IF NOT EXISTS idx_saisons_dates ON saisons (date_fin, date_debut);
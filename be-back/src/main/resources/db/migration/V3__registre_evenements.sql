@@ -0,0 +1,33 @@
+-- Registre de publications de Spring Modulith (outbox des evenements Kafka), cree
+-- jusqu'ici par Hibernate (ddl-auto=update). Colonnes des entites JPA du registre ;
+-- IF NOT EXISTS : les bases ou Hibernate l'a deja creee passent sans erreur.
+
+CREATE TABLE IF NOT EXISTS event_publication (
+    id                     uuid                     NOT NULL PRIMARY KEY,
+    listener_id            text                     NOT NULL,
+    event_type             text                     NOT NULL,
+    serialized_event       text                     NOT NULL,
+    publication_date       timestamp with time zone NOT NULL,
+    completion_date        timestamp with time zone,
+    status                 text,
+    completion_attempts    integer,
+    last_resubmission_date timestamp with time zone
+);
+
+-- Publications en attente (relance) et marquage d'une publication terminee
+CREATE INDEX IF NOT EXISTS event_publication_by_completion_date_idx ON event_publication (completion_date);
+CREATE INDEX IF NOT EXISTS event_publication_serialized_event_hash_idx ON event_publication USING hash (serialized_event);
+
+-- Publications archivees (completion-mode=archive) : inutilisee avec completion-mode=delete,
+-- mais l'entite est enregistree et la validation du schema l'exige
+CREATE TABLE IF NOT EXISTS event_publication_archive (
+    id                     uuid                     NOT NULL PRIMARY KEY,
+    listener_id            text                     NOT NULL,
+    event_type             text                     NOT NULL,
+    serialized_event       text                     NOT NULL,
+    publication_date       timestamp with time zone NOT NULL,
+    completion_date        timestamp with time zone,
+    status                 text,
+    completion_attempts    integer,
+    last_resubmission_date timestamp with time zone
+);
@@ -7,16 +7,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Import(TestcontainersConfiguration.class)
 @DisplayName("ChambreRepository Integration Tests")
 class ChambreRepositoryIntegrationTest {
@@ -27,6 +31,9 @@ class ChambreRepositoryIntegrationTest {
     @Autowired
     private ChambreRepositoryImpl chambreRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         chambreJpaRepository.deleteAll();
@@ -64,6 +71,32 @@ class ChambreRepositoryIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("saveAll Tests")
+    class SaveAllTests {
+
+        @Test
+        @DisplayName("Should insert chambres in JDBC batches")
+        void shouldInsertChambresInJdbcBatches() {
+            List<Chambre> chambres = IntStream.rangeClosed(1, 120)
+                    .mapToObj(i -> new Chambre(null, "L" + i, "Double", 89.99, 2, "Lot", true))
+                    .toList();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            List<Chambre> saved = chambreRepository.saveAll(chambres);
+
+            assertEquals(120, saved.size());
+            assertTrue(saved.stream().allMatch(chambre -> chambre.getId() != null));
+            assertEquals(120, statistics.getEntityInsertCount());
+            // 120 INSERT en lots de 50 (3 lots) plus un appel de sequence par bloc de 50 ids,
+            // contre 120 allers-retours avec des colonnes IDENTITY
+            assertTrue(statistics.getPrepareStatementCount() <= 8,
+                    "Requetes preparees: " + statistics.getPrepareStatementCount());
+            assertEquals(120, chambreJpaRepository.count());
+        }
+    }
+
     @Nested
     @DisplayName("findById Tests")
     class FindByIdTests {
@@ -102,6 +135,25 @@ class ChambreRepositoryIntegrationTest {
 
             assertEquals(2, all.size());
         }
+
+        @Test
+        @DisplayName("Should read chambres in id order without loading managed entities")
+        void shouldReadChambresInIdOrderWithoutLoadingManagedEntities() {
+            Chambre premiere = chambreRepository.save(new Chambre(null, "101", "Double", 89.99, 2, "Desc 1", true));
+            Chambre seconde = chambreRepository.save(new Chambre(null, "102", "Simple", 59.99, 1, "Desc 2", false));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            List<Chambre> all = chambreRepository.findAll();
+
+            assertEquals(List.of(premiere.getId(), seconde.getId()), all.stream().map(Chambre::getId).toList());
+            assertEquals("Simple", all.get(1).getType());
+            assertEquals(59.99, all.get(1).getPrixBase());
+            assertFalse(all.get(1).isDisponible());
+            // Lignes projetees par expression de constructeur : rien dans le contexte de persistance
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(1, statistics.getQueryExecutionCount());
+        }
     }
 
     @Nested
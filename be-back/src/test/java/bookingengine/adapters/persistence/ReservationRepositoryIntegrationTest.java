@@ -0,0 +1,346 @@
+package bookingengine.adapters.persistence;
+
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.adapters.persistence.repositories.PaymentJpaRepository;
+import bookingengine.adapters.persistence.repositories.ReservationJpaRepository;
+import bookingengine.domain.entities.Payment;
+import bookingengine.domain.entities.PaymentStatus;
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.exceptions.ReservationConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@DisplayName("ReservationRepository Integration Tests")
+class ReservationRepositoryIntegrationTest {
+
+    @Autowired
+    private ReservationJpaRepository reservationJpaRepository;
+
+    @Autowired
+    private ReservationRepositoryImpl reservationRepository;
+
+    @Autowired
+    private PaymentJpaRepository paymentJpaRepository;
+
+    @Autowired
+    private PaymentRepositoryImpl paymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        paymentJpaRepository.deleteAll();
+        reservationJpaRepository.deleteAll();
+    }
+
+    private static Reservation reservation(Long chambreId, LocalDate debut, LocalDate fin, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setChambreId(chambreId);
+        reservation.setUtilisateurId(1L);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatus(status);
+        reservation.setCreatedAt(LocalDateTime.now());
+        return reservation;
+    }
+
+    private static Payment payment() {
+        Payment payment = new Payment();
+        payment.setAmount(new BigDecimal("400.00"));
+        payment.setPaymentMethod("CARTE");
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setPaymentDate(LocalDateTime.now());
+        return payment;
+    }
+
+    @Nested
+    @DisplayName("Contrainte d'exclusion Tests")
+    class ContrainteExclusionTests {
+
+        @Test
+        @DisplayName("Should reject overlapping active reservation for same chambre")
+        void shouldRejectOverlappingActiveReservation() {
+            reservationRepository.save(reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED));
+
+            assertThrows(ReservationConflictException.class, () -> reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 8), ReservationStatus.PENDING)));
+            assertEquals(1, reservationJpaRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should accept back-to-back, cancelled and other-chambre reservations")
+        void shouldAcceptNonConflictingReservations() {
+            reservationRepository.save(reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED));
+
+            assertDoesNotThrow(() -> reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 8), ReservationStatus.PENDING)));
+            assertDoesNotThrow(() -> reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4), ReservationStatus.CANCELLED)));
+            assertDoesNotThrow(() -> reservationRepository.save(
+                    reservation(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.PENDING)));
+        }
+
+        @Test
+        @DisplayName("Should reject reactivating a cancelled reservation over an active one")
+        void shouldRejectReactivatingCancelledReservation() {
+            reservationRepository.save(reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED));
+            Reservation annulee = reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4), ReservationStatus.CANCELLED));
+
+            annulee.setStatus(ReservationStatus.PENDING);
+
+            assertThrows(ReservationConflictException.class, () -> reservationRepository.save(annulee));
+        }
+    }
+
+    @Nested
+    @DisplayName("findOccupiedChambreIds Tests")
+    class OccupationEnBaseTests {
+
+        @Test
+        @DisplayName("Should return candidate chambres with an active overlapping reservation")
+        void shouldReturnCandidateChambresWithActiveOverlappingReservation() {
+            reservationRepository.save(reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED));
+            reservationRepository.save(reservation(1L, LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 8), ReservationStatus.PENDING));
+            reservationRepository.save(reservation(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CANCELLED));
+            reservationRepository.save(reservation(3L, LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 9), ReservationStatus.PENDING));
+            reservationRepository.save(reservation(4L, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3), ReservationStatus.PENDING));
+
+            List<Long> occupees = reservationRepository.findOccupiedChambreIds(
+                    List.of(1L, 2L, 3L), LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 6));
+
+            assertEquals(List.of(1L), occupees);
+        }
+    }
+
+    @Nested
+    @DisplayName("saveWithPayment Tests")
+    class SaveWithPaymentTests {
+
+        @Test
+        @DisplayName("Should write reservation and its payment together")
+        void shouldWriteReservationAndItsPaymentTogether() {
+            Reservation saved = reservationRepository.saveWithPayment(
+                    reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.PENDING), payment());
+
+            assertNotNull(saved.getId());
+            assertEquals(1, paymentJpaRepository.findByReservationId(saved.getId()).size());
+        }
+
+        @Test
+        @DisplayName("Should reject overlapping reservation without writing its payment")
+        void shouldRejectOverlappingReservationWithoutWritingItsPayment() {
+            reservationRepository.saveWithPayment(
+                    reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED), payment());
+
+            assertThrows(ReservationConflictException.class, () -> reservationRepository.saveWithPayment(
+                    reservation(1L, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 8), ReservationStatus.PENDING), payment()));
+            assertEquals(1, reservationJpaRepository.count());
+            assertEquals(1, paymentJpaRepository.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiration Tests")
+    class ExpirationTests {
+
+        private Reservation creee(Long chambreId, ReservationStatus status, LocalDateTime createdAt) {
+            Reservation reservation = reservation(chambreId, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), status);
+            reservation.setCreatedAt(createdAt);
+            return reservationRepository.saveWithPayment(reservation, payment());
+        }
+
+        @Test
+        @DisplayName("Should cancel only stale pending reservations and their pending payments")
+        void shouldCancelOnlyStalePendingReservationsAndTheirPendingPayments() {
+            LocalDateTime ilYaDeuxHeures = LocalDateTime.now().minusHours(2);
+            Reservation expiree = creee(1L, ReservationStatus.PENDING, ilYaDeuxHeures);
+            Reservation recente = creee(2L, ReservationStatus.PENDING, LocalDateTime.now());
+            Reservation confirmee = creee(3L, ReservationStatus.CONFIRMED, ilYaDeuxHeures);
+
+            List<Long> annulees = transactionTemplate.execute(status -> {
+                List<Long> ids = reservationRepository
+                        .findPendingCreatedBeforeForUpdate(LocalDateTime.now().minusHours(1), 10)
+                        .stream().map(Reservation::getId).toList();
+                reservationRepository.cancelAll(ids, LocalDateTime.now());
+                paymentRepository.cancelPendingByReservationIds(ids);
+                return ids;
+            });
+
+            assertEquals(List.of(expiree.getId()), annulees);
+            assertEquals(ReservationStatus.CANCELLED, reservationRepository.findById(expiree.getId()).orElseThrow().getStatus());
+            assertNotNull(reservationRepository.findById(expiree.getId()).orElseThrow().getCancelledAt());
+            assertEquals(PaymentStatus.CANCELLED, paymentRepository.findByReservationId(expiree.getId()).get(0).getStatus());
+            assertEquals(ReservationStatus.PENDING, reservationRepository.findById(recente.getId()).orElseThrow().getStatus());
+            assertEquals(ReservationStatus.CONFIRMED, reservationRepository.findById(confirmee.getId()).orElseThrow().getStatus());
+            assertEquals(PaymentStatus.PENDING, paymentRepository.findByReservationId(recente.getId()).get(0).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should cap the batch and skip rows locked by another transaction")
+        void shouldCapBatchAndSkipRowsLockedByAnotherTransaction() {
+            LocalDateTime ilYaDeuxHeures = LocalDateTime.now().minusHours(2);
+            for (long chambreId = 1; chambreId <= 3; chambreId++) {
+                creee(chambreId, ReservationStatus.PENDING, ilYaDeuxHeures);
+            }
+            LocalDateTime limite = LocalDateTime.now().minusHours(1);
+
+            AtomicReference<List<Long>> secondLot = new AtomicReference<>();
+            ExecutorService autreTransaction = Executors.newSingleThreadExecutor();
+            try {
+                List<Long> premierLot = transactionTemplate.execute(status -> {
+                    List<Long> verrouilles = reservationRepository.findPendingCreatedBeforeForUpdate(limite, 2)
+                            .stream().map(Reservation::getId).toList();
+                    // Lot concurrent pendant que les deux premieres lignes sont verrouillees
+                    try {
+                        secondLot.set(autreTransaction.submit(() -> transactionTemplate.execute(s -> reservationRepository
+                                .findPendingCreatedBeforeForUpdate(limite, 10).stream().map(Reservation::getId).toList()))
+                                .get(10, TimeUnit.SECONDS));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return verrouilles;
+                });
+
+                assertEquals(2, premierLot.size());
+                assertEquals(1, secondLot.get().size());
+                assertFalse(premierLot.contains(secondLot.get().get(0)));
+            } finally {
+                autreTransaction.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should skip reservation locked by a payment update and find its payment id")
+        void shouldSkipReservationLockedByPaymentUpdate() {
+            Reservation enPaiement = creee(1L, ReservationStatus.PENDING, LocalDateTime.now().minusHours(2));
+            Long paymentId = paymentRepository.findByReservationId(enPaiement.getId()).get(0).getId();
+            LocalDateTime limite = LocalDateTime.now().minusHours(1);
+
+            AtomicReference<List<Long>> lot = new AtomicReference<>();
+            ExecutorService expiration = Executors.newSingleThreadExecutor();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Chemin de modifierPayment : reservation du paiement, puis verrou
+                    Long reservationId = paymentRepository.findReservationIdById(paymentId).orElseThrow();
+                    assertEquals(enPaiement.getId(), reservationId);
+                    assertEquals(ReservationStatus.PENDING,
+                            reservationRepository.findByIdForUpdate(reservationId).orElseThrow().getStatus());
+                    try {
+                        lot.set(expiration.submit(() -> transactionTemplate.execute(s -> reservationRepository
+                                .findPendingCreatedBeforeForUpdate(limite, 10).stream().map(Reservation::getId).toList()))
+                                .get(10, TimeUnit.SECONDS));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+                assertEquals(List.of(), lot.get());
+            } finally {
+                expiration.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("forEachForExport Tests")
+    class ExportTests {
+
+        @Test
+        @DisplayName("Should stream every reservation in id order when unfiltered")
+        void shouldStreamEveryReservationInIdOrder() {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < ReservationRepositoryImpl.TAILLE_LOT_EXPORT + 5; i++) {
+                LocalDate debut = LocalDate.of(2026, 1, 1).plusDays(i);
+                ids.add(reservationRepository.save(reservation((long) i, debut, debut.plusDays(1), ReservationStatus.PENDING)).getId());
+            }
+
+            List<Long> exportes = new ArrayList<>();
+            reservationRepository.forEachForExport(null, null, null, reservation -> exportes.add(reservation.getId()));
+
+            assertEquals(ids, exportes);
+        }
+
+        @Test
+        @DisplayName("Should filter by status and overlapping period")
+        void shouldFilterByStatusAndOverlappingPeriod() {
+            Reservation retenue = reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED));
+            reservationRepository.save(reservation(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.PENDING));
+            reservationRepository.save(reservation(3L, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 5), ReservationStatus.CONFIRMED));
+
+            List<Long> exportes = new ArrayList<>();
+            reservationRepository.forEachForExport(ReservationStatus.CONFIRMED,
+                    LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 20), reservation -> exportes.add(reservation.getId()));
+
+            assertEquals(List.of(retenue.getId()), exportes);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lectures projetees Tests")
+    class LecturesProjeteesTests {
+
+        @Test
+        @DisplayName("Should map projected reservation rows to domain statuses and pages")
+        void shouldMapProjectedReservationRowsToDomainStatusesAndPages() {
+            Reservation premiere = reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CONFIRMED));
+            Reservation annulee = reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.CANCELLED));
+            Reservation derniere = reservationRepository.save(
+                    reservation(1L, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 5), ReservationStatus.PENDING));
+            reservationRepository.save(reservation(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.PENDING));
+
+            List<Reservation> parChambre = reservationRepository.findByChambreId(1L);
+            assertEquals(List.of(premiere.getId(), annulee.getId(), derniere.getId()),
+                    parChambre.stream().map(Reservation::getId).toList());
+            assertEquals(ReservationStatus.CANCELLED, parChambre.get(1).getStatus());
+            assertEquals(LocalDate.of(2026, 4, 5), parChambre.get(2).getDateFin());
+
+            assertEquals(List.of(annulee.getId(), derniere.getId()),
+                    reservationRepository.findPageByChambreId(1L, premiere.getId(), 10).stream().map(Reservation::getId).toList());
+            assertEquals(2, reservationRepository.findByStatus(ReservationStatus.PENDING).size());
+            assertTrue(reservationRepository.findActiveReservations().stream()
+                    .noneMatch(reservation -> reservation.getStatus() == ReservationStatus.CANCELLED));
+        }
+
+        @Test
+        @DisplayName("Should map projected payment rows of a reservation")
+        void shouldMapProjectedPaymentRowsOfReservation() {
+            Reservation saved = reservationRepository.saveWithPayment(
+                    reservation(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ReservationStatus.PENDING), payment());
+
+            List<Payment> payments = paymentRepository.findByReservationId(saved.getId());
+
+            assertEquals(1, payments.size());
+            assertEquals(saved.getId(), payments.get(0).getReservationId());
+            assertEquals(0, new BigDecimal("400.00").compareTo(payments.get(0).getAmount()));
+            assertEquals(PaymentStatus.PENDING, payments.get(0).getStatus());
+            assertEquals(List.of(payments.get(0).getId()),
+                    paymentRepository.findPage(null, 10).stream().map(Payment::getId).toList());
+        }
+    }
+}
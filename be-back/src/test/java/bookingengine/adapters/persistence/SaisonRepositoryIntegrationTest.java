@@ -91,6 +91,26 @@ class SaisonRepositoryIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("findChevauchant Tests")
+    class FindChevauchantTests {
+
+        @Test
+        @DisplayName("Should find saisons sharing at least one day, bounds included")
+        void shouldFindSaisonsSharingAtLeastOneDay() {
+            saisonRepository.save(new Saison(null, "Haute", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5));
+            saisonRepository.save(new Saison(null, "Basse", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 0.8));
+
+            List<Saison> dernierJour = saisonRepository.findChevauchant(LocalDate.of(2024, 8, 31), LocalDate.of(2024, 9, 15));
+            List<Saison> incluse = saisonRepository.findChevauchant(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 14));
+            List<Saison> entreDeux = saisonRepository.findChevauchant(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 5, 31));
+
+            assertEquals(List.of("Haute"), dernierJour.stream().map(Saison::getNom).toList());
+            assertEquals(List.of("Haute"), incluse.stream().map(Saison::getNom).toList());
+            assertTrue(entreDeux.isEmpty());
+        }
+    }
+
     @Nested
     @DisplayName("findAll Tests")
     class FindAllTests {
@@ -0,0 +1,123 @@
+package bookingengine.adapters.persistence;
+
+import bookingengine.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifie sur PostgreSQL, avec un volume ou un parcours complet de table coute plus
+ * cher qu'un index, que les requetes du chemin critique utilisent les index des migrations.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@DisplayName("Schema indexes Integration Tests")
+class SchemaIndexIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        viderTables();
+        // 200 chambres, 100 sejours de 2 nuits sans chevauchement par chambre ; 0,2% en attente, 10% annulees
+        jdbcTemplate.execute("""
+                INSERT INTO reservations (id, chambre_id, utilisateur_id, date_debut, date_fin, status, created_at)
+                SELECT i, i % 200 + 1, i % 1000 + 1,
+                       DATE '2026-01-01' + (i / 200) * 3, DATE '2026-01-01' + (i / 200) * 3 + 2,
+                       CASE WHEN i % 500 = 0 THEN 'PENDING' WHEN i % 10 = 5 THEN 'CANCELLED' ELSE 'CONFIRMED' END,
+                       now()
+                FROM generate_series(1, 20000) AS i""");
+        jdbcTemplate.execute("""
+                INSERT INTO payments (id, reservation_id, amount, payment_method, status, payment_date)
+                SELECT i, i, 179.98, 'CARTE', 'CONFIRMED', now()
+                FROM generate_series(1, 20000) AS i""");
+        // Saisons d'un jour consecutives de 2000 a mi-2027 : l'historique s'accumule
+        jdbcTemplate.execute("""
+                INSERT INTO saisons (id, nom, date_debut, date_fin, coefficient_prix)
+                SELECT i, 'Saison ' || i, DATE '2000-01-01' + i, DATE '2000-01-01' + i, 1.0
+                FROM generate_series(1, 10000) AS i""");
+        jdbcTemplate.execute("ANALYZE reservations, payments, saisons");
+    }
+
+    @AfterEach
+    void tearDown() {
+        viderTables();
+    }
+
+    private void viderTables() {
+        jdbcTemplate.execute("TRUNCATE reservations, payments, saisons");
+    }
+
+    private String plan(String requete) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + requete, String.class));
+    }
+
+    private void assertUtiliseIndex(String index, String requete) {
+        String plan = plan(requete);
+        assertTrue(plan.contains(index), () -> "Index " + index + " absent du plan:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), () -> "Parcours complet dans le plan:\n" + plan);
+    }
+
+    @Test
+    @DisplayName("Should apply versioned migrations in order")
+    void shouldApplyVersionedMigrationsInOrder() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL ORDER BY installed_rank",
+                String.class);
+
+        assertEquals(List.of("1", "2"), versions);
+    }
+
+    @Nested
+    @DisplayName("reservations Tests")
+    class ReservationsTests {
+
+        @Test
+        @DisplayName("Should check date conflicts through partial index on active reservations")
+        void shouldCheckDateConflictsThroughPartialIndexOnActiveReservations() {
+            assertUtiliseIndex("idx_reservations_actives_chambre_dates", """
+                    SELECT * FROM reservations
+                    WHERE chambre_id = 42 AND status NOT IN ('CANCELLED')
+                      AND date_debut < DATE '2026-03-10' AND date_fin > DATE '2026-03-05'""");
+        }
+
+        @Test
+        @DisplayName("Should find reservations of a user through index")
+        void shouldFindReservationsOfUserThroughIndex() {
+            assertUtiliseIndex("idx_reservations_utilisateur_id_id",
+                    "SELECT * FROM reservations WHERE utilisateur_id = 77");
+        }
+
+        @Test
+        @DisplayName("Should find reservations by status through index")
+        void shouldFindReservationsByStatusThroughIndex() {
+            assertUtiliseIndex("idx_reservations_status_id",
+                    "SELECT * FROM reservations WHERE status = 'PENDING'");
+        }
+    }
+
+    @Test
+    @DisplayName("Should find payments of a reservation through index")
+    void shouldFindPaymentsOfReservationThroughIndex() {
+        assertUtiliseIndex("idx_payments_reservation_id",
+                "SELECT * FROM payments WHERE reservation_id = 1234");
+    }
+
+    @Test
+    @DisplayName("Should find season of a date through index")
+    void shouldFindSeasonOfDateThroughIndex() {
+        assertUtiliseIndex("idx_saisons_dates",
+                "SELECT * FROM saisons WHERE DATE '2027-03-01' BETWEEN date_debut AND date_fin");
+    }
+}
@@ -3,6 +3,7 @@ package bookingengine.adapters.web.controllers;
 import bookingengine.domain.entities.Chambre;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.usecase.chambre.ChambreUseCase;
+import bookingengine.usecase.pagination.PageCurseur;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -39,30 +41,78 @@ class ChambreControllerTest {
     class GetAllChambresTests {
 
         @Test
-        @DisplayName("Should return list of chambres")
-        void shouldReturnListOfChambres() {
+        @DisplayName("Should return full list of chambres when explicitly requested")
+        void shouldReturnFullListOfChambresWhenExplicitlyRequested() {
             List<Chambre> chambres = Arrays.asList(
                     new Chambre(1L, "101", "Double", 89.99, 2, "Desc 1", true),
                     new Chambre(2L, "102", "Simple", 59.99, 1, "Desc 2", true)
             );
             when(chambreUseCase.obtenirToutesChambres()).thenReturn(chambres);
 
-            var response = chambreController.getAllChambres();
+            var response = chambreController.getAllChambres(null, null, true);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertEquals(2, response.getBody().size());
+            verify(chambreUseCase, never()).obtenirPageChambres(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should paginate by default")
+        void shouldPaginateByDefault() {
+            when(chambreUseCase.obtenirPageChambres(null, null)).thenReturn(new PageCurseur<>(List.of(
+                    new Chambre(1L, "101", "Double", 89.99, 2, "Desc 1", true)), 1L));
+
+            var response = chambreController.getAllChambres(null, null, false);
+
+            assertEquals(1, response.getBody().size());
+            assertEquals("1", response.getHeaders().getFirst("X-Curseur-Suivant"));
+            verify(chambreUseCase, never()).obtenirToutesChambres();
+        }
+
+        @Test
+        @DisplayName("Should reject full list combined with a cursor")
+        void shouldRejectFullListCombinedWithCursor() {
+            assertThrows(IllegalArgumentException.class, () -> chambreController.getAllChambres(10L, null, true));
+            verifyNoInteractions(chambreUseCase);
         }
 
         @Test
         @DisplayName("Should return empty list when no chambres")
         void shouldReturnEmptyListWhenNoChambres() {
-            when(chambreUseCase.obtenirToutesChambres()).thenReturn(List.of());
+            when(chambreUseCase.obtenirPageChambres(null, null)).thenReturn(new PageCurseur<>(List.of(), null));
 
-            var response = chambreController.getAllChambres();
+            var response = chambreController.getAllChambres(null, null, false);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertTrue(response.getBody().isEmpty());
         }
+
+        @Test
+        @DisplayName("Should return page with next cursor header when paginated")
+        void shouldReturnPageWithNextCursorHeaderWhenPaginated() {
+            when(chambreUseCase.obtenirPageChambres(10L, 2)).thenReturn(new PageCurseur<>(List.of(
+                    new Chambre(11L, "101", "Double", 89.99, 2, "Desc 1", true),
+                    new Chambre(12L, "102", "Simple", 59.99, 1, "Desc 2", true)), 12L));
+
+            var response = chambreController.getAllChambres(10L, 2, false);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(2, response.getBody().size());
+            assertEquals("12", response.getHeaders().getFirst("X-Curseur-Suivant"));
+            verify(chambreUseCase, never()).obtenirToutesChambres();
+        }
+
+        @Test
+        @DisplayName("Should omit cursor header on last page")
+        void shouldOmitCursorHeaderOnLastPage() {
+            when(chambreUseCase.obtenirPageChambres(null, 50)).thenReturn(new PageCurseur<>(List.of(
+                    new Chambre(1L, "101", "Double", 89.99, 2, "Desc 1", true)), null));
+
+            var response = chambreController.getAllChambres(null, 50, false);
+
+            assertEquals(1, response.getBody().size());
+            assertFalse(response.getHeaders().containsHeader("X-Curseur-Suivant"));
+        }
     }
 
     @Nested
@@ -111,6 +161,27 @@ class ChambreControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/chambres/disponibles/periode")
+    class GetChambresDisponiblesPourPeriodeTests {
+
+        @Test
+        @DisplayName("Should return free chambres for period")
+        void shouldReturnFreeChambresForPeriod() {
+            LocalDate debut = LocalDate.of(2024, 7, 1);
+            LocalDate fin = LocalDate.of(2024, 7, 5);
+            when(chambreUseCase.obtenirChambresDisponiblesPourPeriode(debut, fin)).thenReturn(List.of(
+                    new Chambre(1L, "101", "Double", 89.99, 2, "Desc", true)
+            ));
+
+            var response = chambreController.getChambresDisponiblesPourPeriode(debut, fin);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(1, response.getBody().size());
+            assertEquals("101", response.getBody().get(0).numero());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/chambres/type/{type}")
     class GetChambresByTypeTests {
@@ -150,6 +221,27 @@ class ChambreControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/chambres/lot")
+    class CreateChambresTests {
+
+        @Test
+        @DisplayName("Should create chambres and return 201")
+        void shouldCreateChambresAndReturn201() {
+            when(chambreUseCase.creerChambres(anyList())).thenReturn(List.of(
+                    new Chambre(1L, "101", "Double", 89.99, 2, "Description", true),
+                    new Chambre(2L, "102", "Suite", 150.0, 4, "Description", true)));
+
+            var response = chambreController.createChambres(List.of(
+                    new bookingengine.adapters.web.dto.ChambreDto(null, "101", "Double", 89.99, 2, "Description", true),
+                    new bookingengine.adapters.web.dto.ChambreDto(null, "102", "Suite", 150.0, 4, "Description", true)));
+
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals(2, response.getBody().size());
+            assertEquals(2L, response.getBody().get(1).id());
+        }
+    }
+
     @Nested
     @DisplayName("PUT /api/chambres/{id}")
     class UpdateChambreTests {
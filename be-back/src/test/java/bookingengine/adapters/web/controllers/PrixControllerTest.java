@@ -2,6 +2,7 @@ package bookingengine.adapters.web.controllers;
 
 import bookingengine.adapters.web.dto.CalculPrixRequest;
 import bookingengine.domain.exceptions.EntityNotFoundException;
+import bookingengine.usecase.prix.CachePrix;
 import bookingengine.usecase.prix.CalculPrixUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,10 +50,10 @@ class PrixControllerTest {
                     "101", "Double", debut, fin, 3, 100.0, 1.5, 450.0, details
             );
 
-            when(calculPrixUseCase.calculerPrixDetaille(1L, debut, fin)).thenReturn(resultat);
+            when(calculPrixUseCase.calculerPrixDetaille(1L, debut, fin, true)).thenReturn(resultat);
 
             CalculPrixRequest request = new CalculPrixRequest(1L, debut, fin);
-            var response = prixController.calculerPrix(request);
+            var response = prixController.calculerPrix(request, true);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertEquals("101", response.getBody().numeroChambre());
@@ -65,12 +67,12 @@ class PrixControllerTest {
             LocalDate debut = LocalDate.of(2024, 7, 15);
             LocalDate fin = LocalDate.of(2024, 7, 18);
 
-            when(calculPrixUseCase.calculerPrixDetaille(999L, debut, fin))
+            when(calculPrixUseCase.calculerPrixDetaille(999L, debut, fin, true))
                     .thenThrow(new EntityNotFoundException("Chambre non trouvée"));
 
             CalculPrixRequest request = new CalculPrixRequest(999L, debut, fin);
 
-            assertThrows(EntityNotFoundException.class, () -> prixController.calculerPrix(request));
+            assertThrows(EntityNotFoundException.class, () -> prixController.calculerPrix(request, true));
         }
 
         @Test
@@ -79,12 +81,100 @@ class PrixControllerTest {
             LocalDate debut = LocalDate.of(2024, 7, 20);
             LocalDate fin = LocalDate.of(2024, 7, 15);
 
-            when(calculPrixUseCase.calculerPrixDetaille(1L, debut, fin))
+            when(calculPrixUseCase.calculerPrixDetaille(1L, debut, fin, true))
                     .thenThrow(new IllegalArgumentException("La date de fin doit être après la date de début"));
 
             CalculPrixRequest request = new CalculPrixRequest(1L, debut, fin);
 
-            assertThrows(IllegalArgumentException.class, () -> prixController.calculerPrix(request));
+            assertThrows(IllegalArgumentException.class, () -> prixController.calculerPrix(request, true));
+        }
+
+        @Test
+        @DisplayName("Should reject request without dates before calling use case")
+        void shouldRejectRequestWithoutDates() {
+            CalculPrixRequest request = new CalculPrixRequest(1L, null, LocalDate.of(2024, 7, 18));
+
+            assertThrows(IllegalArgumentException.class, () -> prixController.calculerPrix(request, true));
+            verifyNoInteractions(calculPrixUseCase);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/prix/calculer/lot")
+    class CalculerPrixLotTests {
+
+        @Test
+        @DisplayName("Should map requests to demandes and return all results")
+        void shouldMapRequestsAndReturnAllResults() {
+            LocalDate debut = LocalDate.of(2024, 7, 15);
+            LocalDate fin = LocalDate.of(2024, 7, 17);
+            List<CalculPrixUseCase.DemandePrix> demandes = List.of(
+                    new CalculPrixUseCase.DemandePrix(1L, debut, fin),
+                    new CalculPrixUseCase.DemandePrix(999L, debut, fin)
+            );
+            CalculPrixUseCase.ResultatCalculPrix resultat = new CalculPrixUseCase.ResultatCalculPrix(
+                    "101", "Double", debut, fin, 2, 100.0, 1.0, 200.0, List.of()
+            );
+            List<CalculPrixUseCase.ResultatLot> resultats = List.of(
+                    new CalculPrixUseCase.ResultatLot(1L, debut, fin, resultat, null),
+                    new CalculPrixUseCase.ResultatLot(999L, debut, fin, null, "Chambre non trouvée avec l'id: 999")
+            );
+
+            when(calculPrixUseCase.calculerPrixLot(demandes, false)).thenReturn(resultats);
+
+            var response = prixController.calculerPrixLot(List.of(
+                    new CalculPrixRequest(1L, debut, fin),
+                    new CalculPrixRequest(999L, debut, fin)
+            ), false);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(2, response.getBody().size());
+            assertEquals(200.0, response.getBody().get(0).resultat().prixTotal());
+            assertNotNull(response.getBody().get(1).erreur());
+        }
+
+        @Test
+        @DisplayName("Should reject batch containing a null request")
+        void shouldRejectBatchContainingNullRequest() {
+            LocalDate debut = LocalDate.of(2024, 7, 15);
+            List<CalculPrixRequest> requests = Arrays.asList(
+                    new CalculPrixRequest(1L, debut, debut.plusDays(2)), null);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> prixController.calculerPrixLot(requests, false));
+
+            assertTrue(exception.getMessage().contains("2"));
+            verifyNoInteractions(calculPrixUseCase);
+        }
+
+        @Test
+        @DisplayName("Should reject batch request without chambre or dates")
+        void shouldRejectBatchRequestWithoutChambreOrDates() {
+            LocalDate debut = LocalDate.of(2024, 7, 15);
+
+            assertThrows(IllegalArgumentException.class, () -> prixController.calculerPrixLot(
+                    List.of(new CalculPrixRequest(null, debut, debut.plusDays(2))), false));
+            assertThrows(IllegalArgumentException.class, () -> prixController.calculerPrixLot(
+                    List.of(new CalculPrixRequest(1L, debut, null)), false));
+            assertThrows(IllegalArgumentException.class, () -> prixController.calculerPrixLot(null, false));
+            verifyNoInteractions(calculPrixUseCase);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/prix/cache")
+    class StatistiquesCacheTests {
+
+        @Test
+        @DisplayName("Should return cache statistics")
+        void shouldReturnCacheStatistics() {
+            when(calculPrixUseCase.statistiquesCache()).thenReturn(new CachePrix.Statistiques(3, 1, 0, 1, 10_000));
+
+            var response = prixController.getStatistiquesCache();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(3, response.getBody().hits());
+            assertEquals(0.75, response.getBody().tauxSucces());
         }
     }
 }
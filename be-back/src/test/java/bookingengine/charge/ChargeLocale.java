@@ -0,0 +1,51 @@
+package bookingengine.charge;
+
+import bookingengine.BookingEngineApplication;
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.usecase.reservation.IndexOccupation;
+import bookingengine.usecase.saison.CalendrierSaisons;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Test de charge entierement local : demarre l'application sur un port libre avec
+ * PostgreSQL et Kafka par Testcontainers, charge les donnees synthetiques, recharge
+ * l'index d'occupation et le calendrier des saisons, puis joue le scenario HTTP.
+ * Classe hors suite de tests, a lancer a la main :
+ *
+ *   java ... bookingengine.charge.ChargeLocale [chambres] [reservations] [utilisateursVirtuels] [dureeSecondes]
+ */
+public class ChargeLocale {
+
+    public static void main(String[] args) throws Exception {
+        GenerateurDonneesSynthetiques.Volumes parDefaut = GenerateurDonneesSynthetiques.Volumes.PAR_DEFAUT;
+        GenerateurDonneesSynthetiques.Volumes volumes = new GenerateurDonneesSynthetiques.Volumes(
+                args.length > 0 ? Integer.parseInt(args[0]) : parDefaut.chambres(),
+                args.length > 1 ? Integer.parseInt(args[1]) : parDefaut.reservations(),
+                parDefaut.saisons(), parDefaut.utilisateurs());
+        int utilisateursVirtuels = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        Duration duree = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 60);
+
+        try (ConfigurableApplicationContext contexte = SpringApplication.from(BookingEngineApplication::main)
+                .with(TestcontainersConfiguration.class)
+                .run("--spring.profiles.active=test", "--server.port=0").getApplicationContext()) {
+            GenerateurDonneesSynthetiques.Bilan bilan;
+            long debut = System.nanoTime();
+            try (Connection connexion = contexte.getBean(DataSource.class).getConnection()) {
+                bilan = GenerateurDonneesSynthetiques.charger(connexion, volumes, 42L);
+            }
+            contexte.getBean(IndexOccupation.class).recharger();
+            contexte.getBean(CalendrierSaisons.class).recharger();
+            System.out.printf("%s charges en %d s%n", volumes, (System.nanoTime() - debut) / 1_000_000_000L);
+
+            URI base = URI.create("http://localhost:" + contexte.getEnvironment().getProperty("local.server.port"));
+            new ScenarioReservationHttp(base, bilan.premierUtilisateur(), bilan.dernierUtilisateur())
+                    .executer(utilisateursVirtuels, duree);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package bookingengine.charge;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Chargement en masse de donnees d'hotel synthetiques par COPY PostgreSQL :
+ * utilisateurs, chambres, saisons, reservations et un paiement par reservation.
+ *
+ * Les lignes s'ajoutent apres les ids existants (DataSeeder compris) et les sequences
+ * sont repoussees au-dela. Chaque chambre enchaine des sejours de 1 a 7 nuits separes
+ * de 0 a 3 nuits libres, depuis cinq ans dans le passe : les plus recents tombent dans
+ * l'annee a venir, ou les disponibilites sont donc fragmentees comme en production.
+ * Les saisons d'une semaine suivent la derniere saison existante, sans chevauchement.
+ * Le tirage est deterministe pour une graine donnee.
+ *
+ * L'index d'occupation et le calendrier des saisons d'une application deja demarree
+ * ne voient pas ces lignes : charger avant le demarrage, ou redemarrer le backend.
+ * Classe hors suite de tests, a lancer a la main (base de compose.yaml par defaut) :
+ *
+ *   java ... bookingengine.charge.GenerateurDonneesSynthetiques [chambres] [reservations] [saisons] [utilisateurs] [jdbcUrl] [user] [password]
+ */
+public class GenerateurDonneesSynthetiques {
+
+    private static final int TAILLE_TAMPON = 1 << 20;
+    private static final String[] TYPES = {"Simple", "Double", "Suite", "Familiale"};
+    private static final String[] MOYENS_PAIEMENT = {"CARTE", "VIREMENT", "PAYPAL"};
+
+    public record Volumes(int chambres, int reservations, int saisons, int utilisateurs) {
+
+        public static final Volumes PAR_DEFAUT = new Volumes(2_000, 1_000_000, 520, 10_000);
+
+        public Volumes {
+            if (chambres <= 0 || reservations < 0 || saisons < 0 || utilisateurs <= 0) {
+                throw new IllegalArgumentException("Volumes invalides: " + chambres + " chambres, " + reservations
+                        + " reservations, " + saisons + " saisons, " + utilisateurs + " utilisateurs");
+            }
+        }
+    }
+
+    // Plages d'ids inclusives des lignes chargees, reprises par le scenario HTTP
+    public record Bilan(long premiereChambre, long derniereChambre,
+                        long premierUtilisateur, long dernierUtilisateur, long reservations) {}
+
+    public static void main(String[] args) throws Exception {
+        Volumes volumes = new Volumes(
+                args.length > 0 ? Integer.parseInt(args[0]) : Volumes.PAR_DEFAUT.chambres(),
+                args.length > 1 ? Integer.parseInt(args[1]) : Volumes.PAR_DEFAUT.reservations(),
+                args.length > 2 ? Integer.parseInt(args[2]) : Volumes.PAR_DEFAUT.saisons(),
+                args.length > 3 ? Integer.parseInt(args[3]) : Volumes.PAR_DEFAUT.utilisateurs());
+        String url = args.length > 4 ? args[4] : "jdbc:postgresql://localhost:5432/mydatabase";
+        String utilisateur = args.length > 5 ? args[5] : "myuser";
+        String motDePasse = args.length > 6 ? args[6] : "secret";
+
+        try (Connection connexion = DriverManager.getConnection(url, utilisateur, motDePasse)) {
+            long debut = System.nanoTime();
+            Bilan bilan = charger(connexion, volumes, 42L);
+            System.out.printf("%s charges en %d s : %s%n", volumes,
+                    (System.nanoTime() - debut) / 1_000_000_000L, bilan);
+        }
+    }
+
+    /**
+     * Charge les volumes demandes dans une seule transaction, puis met a jour les
+     * sequences et les statistiques du planificateur.
+     */
+    public static Bilan charger(Connection connexion, Volumes volumes, long graine) throws SQLException {
+        boolean autoCommit = connexion.getAutoCommit();
+        connexion.setAutoCommit(false);
+        try {
+            SplittableRandom aleatoire = new SplittableRandom(graine);
+            long premierUtilisateur = prochainId(connexion, "utilisateurs");
+            long premiereChambre = prochainId(connexion, "chambres");
+
+            chargerUtilisateurs(connexion, premierUtilisateur, volumes.utilisateurs());
+            double[] prix = chargerChambres(connexion, premiereChambre, volumes.chambres(), aleatoire);
+            chargerSaisons(connexion, volumes.saisons(), aleatoire);
+            chargerReservations(connexion, volumes, premiereChambre, prix, premierUtilisateur, aleatoire);
+
+            try (Statement statement = connexion.createStatement()) {
+                for (String table : new String[] {"utilisateurs", "chambres", "saisons", "reservations", "payments"}) {
+                    // Meme regle que la migration V1 : l'optimiseur pooled distribue ]valeur - 50, valeur]
+                    statement.execute("SELECT setval('" + table + "_seq', max(id) + 50) FROM " + table
+                            + " HAVING max(id) + 50 > (SELECT last_value FROM " + table + "_seq)");
+                }
+                statement.execute("ANALYZE utilisateurs, chambres, saisons, reservations, payments");
+            }
+            connexion.commit();
+            return new Bilan(premiereChambre, premiereChambre + volumes.chambres() - 1,
+                    premierUtilisateur, premierUtilisateur + volumes.utilisateurs() - 1, volumes.reservations());
+        } catch (SQLException | RuntimeException e) {
+            connexion.rollback();
+            throw e;
+        } finally {
+            connexion.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void chargerUtilisateurs(Connection connexion, long premierId, int nombre) throws SQLException {
+        // Un seul hachage : BCrypt coute plusieurs millisecondes par appel
+        String motDePasse = new BCryptPasswordEncoder().encode("password");
+        try (Copie copie = new Copie(connexion, "utilisateurs (id, username, password, email, role)")) {
+            for (long id = premierId; id < premierId + nombre; id++) {
+                copie.ligne(id, "charge" + id, motDePasse, "charge" + id + "@example.test", "USER");
+            }
+        }
+    }
+
+    private static double[] chargerChambres(Connection connexion, long premierId, int nombre,
+                                            SplittableRandom aleatoire) throws SQLException {
+        double[] prix = new double[nombre];
+        try (Copie copie = new Copie(connexion, "chambres (id, numero, type, prix_base, capacite, description, disponible)")) {
+            for (int i = 0; i < nombre; i++) {
+                int type = aleatoire.nextInt(TYPES.length);
+                prix[i] = 60 + type * 40 + aleatoire.nextInt(40);
+                copie.ligne(premierId + i, "L" + (premierId + i), TYPES[type], prix[i], type + 1,
+                        "Chambre generee", aleatoire.nextInt(50) != 0);
+            }
+        }
+        return prix;
+    }
+
+    private static void chargerSaisons(Connection connexion, int nombre, SplittableRandom aleatoire) throws SQLException {
+        long premierId = prochainId(connexion, "saisons");
+        LocalDate debut = LocalDate.now().minusYears(5);
+        try (Statement statement = connexion.createStatement();
+             ResultSet resultat = statement.executeQuery("SELECT max(date_fin) FROM saisons")) {
+            if (resultat.next() && resultat.getDate(1) != null) {
+                LocalDate apresExistantes = resultat.getDate(1).toLocalDate().plusDays(1);
+                debut = apresExistantes.isAfter(debut) ? apresExistantes : debut;
+            }
+        }
+        try (Copie copie = new Copie(connexion, "saisons (id, nom, date_debut, date_fin, coefficient_prix)")) {
+            for (int i = 0; i < nombre; i++) {
+                LocalDate lundi = debut.plusWeeks(i);
+                copie.ligne(premierId + i, "Semaine " + lundi, lundi, lundi.plusDays(6),
+                        0.7 + aleatoire.nextInt(9) * 0.1);
+            }
+        }
+    }
+
+    private static void chargerReservations(Connection connexion, Volumes volumes, long premiereChambre,
+                                            double[] prix, long premierUtilisateur,
+                                            SplittableRandom aleatoire) throws SQLException {
+        long premierId = prochainId(connexion, "reservations");
+        long premierPaiement = prochainId(connexion, "payments");
+        LocalDate aujourdhui = LocalDate.now();
+        LocalDate[] curseurs = new LocalDate[volumes.chambres()];
+        Arrays.setAll(curseurs, i -> aujourdhui.minusYears(5).plusDays(aleatoire.nextInt(30)));
+
+        // Une seule COPY a la fois par connexion : les paiements suivent, depuis ces tableaux
+        byte[] nuitsParReservation = new byte[volumes.reservations()];
+        boolean[] annulees = new boolean[volumes.reservations()];
+        LocalDateTime[] creations = new LocalDateTime[volumes.reservations()];
+        try (Copie copie = new Copie(connexion,
+                "reservations (id, chambre_id, utilisateur_id, date_debut, date_fin, status, created_at, cancelled_at)")) {
+            for (int i = 0; i < volumes.reservations(); i++) {
+                // Tour de role : toutes les chambres avancent au meme rythme dans le calendrier
+                int chambre = i % volumes.chambres();
+                int nuits = 1 + aleatoire.nextInt(7);
+                LocalDate dateDebut = curseurs[chambre].plusDays(aleatoire.nextInt(4));
+                LocalDate dateFin = dateDebut.plusDays(nuits);
+                curseurs[chambre] = dateFin;
+
+                boolean annulee = aleatoire.nextInt(100) < 15;
+                String status = annulee ? "CANCELLED" : dateFin.isBefore(aujourdhui) ? "COMPLETED" : "CONFIRMED";
+                LocalDateTime creation = dateDebut.minusDays(1 + aleatoire.nextInt(90)).atTime(aleatoire.nextInt(24), 0);
+                copie.ligne(premierId + i, premiereChambre + chambre,
+                        premierUtilisateur + aleatoire.nextInt(volumes.utilisateurs()),
+                        dateDebut, dateFin, status, creation, annulee ? creation.plusDays(1) : null);
+                nuitsParReservation[i] = (byte) nuits;
+                annulees[i] = annulee;
+                creations[i] = creation;
+            }
+        }
+        try (Copie copie = new Copie(connexion, "payments (id, reservation_id, amount, payment_method, status, payment_date)")) {
+            for (int i = 0; i < volumes.reservations(); i++) {
+                copie.ligne(premierPaiement + i, premierId + i, prix[i % volumes.chambres()] * nuitsParReservation[i],
+                        MOYENS_PAIEMENT[aleatoire.nextInt(MOYENS_PAIEMENT.length)],
+                        annulees[i] ? "CANCELLED" : "CONFIRMED", creations[i]);
+            }
+        }
+    }
+
+    private static long prochainId(Connection connexion, String table) throws SQLException {
+        try (Statement statement = connexion.createStatement();
+             ResultSet resultat = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM " + table)) {
+            resultat.next();
+            return resultat.getLong(1);
+        }
+    }
+
+    /**
+     * COPY ... FROM STDIN au format CSV, envoye par blocs d'environ 1 Mo. Les valeurs
+     * generees ne contiennent ni virgule ni guillemet ; null devient un champ vide.
+     */
+    private static final class Copie implements AutoCloseable {
+
+        private final CopyIn copie;
+        private final StringBuilder tampon = new StringBuilder(TAILLE_TAMPON + 1024);
+
+        Copie(Connection connexion, String tableEtColonnes) throws SQLException {
+            this.copie = connexion.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + tableEtColonnes + " FROM STDIN (FORMAT csv)");
+        }
+
+        void ligne(Object... valeurs) throws SQLException {
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    tampon.append(',');
+                }
+                if (valeurs[i] != null) {
+                    tampon.append(valeurs[i] instanceof LocalDateTime instant ? instant.toString().replace('T', ' ') : valeurs[i]);
+                }
+            }
+            tampon.append('\n');
+            if (tampon.length() >= TAILLE_TAMPON) {
+                envoyer();
+            }
+        }
+
+        private void envoyer() throws SQLException {
+            byte[] octets = tampon.toString().getBytes(StandardCharsets.UTF_8);
+            copie.writeToCopy(octets, 0, octets.length);
+            tampon.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            envoyer();
+            copie.endCopy();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package bookingengine.charge;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Charge HTTP de bout en bout : chaque utilisateur virtuel enchaine sans pause le
+ * parcours consultation -> devis -> reservation -> paiement.
+ *
+ *   1. GET  /chambres?taille=50                      (liste paginee)
+ *   2. GET  /chambres/disponibles/periode            (sejour de 1 a 5 nuits dans l'annee)
+ *   3. POST /prix/calculer?details=false             (une des chambres libres)
+ *   4. POST /reservations                            (409 si un autre utilisateur a ete plus rapide)
+ *   5. GET  /payments/reservation/{id} puis PUT /payments/{id} (CONFIRMED)
+ *
+ * Un parcours sans chambre libre s'arrete apres l'etape 2, un conflit apres l'etape 4 :
+ * les 409 sont comptes a part, pas comme des erreurs. Les mesures de la chauffe sont
+ * ignorees ; le rapport donne par endpoint le debit et les centiles de latence. Les
+ * reservations sont faites au nom d'utilisateurs tires dans [1, utilisateurMax].
+ * Classe hors suite de tests, a lancer a la main (nginx de compose.yaml par defaut) :
+ *
+ *   java ... bookingengine.charge.ScenarioReservationHttp [baseUrl] [utilisateursVirtuels] [dureeSecondes] [utilisateurMax]
+ */
+public class ScenarioReservationHttp {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient client;
+    private final URI base;
+    private final long premierUtilisateur;
+    private final long dernierUtilisateur;
+    private volatile Mesures mesures = new Mesures();
+
+    public ScenarioReservationHttp(URI base, long premierUtilisateur, long dernierUtilisateur) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.base = base;
+        this.premierUtilisateur = premierUtilisateur;
+        this.dernierUtilisateur = dernierUtilisateur;
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create(args.length > 0 ? args[0] : "http://localhost");
+        int utilisateursVirtuels = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        Duration duree = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+        long utilisateurMax = args.length > 3 ? Long.parseLong(args[3])
+                : GenerateurDonneesSynthetiques.Volumes.PAR_DEFAUT.utilisateurs();
+
+        new ScenarioReservationHttp(base, 1, utilisateurMax).executer(utilisateursVirtuels, duree);
+    }
+
+    /**
+     * Chauffe (un cinquieme de la duree, 30 s au plus) puis mesure ; affiche le rapport
+     * et renvoie les mesures.
+     */
+    public Mesures executer(int utilisateursVirtuels, Duration duree) throws Exception {
+        Duration chauffe = duree.dividedBy(5).compareTo(Duration.ofSeconds(30)) > 0 ? Duration.ofSeconds(30) : duree.dividedBy(5);
+        System.out.printf("%s : %d utilisateurs virtuels, chauffe %d s, mesure %d s%n",
+                base, utilisateursVirtuels, chauffe.toSeconds(), duree.toSeconds());
+        lancer(utilisateursVirtuels, chauffe);
+        mesures = new Mesures();
+        lancer(utilisateursVirtuels, duree);
+        mesures.afficher(duree);
+        return mesures;
+    }
+
+    private void lancer(int utilisateursVirtuels, Duration duree) throws Exception {
+        long fin = System.nanoTime() + duree.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int i = 0; i < utilisateursVirtuels; i++) {
+                taches.add(executor.submit(() -> {
+                    while (System.nanoTime() < fin) {
+                        parcours();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tache : taches) {
+                tache.get();
+            }
+        }
+    }
+
+    private void parcours() throws InterruptedException {
+        ThreadLocalRandom aleatoire = ThreadLocalRandom.current();
+        LocalDate arrivee = LocalDate.now().plusDays(7 + aleatoire.nextInt(358));
+        LocalDate depart = arrivee.plusDays(1 + aleatoire.nextInt(5));
+        try {
+            appeler("GET /chambres", "GET", "/chambres?taille=50", null);
+
+            JsonNode libres = appeler("GET /chambres/disponibles/periode", "GET",
+                    "/chambres/disponibles/periode?dateDebut=" + arrivee + "&dateFin=" + depart, null);
+            if (libres == null || libres.isEmpty()) {
+                mesures.sansChambreLibre.increment();
+                return;
+            }
+            long chambreId = libres.get(aleatoire.nextInt(libres.size())).get("id").asLong();
+
+            appeler("POST /prix/calculer", "POST", "/prix/calculer?details=false",
+                    Map.of("chambreId", chambreId, "dateDebut", arrivee.toString(), "dateFin", depart.toString()));
+
+            JsonNode reservation = appeler("POST /reservations", "POST", "/reservations", Map.of(
+                    "chambreId", chambreId,
+                    "utilisateurId", aleatoire.nextLong(premierUtilisateur, dernierUtilisateur + 1),
+                    "dateDebut", arrivee.toString(),
+                    "dateFin", depart.toString(),
+                    "paymentMethod", "CARTE"));
+            if (reservation == null) {
+                return;
+            }
+
+            JsonNode payments = appeler("GET /payments/reservation/{id}", "GET",
+                    "/payments/reservation/" + reservation.get("id").asLong(), null);
+            if (payments == null || payments.isEmpty()) {
+                return;
+            }
+            appeler("PUT /payments/{id}", "PUT", "/payments/" + payments.get(0).get("id").asLong(),
+                    Map.of("status", "CONFIRMED"));
+            mesures.parcoursComplets.increment();
+        } catch (IOException e) {
+            // Deja compte comme erreur par appeler() ; le parcours s'arrete
+        }
+    }
+
+    // Renvoie le corps JSON d'une reponse 2xx, null sinon (conflit ou erreur comptes)
+    private JsonNode appeler(String endpoint, String methode, String chemin, Object corps)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requete = HttpRequest.newBuilder(base.resolve(chemin))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (corps == null) {
+            requete.method(methode, HttpRequest.BodyPublishers.noBody());
+        } else {
+            requete.header("Content-Type", "application/json")
+                    .method(methode, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(corps)));
+        }
+
+        Mesures courantes = mesures;
+        long debut = System.nanoTime();
+        HttpResponse<byte[]> reponse;
+        try {
+            reponse = client.send(requete.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            courantes.enregistrer(endpoint, System.nanoTime() - debut, Resultat.ERREUR);
+            throw e;
+        }
+        long latence = System.nanoTime() - debut;
+
+        int code = reponse.statusCode();
+        if (code == 409) {
+            courantes.enregistrer(endpoint, latence, Resultat.CONFLIT);
+            return null;
+        }
+        if (code / 100 != 2) {
+            courantes.enregistrer(endpoint, latence, Resultat.ERREUR);
+            return null;
+        }
+        courantes.enregistrer(endpoint, latence, Resultat.SUCCES);
+        return JSON.readTree(reponse.body());
+    }
+
+    private enum Resultat { SUCCES, CONFLIT, ERREUR }
+
+    /**
+     * Latences brutes par endpoint : assez compact pour quelques millions de requetes,
+     * et des centiles exacts.
+     */
+    public static final class Mesures {
+
+        private final Map<String, Serie> series = new ConcurrentHashMap<>();
+        private final LongAdder parcoursComplets = new LongAdder();
+        private final LongAdder sansChambreLibre = new LongAdder();
+
+        void enregistrer(String endpoint, long latenceNanos, Resultat resultat) {
+            series.computeIfAbsent(endpoint, e -> new Serie()).ajouter(latenceNanos, resultat);
+        }
+
+        void afficher(Duration duree) {
+            double secondes = duree.toMillis() / 1000.0;
+            System.out.printf("%-34s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requetes", "erreurs", "409", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            for (Map.Entry<String, Serie> entree : new TreeMap<>(series).entrySet()) {
+                Serie serie = entree.getValue();
+                long[] latences = serie.triees();
+                System.out.printf("%-34s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        entree.getKey(), latences.length, serie.erreurs, serie.conflits, latences.length / secondes,
+                        millis(centile(latences, 0.50)), millis(centile(latences, 0.95)),
+                        millis(centile(latences, 0.99)), millis(latences.length == 0 ? 0 : latences[latences.length - 1]));
+            }
+            System.out.printf("parcours complets : %.1f/s, sans chambre libre : %d%n",
+                    parcoursComplets.sum() / secondes, sansChambreLibre.sum());
+        }
+
+        public long erreurs() {
+            return series.values().stream().mapToLong(serie -> serie.erreurs).sum();
+        }
+
+        private static long centile(long[] tries, double rang) {
+            if (tries.length == 0) {
+                return 0;
+            }
+            return tries[Math.min(tries.length - 1, (int) Math.ceil(rang * tries.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private static final class Serie {
+
+        private long[] latences = new long[1024];
+        private int taille;
+        private long conflits;
+        private long erreurs;
+
+        synchronized void ajouter(long latenceNanos, Resultat resultat) {
+            if (taille == latences.length) {
+                latences = Arrays.copyOf(latences, taille * 2);
+            }
+            latences[taille++] = latenceNanos;
+            if (resultat == Resultat.CONFLIT) {
+                conflits++;
+            } else if (resultat == Resultat.ERREUR) {
+                erreurs++;
+            }
+        }
+
+        synchronized long[] triees() {
+            long[] copie = Arrays.copyOf(latences, taille);
+            Arrays.sort(copie);
+            return copie;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package bookingengine.domain.exceptions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReservationConflictException Tests")
+class ReservationConflictExceptionTest {
+
+    @Test
+    @DisplayName("Should create exception with message")
+    void shouldCreateExceptionWithMessage() {
+        String message = "La chambre est deja reservee pour les dates selectionnees";
+
+        ReservationConflictException exception = new ReservationConflictException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should extend IllegalStateException to be mapped to 409")
+    void shouldExtendIllegalStateException() {
+        ReservationConflictException exception = new ReservationConflictException("test");
+
+        assertTrue(exception instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,65 @@
+package bookingengine.frameworks.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AfterCommitAdapter Tests")
+class AfterCommitAdapterTest {
+
+    private final AfterCommitAdapter afterCommit = new AfterCommitAdapter();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // Simule une transaction ouverte, comme le ferait le gestionnaire de transactions
+    private void ouvrirTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should run action immediately outside a transaction")
+    void shouldRunActionImmediatelyOutsideTransaction() {
+        afterCommit.executer(executions::incrementAndGet);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should defer action until commit")
+    void shouldDeferActionUntilCommit() {
+        ouvrirTransaction();
+
+        afterCommit.executer(executions::incrementAndGet);
+        assertEquals(0, executions.get());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should drop action on rollback")
+    void shouldDropActionOnRollback() {
+        ouvrirTransaction();
+
+        afterCommit.executer(executions::incrementAndGet);
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, executions.get());
+    }
+}
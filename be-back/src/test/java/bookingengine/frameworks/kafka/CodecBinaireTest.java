@@ -0,0 +1,88 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.ChambreCreatedEvent;
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.PrixAggregatedEvent;
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CodecBinaire Tests")
+class CodecBinaireTest {
+
+    private static final LocalDate DEBUT = LocalDate.of(2026, 7, 1);
+
+    private static final List<Object> EVENEMENTS = List.of(
+            ChambreCreatedEvent.of(1L, "101", "Double", 89.99),
+            SaisonCreatedEvent.of(2L, "Été", DEBUT, DEBUT.plusMonths(2), 1.25),
+            PrixCalculatedEvent.of(1L, "101", "Double", DEBUT, DEBUT.plusDays(3), 3, 269.97),
+            PrixAggregatedEvent.of(1L, "101", "2-3", 42, 179.98, 269.97,
+                    Instant.parse("2026-07-01T10:00:00Z"), Instant.parse("2026-07-01T10:01:00Z")),
+            PaymentCreatedEvent.of(5L, 10L, 1L, new BigDecimal("269.97"), "CARTE", "PENDING"),
+            PaymentStatusChangedEvent.of(5L, 10L, null, "PENDING", "CONFIRMED"),
+            ReservationCreatedEvent.of(10L, 1L, 3L, DEBUT, DEBUT.plusDays(3), "PENDING"),
+            ReservationCancelledEvent.of(10L, 1L, null));
+
+    private final CodecBinaire codec = new CodecBinaire();
+
+    @Test
+    @DisplayName("Should decode what it encodes for every event type")
+    void shouldDecodeWhatItEncodesForEveryEventType() {
+        for (Object evenement : EVENEMENTS) {
+            assertEquals(evenement, codec.decoder(null, codec.encoder(evenement)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should start messages with schema version")
+    void shouldStartMessagesWithSchemaVersion() {
+        byte[] message = codec.encoder(ChambreCreatedEvent.of(1L, "101", "Double", 89.99));
+
+        assertEquals(CodecBinaire.VERSION_SCHEMA, message[0]);
+    }
+
+    @Test
+    @DisplayName("Should be smaller than JSON")
+    void shouldBeSmallerThanJson() {
+        PrixCalculatedEvent evenement = PrixCalculatedEvent.of(1L, "101", "Double", DEBUT, DEBUT.plusDays(3), 3, 269.97);
+
+        assertTrue(codec.encoder(evenement).length * 2 < new CodecJson().encoder(evenement).length);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown schema version")
+    void shouldRejectUnknownSchemaVersion() {
+        byte[] message = codec.encoder(ChambreCreatedEvent.of(1L, "101", "Double", 89.99));
+        message[0] = (byte) (CodecBinaire.VERSION_SCHEMA + 1);
+
+        IllegalArgumentException erreur = assertThrows(IllegalArgumentException.class, () -> codec.decoder(null, message));
+        assertTrue(erreur.getMessage().contains("Version de schema"));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated message")
+    void shouldRejectTruncatedMessage() {
+        byte[] message = codec.encoder(ReservationCreatedEvent.of(10L, 1L, 3L, DEBUT, DEBUT.plusDays(3), "PENDING"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decoder(null, Arrays.copyOf(message, message.length / 2)));
+    }
+
+    @Test
+    @DisplayName("Should reject event without binary type")
+    void shouldRejectEventWithoutBinaryType() {
+        assertThrows(IllegalArgumentException.class, () -> codec.encoder("pas un evenement"));
+    }
+}
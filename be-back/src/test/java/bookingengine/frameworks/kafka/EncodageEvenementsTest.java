@@ -0,0 +1,79 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EncodageEvenements Tests")
+class EncodageEvenementsTest {
+
+    private static final PrixCalculatedEvent PRIX = PrixCalculatedEvent.of(
+            1L, "101", "Double", LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 4), 3, 269.97);
+
+    @Test
+    @DisplayName("Should reject unknown encoding")
+    void shouldRejectUnknownEncoding() {
+        assertThrows(IllegalArgumentException.class, () -> new EncodageEvenements("avro"));
+    }
+
+    @Test
+    @DisplayName("Should announce encoding and event type in headers")
+    void shouldAnnounceEncodingAndEventTypeInHeaders() {
+        ProducerRecord<String, byte[]> enregistrement = new EncodageEvenements(CodecBinaire.NOM)
+                .enregistrement(RouteEvenement.de(PRIX), PRIX);
+
+        assertEquals(KafkaConfig.TOPIC_PRIX, enregistrement.topic());
+        assertEquals("1", enregistrement.key());
+        assertEquals(CodecBinaire.NOM, entete(enregistrement, EncodageEvenements.ENTETE_ENCODAGE));
+        assertEquals("PrixCalculatedEvent", entete(enregistrement, EncodageEvenements.ENTETE_TYPE));
+    }
+
+    @Test
+    @DisplayName("Should decode messages of both encodings whatever the sending encoding")
+    void shouldDecodeMessagesOfBothEncodingsWhateverSendingEncoding() {
+        EncodageEvenements binaire = new EncodageEvenements(CodecBinaire.NOM);
+        EncodageEvenements json = new EncodageEvenements(CodecJson.NOM);
+
+        assertEquals(PRIX, json.decoder(recu(binaire.enregistrement(RouteEvenement.de(PRIX), PRIX))));
+        assertEquals(PRIX, binaire.decoder(recu(json.enregistrement(RouteEvenement.de(PRIX), PRIX))));
+    }
+
+    @Test
+    @DisplayName("Should read message without headers as JSON text")
+    void shouldReadMessageWithoutHeadersAsJsonText() {
+        String ancien = "{\"reservationId\":7,\"reason\":\"Client request\"}";
+        ConsumerRecord<String, byte[]> enregistrement = new ConsumerRecord<>(
+                KafkaConfig.TOPIC_RESERVATIONS, 0, 0L, "7", ancien.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(ancien, new EncodageEvenements(CodecBinaire.NOM).decoder(enregistrement));
+    }
+
+    @Test
+    @DisplayName("Should write JSON identical to the historical format")
+    void shouldWriteJsonIdenticalToHistoricalFormat() {
+        ReservationCancelledEvent annulation = ReservationCancelledEvent.of(7L, 4L, "Client request");
+
+        String json = new String(new EncodageEvenements(CodecJson.NOM)
+                .enregistrement(RouteEvenement.de(annulation), annulation).value(), StandardCharsets.UTF_8);
+
+        assertTrue(json.startsWith("{\"reservationId\":7,\"chambreId\":4,\"reason\":\"Client request\""));
+    }
+
+    private static ConsumerRecord<String, byte[]> recu(ProducerRecord<String, byte[]> envoye) {
+        ConsumerRecord<String, byte[]> recu = new ConsumerRecord<>(envoye.topic(), 0, 0L, envoye.key(), envoye.value());
+        envoye.headers().forEach(recu.headers()::add);
+        return recu;
+    }
+
+    private static String entete(ProducerRecord<String, byte[]> enregistrement, String nom) {
+        return new String(enregistrement.headers().lastHeader(nom).value(), StandardCharsets.UTF_8);
+    }
+}
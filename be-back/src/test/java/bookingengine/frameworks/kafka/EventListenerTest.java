@@ -0,0 +1,93 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventListener Tests")
+class EventListenerTest {
+
+    private static final ReservationCreatedEvent CREATION = ReservationCreatedEvent.of(
+            10L, 4L, 2L, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 3), "PENDING");
+    private static final ReservationCancelledEvent ANNULATION = ReservationCancelledEvent.of(10L, 4L, "Client request");
+
+    @Mock
+    private Consumer<?, ?> consommateur;
+
+    private final EncodageEvenements encodage = new EncodageEvenements(CodecBinaire.NOM);
+
+    private MetriquesConsommation metriques;
+
+    private EventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        metriques = new MetriquesConsommation();
+        listener = spy(new EventListener(encodage, metriques));
+    }
+
+    @Test
+    @DisplayName("Should dispatch each message of a batch to its typed handler in order")
+    void shouldDispatchEachMessageOfBatchToTypedHandlerInOrder() {
+        listener.handleReservationEvents(List.of(recu(CREATION, 0, 5), recu(ANNULATION, 0, 6)), consommateur);
+
+        InOrder ordre = inOrder(listener);
+        ordre.verify(listener).traiter(CREATION);
+        ordre.verify(listener).traiter(ANNULATION);
+    }
+
+    @Test
+    @DisplayName("Should skip unreadable message without losing the rest of the batch")
+    void shouldSkipUnreadableMessageWithoutLosingRestOfBatch() {
+        ConsumerRecord<String, byte[]> illisible = recu(CREATION, 0, 5);
+        illisible.value()[0] = (byte) 99;
+
+        listener.handleReservationEvents(List.of(illisible, recu(ANNULATION, 0, 6)), consommateur);
+
+        verify(listener).traiter(ANNULATION);
+        assertEquals(2, metriques.instantane().messages());
+        assertEquals(1, metriques.instantane().erreurs());
+    }
+
+    @Test
+    @DisplayName("Should record lag per topic from consumer positions")
+    void shouldRecordLagPerTopicFromConsumerPositions() {
+        when(consommateur.currentLag(new TopicPartition(KafkaConfig.TOPIC_RESERVATIONS, 0))).thenReturn(OptionalLong.of(40));
+        when(consommateur.currentLag(new TopicPartition(KafkaConfig.TOPIC_RESERVATIONS, 1))).thenReturn(OptionalLong.of(2));
+
+        listener.handleReservationEvents(
+                List.of(recu(CREATION, 0, 5), recu(ANNULATION, 0, 6), recu(CREATION, 1, 9)), consommateur);
+
+        MetriquesConsommation.Instantane instantane = metriques.instantane();
+        assertEquals(Map.of(KafkaConfig.TOPIC_RESERVATIONS, 42L), instantane.lagParTopic());
+        assertEquals(1, instantane.lots());
+        assertEquals(3.0, instantane.tailleLotMoyenne());
+    }
+
+    private ConsumerRecord<String, byte[]> recu(Object evenement, int partition, long offset) {
+        ProducerRecord<String, byte[]> envoye = encodage.enregistrement(RouteEvenement.de(evenement), evenement);
+        ConsumerRecord<String, byte[]> recu = new ConsumerRecord<>(
+                envoye.topic(), partition, offset, envoye.key(), envoye.value());
+        envoye.headers().forEach(recu.headers()::add);
+        return recu;
+    }
+}
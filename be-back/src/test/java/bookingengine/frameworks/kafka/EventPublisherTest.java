@@ -0,0 +1,59 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PrixCalculatedEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventPublisher Tests")
+class EventPublisherTest {
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private KafkaEventRelay relay;
+
+    @InjectMocks
+    private EventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("Should record event in outbox when a transaction is active")
+    void shouldRecordEventInOutboxWhenTransactionIsActive() {
+        ReservationCreatedEvent event = ReservationCreatedEvent.of(
+                1L, 2L, 3L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), "PENDING");
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            eventPublisher.publish(event);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(applicationEventPublisher).publishEvent(event);
+        verifyNoInteractions(relay);
+    }
+
+    @Test
+    @DisplayName("Should send directly to Kafka outside a transaction")
+    void shouldSendDirectlyToKafkaOutsideTransaction() {
+        PrixCalculatedEvent event = PrixCalculatedEvent.of(
+                1L, "101", "Double", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), 4, 400.0);
+
+        eventPublisher.publish(event);
+
+        verify(relay).envoyer(event);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+}
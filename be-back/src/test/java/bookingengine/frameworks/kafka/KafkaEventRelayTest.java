@@ -0,0 +1,132 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaEventRelay Tests")
+class KafkaEventRelayTest {
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private MetriquesPublication metriques;
+
+    private VoiesEnvoi voies;
+
+    private KafkaEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        metriques = new MetriquesPublication();
+        voies = new VoiesEnvoi(4, 100);
+        relay = new KafkaEventRelay(kafkaTemplate, new EncodageEvenements(CodecJson.NOM), metriques, voies, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        voies.close();
+    }
+
+    @Test
+    @DisplayName("Should send encoded event to the event topic keyed by chambre id")
+    void shouldSendEncodedEventToEventTopicKeyedByChambreId() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relayer(ReservationCancelledEvent.of(7L, 4L, "Client request")).join();
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> envoi = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(envoi.capture());
+        assertEquals(KafkaConfig.TOPIC_RESERVATIONS, envoi.getValue().topic());
+        assertEquals("4", envoi.getValue().key());
+        assertTrue(new String(envoi.getValue().value(), StandardCharsets.UTF_8).contains("\"reservationId\":7"));
+        assertEquals(1, metriques.instantane().envois());
+        assertEquals(0, metriques.instantane().erreurs());
+    }
+
+    @Test
+    @DisplayName("Should fail so the publication stays pending when Kafka rejects the send")
+    void shouldFailSoPublicationStaysPendingWhenKafkaRejectsSend() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponible")));
+
+        ExecutionException echec = assertThrows(ExecutionException.class,
+                () -> relay.relayer(PaymentStatusChangedEvent.of(3L, 7L, 4L, "PENDING", "CONFIRMED")).get());
+        assertInstanceOf(IllegalStateException.class, echec.getCause());
+        assertEquals(1, metriques.instantane().erreurs());
+    }
+
+    @Test
+    @DisplayName("Should fail when Kafka does not acknowledge in time")
+    void shouldFailWhenKafkaDoesNotAcknowledgeInTime() {
+        relay = new KafkaEventRelay(kafkaTemplate, new EncodageEvenements(CodecJson.NOM), metriques, voies, Duration.ofMillis(10));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        ExecutionException echec = assertThrows(ExecutionException.class,
+                () -> relay.relayer(ReservationCancelledEvent.of(7L, 4L, "timeout")).get());
+        assertInstanceOf(IllegalStateException.class, echec.getCause());
+    }
+
+    @Test
+    @DisplayName("Should send events of the same chambre in publication order")
+    void shouldSendEventsOfSameChambreInPublicationOrder() throws Exception {
+        CountDownLatch premierEnvoiCommence = new CountDownLatch(1);
+        CountDownLatch libererPremierEnvoi = new CountDownLatch(1);
+        AtomicBoolean premier = new AtomicBoolean(true);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            // Premier envoi lent : le second doit l'attendre au lieu de le doubler
+            if (premier.getAndSet(false)) {
+                premierEnvoiCommence.countDown();
+                assertTrue(libererPremierEnvoi.await(5, TimeUnit.SECONDS));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        CompletableFuture<Void> creation = relay.relayer(
+                ReservationCreatedEvent.of(7L, 4L, 1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), "PENDING"));
+        assertTrue(premierEnvoiCommence.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> annulation = relay.relayer(ReservationCancelledEvent.of(7L, 4L, "Client request"));
+        libererPremierEnvoi.countDown();
+        CompletableFuture.allOf(creation, annulation).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> envois = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(envois.capture());
+        List<String> valeurs = envois.getAllValues().stream()
+                .map(envoi -> new String(envoi.value(), StandardCharsets.UTF_8))
+                .toList();
+        assertFalse(valeurs.get(0).contains("Client request"));
+        assertTrue(valeurs.get(1).contains("Client request"));
+    }
+
+    @Test
+    @DisplayName("Should reject event without topic")
+    void shouldRejectEventWithoutTopic() {
+        assertThrows(IllegalArgumentException.class, () -> relay.relayer("pas un evenement"));
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
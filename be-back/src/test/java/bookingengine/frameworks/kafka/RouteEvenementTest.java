@@ -0,0 +1,53 @@
+package bookingengine.frameworks.kafka;
+
+import bookingengine.domain.events.PaymentCreatedEvent;
+import bookingengine.domain.events.PaymentStatusChangedEvent;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.events.ReservationCreatedEvent;
+import bookingengine.domain.events.SaisonCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RouteEvenement Tests")
+class RouteEvenementTest {
+
+    private static final LocalDate DEBUT = LocalDate.of(2026, 7, 1);
+
+    @Test
+    @DisplayName("Should key reservation and payment events of a chambre by chambre id")
+    void shouldKeyReservationAndPaymentEventsOfChambreByChambreId() {
+        RouteEvenement creation = RouteEvenement.de(
+                ReservationCreatedEvent.of(10L, 4L, 2L, DEBUT, DEBUT.plusDays(2), "PENDING"));
+        RouteEvenement paiement = RouteEvenement.de(
+                PaymentCreatedEvent.of(20L, 10L, 4L, BigDecimal.TEN, "CB", "PENDING"));
+        RouteEvenement changement = RouteEvenement.de(
+                PaymentStatusChangedEvent.of(20L, 10L, 4L, "PENDING", "CONFIRMED"));
+        RouteEvenement annulation = RouteEvenement.de(ReservationCancelledEvent.of(10L, 4L, "Client request"));
+
+        assertEquals(new RouteEvenement(KafkaConfig.TOPIC_RESERVATIONS, "4"), creation);
+        assertEquals(new RouteEvenement(KafkaConfig.TOPIC_PAYMENTS, "4"), paiement);
+        assertEquals(new RouteEvenement(KafkaConfig.TOPIC_PAYMENTS, "4"), changement);
+        assertEquals(new RouteEvenement(KafkaConfig.TOPIC_RESERVATIONS, "4"), annulation);
+    }
+
+    @Test
+    @DisplayName("Should fall back to event id when chambre id is missing")
+    void shouldFallBackToEventIdWhenChambreIdIsMissing() {
+        assertEquals("10", RouteEvenement.de(ReservationCancelledEvent.of(10L, null, "Deletion")).cle());
+        assertEquals("20", RouteEvenement.de(PaymentStatusChangedEvent.of(20L, 10L, null, "PENDING", "CANCELLED")).cle());
+    }
+
+    @Test
+    @DisplayName("Should key saison events by saison id")
+    void shouldKeySaisonEventsBySaisonId() {
+        RouteEvenement route = RouteEvenement.de(
+                SaisonCreatedEvent.of(3L, "Ete", DEBUT, DEBUT.plusMonths(2), 1.2));
+
+        assertEquals(new RouteEvenement(KafkaConfig.TOPIC_SAISONS, "3"), route);
+    }
+}
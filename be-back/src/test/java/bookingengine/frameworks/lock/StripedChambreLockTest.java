@@ -0,0 +1,151 @@
+package bookingengine.frameworks.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StripedChambreLock Tests")
+class StripedChambreLockTest {
+
+    @Test
+    @DisplayName("Should reject non positive segment count")
+    void shouldRejectNonPositiveSegmentCount() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedChambreLock(0));
+    }
+
+    @Test
+    @DisplayName("Should map chambres to segments modulo segment count")
+    void shouldMapChambresToSegmentsModuloSegmentCount() {
+        StripedChambreLock lock = new StripedChambreLock(4);
+
+        assertEquals(1, lock.segment(1L));
+        assertEquals(1, lock.segment(5L));
+        assertEquals(2, lock.segment(2L));
+    }
+
+    @Test
+    @DisplayName("Should return action result")
+    void shouldReturnActionResult() {
+        StripedChambreLock lock = new StripedChambreLock(4);
+
+        assertEquals("ok", lock.withLock(1L, () -> "ok"));
+    }
+
+    @Test
+    @DisplayName("Should serialize actions on the same chambre")
+    void shouldSerializeActionsOnSameChambre() throws Exception {
+        StripedChambreLock lock = new StripedChambreLock(16);
+        AtomicInteger enCours = new AtomicInteger();
+        AtomicInteger maxEnCours = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch depart = new CountDownLatch(1);
+            List<Future<?>> taches = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                taches.add(executor.submit(() -> {
+                    depart.await();
+                    for (int j = 0; j < 100; j++) {
+                        lock.withLock(7L, () -> {
+                            maxEnCours.accumulateAndGet(enCours.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            return enCours.decrementAndGet();
+                        });
+                    }
+                    return null;
+                }));
+            }
+            depart.countDown();
+            for (Future<?> tache : taches) {
+                tache.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, maxEnCours.get());
+    }
+
+    @Test
+    @DisplayName("Should not block chambres on different segments")
+    void shouldNotBlockChambresOnDifferentSegments() throws Exception {
+        StripedChambreLock lock = new StripedChambreLock(16);
+        CountDownLatch chambre1Verrouillee = new CountDownLatch(1);
+        CountDownLatch liberer = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> detenteur = executor.submit(() -> lock.withLock(1L, () -> {
+                chambre1Verrouillee.countDown();
+                try {
+                    return liberer.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(chambre1Verrouillee.await(10, TimeUnit.SECONDS));
+
+            // Chambre 2 : autre segment, obtenu alors que la chambre 1 est tenue
+            assertEquals("libre", lock.withLock(2L, () -> "libre"));
+
+            liberer.countDown();
+            detenteur.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release locks when action throws")
+    void shouldReleaseLocksWhenActionThrows() throws Exception {
+        StripedChambreLock lock = new StripedChambreLock(4);
+
+        assertThrows(IllegalStateException.class, () -> lock.withLocks(List.of(5L, 1L, 2L), () -> {
+            throw new IllegalStateException("echec");
+        }));
+
+        // Un autre thread doit obtenir immediatement les segments liberes
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> autre = executor.submit(() -> lock.withLocks(List.of(1L, 2L), () -> 2));
+            assertEquals(2, autre.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hold locks until the surrounding transaction completes")
+    void shouldHoldLocksUntilTransactionCompletes() throws Exception {
+        StripedChambreLock lock = new StripedChambreLock(4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals("ecrit", lock.withLock(1L, () -> "ecrit"));
+
+            // Action terminee mais transaction pas encore validee : la chambre reste tenue
+            Future<String> suivant = executor.submit(() -> lock.withLock(1L, () -> "suivant"));
+            assertThrows(TimeoutException.class, () -> suivant.get(200, TimeUnit.MILLISECONDS));
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+            assertEquals("suivant", suivant.get(10, TimeUnit.SECONDS));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdownNow();
+        }
+    }
+}
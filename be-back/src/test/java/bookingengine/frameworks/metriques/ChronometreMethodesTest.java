@@ -0,0 +1,77 @@
+package bookingengine.frameworks.metriques;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChronometreMethodes Tests")
+class ChronometreMethodesTest {
+
+    private SimpleMeterRegistry registry;
+    private ServiceMesure service;
+
+    // Classe concrete sans interface, proxifiee comme les use cases
+    public static class ServiceMesure {
+
+        public String lire(String cle) {
+            return "valeur-" + cle;
+        }
+
+        public void echouer() {
+            throw new IllegalStateException("conflit");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ProxyFactory proxyFactory = new ProxyFactory(new ServiceMesure());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ChronometreMethodes(registry, "booking.test"));
+        service = (ServiceMesure) proxyFactory.getProxy();
+    }
+
+    private Timer timer(String methode, String exception) {
+        return registry.find("booking.test")
+                .tag("classe", "ServiceMesure")
+                .tag("methode", methode)
+                .tag("exception", exception)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("Should time each successful call per class and method")
+    void shouldTimeEachSuccessfulCallPerClassAndMethod() {
+        assertEquals("valeur-a", service.lire("a"));
+        service.lire("b");
+
+        Timer timer = timer("lire", ChronometreMethodes.SANS_EXCEPTION);
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("Should tag failed calls with exception and rethrow it")
+    void shouldTagFailedCallsWithExceptionAndRethrowIt() {
+        assertThrows(IllegalStateException.class, () -> service.echouer());
+
+        Timer timer = timer("echouer", "IllegalStateException");
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertNull(timer("echouer", ChronometreMethodes.SANS_EXCEPTION));
+    }
+
+    @Test
+    @DisplayName("Should not time methods inherited from Object")
+    void shouldNotTimeMethodsInheritedFromObject() {
+        service.toString();
+        service.hashCode();
+
+        assertTrue(registry.find("booking.test").timers().isEmpty());
+    }
+}
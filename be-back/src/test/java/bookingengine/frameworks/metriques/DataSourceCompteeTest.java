@@ -0,0 +1,89 @@
+package bookingengine.frameworks.metriques;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DataSourceComptee Tests")
+class DataSourceCompteeTest {
+
+    @Mock
+    private DataSource cible;
+
+    @Mock
+    private Connection connexion;
+
+    private DataSourceComptee dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(cible.getConnection()).thenReturn(connexion);
+        dataSource = new DataSourceComptee(cible);
+    }
+
+    @Test
+    @DisplayName("Should count statements prepared or created during a measure")
+    void shouldCountStatementsPreparedOrCreatedDuringMeasure() throws SQLException {
+        try (CompteurRequetesSql.Mesure mesure = CompteurRequetesSql.demarrer()) {
+            Connection connection = dataSource.getConnection();
+            connection.prepareStatement("select 1");
+            connection.prepareStatement("select 2");
+            connection.createStatement();
+            connection.setAutoCommit(false);
+            connection.commit();
+
+            assertEquals(3, mesure.nombre());
+        }
+        verify(connexion).prepareStatement("select 1");
+        verify(connexion).commit();
+    }
+
+    @Test
+    @DisplayName("Should count a statement in every nested measure")
+    void shouldCountStatementInEveryNestedMeasure() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try (CompteurRequetesSql.Mesure test = CompteurRequetesSql.demarrer()) {
+            connection.prepareStatement("select 1");
+            try (CompteurRequetesSql.Mesure requete = CompteurRequetesSql.demarrer()) {
+                connection.prepareStatement("select 2");
+                assertEquals(1, requete.nombre());
+            }
+            connection.prepareStatement("select 3");
+
+            assertEquals(3, test.nombre());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside a measure")
+    void shouldNotCountStatementsOutsideMeasure() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.prepareStatement("select 1");
+
+        try (CompteurRequetesSql.Mesure mesure = CompteurRequetesSql.demarrer()) {
+            assertEquals(0, mesure.nombre());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow driver exceptions unchanged")
+    void shouldRethrowDriverExceptionsUnchanged() throws SQLException {
+        SQLException erreur = new SQLException("connexion fermée");
+        when(connexion.prepareStatement("select 1")).thenThrow(erreur);
+
+        Connection connection = dataSource.getConnection();
+
+        assertSame(erreur, assertThrows(SQLException.class, () -> connection.prepareStatement("select 1")));
+    }
+}
@@ -1,8 +1,11 @@
 package bookingengine.integration;
 
 import bookingengine.TestcontainersConfiguration;
+import bookingengine.adapters.persistence.entities.ReservationJpaEntity;
 import bookingengine.adapters.persistence.repositories.ChambreJpaRepository;
+import bookingengine.adapters.persistence.repositories.ReservationJpaRepository;
 import bookingengine.adapters.web.dto.ChambreDto;
+import bookingengine.usecase.reservation.IndexOccupation;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeAll;
@@ -19,6 +22,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static bookingengine.integration.RequetesSql.assertRequetesSql;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +41,12 @@ class ChambreApiIntegrationTest {
     @Autowired
     private ChambreJpaRepository chambreJpaRepository;
 
+    @Autowired
+    private ReservationJpaRepository reservationJpaRepository;
+
+    @Autowired
+    private IndexOccupation indexOccupation;
+
     private static ObjectMapper objectMapper;
 
     @BeforeAll
@@ -44,9 +57,34 @@ class ChambreApiIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        reservationJpaRepository.deleteAll();
         chambreJpaRepository.deleteAll();
     }
 
+    private Long createChambre(String numero, boolean disponible) throws Exception {
+        MvcResult result = mockMvc.perform(post("/chambres")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ChambreDto(null, numero, "Double", 89.99, 2, "Desc", disponible))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ChambreDto.class).id();
+    }
+
+    private void createReservation(Long chambreId, LocalDate debut, LocalDate fin,
+                                   ReservationJpaEntity.ReservationStatusJpa status) {
+        ReservationJpaEntity reservation = new ReservationJpaEntity();
+        reservation.setChambreId(chambreId);
+        reservation.setUtilisateurId(1L);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatus(status);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservationJpaRepository.save(reservation);
+        // Insertion directe en base : l'index d'occupation ne la voit pas sans rechargement
+        indexOccupation.recharger();
+    }
+
     @Nested
     @DisplayName("Full CRUD Flow Tests")
     @WithMockUser
@@ -128,6 +166,50 @@ class ChambreApiIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.length()").value(2));
         }
+
+        @Test
+        @DisplayName("Should walk through chambres page by page with cursor header")
+        void shouldWalkThroughChambresPageByPageWithCursorHeader() throws Exception {
+            Long premiere = createChambre("101", true);
+            Long deuxieme = createChambre("102", true);
+            Long troisieme = createChambre("103", false);
+
+            MvcResult page1 = mockMvc.perform(get("/chambres").param("taille", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(premiere))
+                    .andExpect(jsonPath("$[1].id").value(deuxieme))
+                    .andExpect(header().string("X-Curseur-Suivant", deuxieme.toString()))
+                    .andReturn();
+
+            mockMvc.perform(get("/chambres").param("taille", "2")
+                            .param("apres", page1.getResponse().getHeader("X-Curseur-Suivant")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(troisieme))
+                    .andExpect(header().doesNotExist("X-Curseur-Suivant"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for non positive page size")
+        void shouldReturn400ForNonPositivePageSize() throws Exception {
+            mockMvc.perform(get("/chambres").param("taille", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return the full list only on explicit request")
+        void shouldReturnFullListOnlyOnExplicitRequest() throws Exception {
+            createChambre("101", true);
+            createChambre("102", true);
+
+            mockMvc.perform(get("/chambres").param("complet", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(header().doesNotExist("X-Curseur-Suivant"));
+            mockMvc.perform(get("/chambres").param("complet", "true").param("taille", "1"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -157,6 +239,61 @@ class ChambreApiIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /chambres/disponibles/periode")
+    @WithMockUser
+    class GetChambresDisponiblesPourPeriodeTests {
+
+        @Test
+        @DisplayName("Should exclude chambres with an overlapping active reservation")
+        void shouldExcludeChambresWithOverlappingActiveReservation() throws Exception {
+            Long occupee = createChambre("101", true);
+            Long annulee = createChambre("102", true);
+            Long departLeJourMeme = createChambre("103", true);
+            createChambre("104", false);
+            createReservation(occupee, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 8),
+                    ReservationJpaEntity.ReservationStatusJpa.CONFIRMED);
+            createReservation(annulee, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5),
+                    ReservationJpaEntity.ReservationStatusJpa.CANCELLED);
+            createReservation(departLeJourMeme, LocalDate.of(2024, 6, 28), LocalDate.of(2024, 7, 1),
+                    ReservationJpaEntity.ReservationStatusJpa.PENDING);
+
+            mockMvc.perform(get("/chambres/disponibles/periode")
+                            .param("dateDebut", "2024-07-01")
+                            .param("dateFin", "2024-07-05"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].numero").value("102"))
+                    .andExpect(jsonPath("$[1].numero").value("103"));
+        }
+
+        @Test
+        @DisplayName("Should read chambres available for a period in a single statement")
+        void shouldReadChambresAvailableForPeriodInSingleStatement() throws Exception {
+            for (int numero = 101; numero <= 110; numero++) {
+                Long chambreId = createChambre(String.valueOf(numero), true);
+                createReservation(chambreId, LocalDate.of(2024, 6, 25), LocalDate.of(2024, 7, numero % 2 == 0 ? 1 : 3),
+                        ReservationJpaEntity.ReservationStatusJpa.CONFIRMED);
+            }
+
+            // Occupation lue dans l'index en memoire : pas de requete par chambre
+            assertRequetesSql(1, () -> mockMvc.perform(get("/chambres/disponibles/periode")
+                            .param("dateDebut", "2024-07-01")
+                            .param("dateFin", "2024-07-05"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when start date is after end date")
+        void shouldReturn400WhenStartDateIsAfterEndDate() throws Exception {
+            mockMvc.perform(get("/chambres/disponibles/periode")
+                            .param("dateDebut", "2024-07-05")
+                            .param("dateFin", "2024-07-01"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /chambres/type/{type}")
     @WithMockUser
@@ -0,0 +1,160 @@
+package bookingengine.integration;
+
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.adapters.persistence.entities.ChambreJpaEntity;
+import bookingengine.adapters.persistence.repositories.ChambreJpaRepository;
+import bookingengine.adapters.persistence.repositories.PaymentJpaRepository;
+import bookingengine.adapters.persistence.repositories.ReservationJpaRepository;
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.exceptions.ReservationConflictException;
+import bookingengine.usecase.reservation.IndexOccupation;
+import bookingengine.usecase.reservation.ReservationUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@DisplayName("IndexOccupation Integration Tests")
+class IndexOccupationIntegrationTest {
+
+    private static final LocalDate DEBUT = LocalDate.of(2030, 7, 1);
+    private static final LocalDate FIN = LocalDate.of(2030, 7, 5);
+
+    @Autowired
+    private ReservationUseCase reservationUseCase;
+
+    @Autowired
+    private IndexOccupation indexOccupation;
+
+    @Autowired
+    private ChambreJpaRepository chambreJpaRepository;
+
+    @Autowired
+    private ReservationJpaRepository reservationJpaRepository;
+
+    @Autowired
+    private PaymentJpaRepository paymentJpaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long chambreId;
+
+    @BeforeEach
+    void setUp() {
+        paymentJpaRepository.deleteAll();
+        reservationJpaRepository.deleteAll();
+        chambreJpaRepository.deleteAll();
+        indexOccupation.recharger();
+
+        ChambreJpaEntity chambre = new ChambreJpaEntity();
+        chambre.setNumero("301");
+        chambre.setType("Double");
+        chambre.setPrixBase(89.99);
+        chambre.setCapacite(2);
+        chambre.setDescription("Desc");
+        chambre.setDisponible(true);
+        chambreId = chambreJpaRepository.save(chambre).getId();
+    }
+
+    private Reservation reservation() {
+        Reservation reservation = new Reservation();
+        reservation.setChambreId(chambreId);
+        reservation.setUtilisateurId(1L);
+        reservation.setDateDebut(DEBUT);
+        reservation.setDateFin(FIN);
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Should leave index untouched when creation is rolled back")
+    void shouldLeaveIndexUntouchedWhenCreationIsRolledBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationUseCase.creerReservation(reservation());
+            // Pas encore valide : l'index ne doit rien voir
+            assertTrue(indexOccupation.estLibre(chambreId, DEBUT, FIN));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(indexOccupation.estLibre(chambreId, DEBUT, FIN));
+        assertEquals(0, reservationJpaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep nights occupied when cancellation is rolled back")
+    void shouldKeepNightsOccupiedWhenCancellationIsRolledBack() {
+        Long id = reservationUseCase.creerReservation(reservation()).getId();
+        assertFalse(indexOccupation.estLibre(chambreId, DEBUT, FIN));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationUseCase.annulerReservation(id, "Test");
+            status.setRollbackOnly();
+        });
+
+        assertFalse(indexOccupation.estLibre(chambreId, DEBUT, FIN));
+    }
+
+    @Test
+    @DisplayName("Should apply index change once transaction commits")
+    void shouldApplyIndexChangeOnceTransactionCommits() {
+        Long id = reservationUseCase.creerReservation(reservation()).getId();
+
+        reservationUseCase.annulerReservation(id, "Test");
+
+        assertTrue(indexOccupation.estLibre(chambreId, DEBUT, FIN));
+    }
+
+    @Test
+    @DisplayName("Should reject concurrent bookings of a chambre before insert through the transactional proxy")
+    void shouldRejectConcurrentBookingsBeforeInsert() throws Exception {
+        int reservants = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(reservants);
+        try {
+            CountDownLatch depart = new CountDownLatch(1);
+            List<Future<Reservation>> tentatives = new ArrayList<>();
+            for (int i = 0; i < reservants; i++) {
+                tentatives.add(executor.submit(() -> {
+                    depart.await();
+                    return reservationUseCase.creerReservation(reservation());
+                }));
+            }
+            depart.countDown();
+
+            int reussies = 0;
+            for (Future<Reservation> tentative : tentatives) {
+                try {
+                    tentative.get(30, TimeUnit.SECONDS);
+                    reussies++;
+                } catch (ExecutionException e) {
+                    // Verrou rendu apres le commit : le suivant voit la chambre prise dans
+                    // l'index, sans INSERT rejete par la contrainte d'exclusion (cause SQL)
+                    ReservationConflictException conflit =
+                            assertInstanceOf(ReservationConflictException.class, e.getCause());
+                    assertNull(conflit.getCause());
+                }
+            }
+
+            assertEquals(1, reussies);
+            assertEquals(1, reservationJpaRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package bookingengine.integration;
+
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.usecase.chambre.ChambreUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifie que les proxys de MetriquesConfig et TransactionConfig chronometrent bien
+ * les use cases et les repositories appeles par l'application.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@DisplayName("Metriques Integration Tests")
+class MetriquesIntegrationTest {
+
+    @Autowired
+    private ChambreUseCase chambreUseCase;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Should time use case call and the repository call it makes")
+    void shouldTimeUseCaseCallAndRepositoryCallItMakes() {
+        chambreUseCase.obtenirToutesChambres();
+
+        assertNotNull(registry.find("booking.usecase")
+                .tag("classe", "ChambreUseCase").tag("methode", "obtenirToutesChambres").tag("exception", "none")
+                .timer());
+        assertNotNull(registry.find("booking.repository")
+                .tag("classe", "ChambreRepositoryImpl").tag("methode", "findAll").tag("exception", "none")
+                .timer());
+    }
+
+    @Test
+    @DisplayName("Should register business histograms and existing counters")
+    void shouldRegisterBusinessHistogramsAndExistingCounters() {
+        assertNotNull(registry.find("booking.prix.devis.nuits").summary());
+        assertNotNull(registry.find("booking.reservation.conflits").summary());
+        assertNotNull(registry.find("booking.prix.cache.hits").functionCounter());
+        assertNotNull(registry.find("booking.kafka.consommation.lag").gauge());
+    }
+}
@@ -6,6 +6,8 @@ import bookingengine.adapters.persistence.repositories.SaisonJpaRepository;
 import bookingengine.adapters.web.dto.CalculPrixRequest;
 import bookingengine.adapters.web.dto.ChambreDto;
 import bookingengine.adapters.web.dto.SaisonDto;
+import bookingengine.usecase.prix.CachePrix;
+import bookingengine.usecase.saison.CalendrierSaisons;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeAll;
@@ -24,6 +26,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 
+import static bookingengine.integration.RequetesSql.assertAuPlusRequetesSql;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -50,10 +53,19 @@ class PrixApiIntegrationTest {
     @Autowired
     private SaisonJpaRepository saisonJpaRepository;
 
+    @Autowired
+    private CalendrierSaisons calendrierSaisons;
+
+    @Autowired
+    private CachePrix cachePrix;
+
     @BeforeEach
     void setUp() {
         chambreJpaRepository.deleteAll();
         saisonJpaRepository.deleteAll();
+        // Les suppressions directes en base contournent SaisonUseCase
+        calendrierSaisons.recharger();
+        cachePrix.vider();
     }
 
     private Long createChambre(String numero, double prixBase) throws Exception {
@@ -197,5 +209,52 @@ class PrixApiIntegrationTest {
                             .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isBadRequest());
         }
+
+        @Test
+        @DisplayName("Should return 400 when dates are missing")
+        void shouldReturn400WhenDatesAreMissing() throws Exception {
+            Long chambreId = createChambre("101", 100.0);
+
+            mockMvc.perform(post("/prix/calculer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"chambreId\": " + chambreId + "}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a batch with a null or incomplete request")
+        void shouldReturn400ForBatchWithNullOrIncompleteRequest() throws Exception {
+            Long chambreId = createChambre("101", 100.0);
+
+            mockMvc.perform(post("/prix/calculer/lot")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[null]"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/prix/calculer/lot")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"chambreId\": " + chambreId + ", \"dateDebut\": \"2024-07-01\"}]"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should price a month long stay without one statement per night")
+        void shouldPriceMonthLongStayWithoutOneStatementPerNight() throws Exception {
+            Long chambreId = createChambre("101", 100.0);
+            createSaison("Haute Saison", LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 15), 1.5);
+            createSaison("Fin d'ete", LocalDate.of(2024, 7, 16), LocalDate.of(2024, 8, 31), 1.2);
+
+            CalculPrixRequest request = new CalculPrixRequest(
+                    chambreId,
+                    LocalDate.of(2024, 7, 1),
+                    LocalDate.of(2024, 7, 31)
+            );
+
+            // Lecture de la chambre, les saisons viennent du calendrier en memoire
+            assertAuPlusRequetesSql(2, () -> mockMvc.perform(post("/prix/calculer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nombreNuits").value(30)));
+        }
     }
 }
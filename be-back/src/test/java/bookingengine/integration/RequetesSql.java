@@ -0,0 +1,38 @@
+package bookingengine.integration;
+
+import bookingengine.frameworks.metriques.CompteurRequetesSql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions sur le nombre d'instructions SQL envoyees pendant un appel (une requete
+ * MockMvc le plus souvent), pour figer le cout en base de chaque endpoint.
+ */
+final class RequetesSql {
+
+    @FunctionalInterface
+    interface Appel {
+        void executer() throws Exception;
+    }
+
+    private RequetesSql() {
+    }
+
+    static int compter(Appel appel) throws Exception {
+        try (CompteurRequetesSql.Mesure mesure = CompteurRequetesSql.demarrer()) {
+            appel.executer();
+            return mesure.nombre();
+        }
+    }
+
+    static void assertRequetesSql(int attendu, Appel appel) throws Exception {
+        assertEquals(attendu, compter(appel), "Nombre d'instructions SQL");
+    }
+
+    static void assertAuPlusRequetesSql(int maximum, Appel appel) throws Exception {
+        int nombre = compter(appel);
+        assertTrue(nombre <= maximum,
+                "Nombre d'instructions SQL : " + nombre + " pour un maximum de " + maximum);
+    }
+}
@@ -0,0 +1,237 @@
+package bookingengine.integration;
+
+import bookingengine.TestcontainersConfiguration;
+import bookingengine.adapters.persistence.entities.ChambreJpaEntity;
+import bookingengine.adapters.persistence.repositories.ChambreJpaRepository;
+import bookingengine.adapters.persistence.repositories.PaymentJpaRepository;
+import bookingengine.adapters.persistence.repositories.ReservationJpaRepository;
+import bookingengine.adapters.persistence.repositories.SaisonJpaRepository;
+import bookingengine.adapters.persistence.repositories.UtilisateurJpaRepository;
+import bookingengine.adapters.web.dto.ConnexionRequest;
+import bookingengine.adapters.web.dto.InscriptionRequest;
+import bookingengine.adapters.web.dto.ReservationCreateRequest;
+import bookingengine.adapters.web.dto.SaisonDto;
+import bookingengine.usecase.prix.CachePrix;
+import bookingengine.usecase.reservation.IndexOccupation;
+import bookingengine.usecase.saison.CalendrierSaisons;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static bookingengine.integration.RequetesSql.assertAuPlusRequetesSql;
+import static bookingengine.integration.RequetesSql.assertRequetesSql;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Nombre d'instructions SQL par endpoint (reservations, paiements, saisons, auth).
+ *
+ * Les lectures sont figees exactement. Les ecritures sont bornees : les identifiants
+ * sont pris par blocs de 50 dans les sequences, un nextval n'a donc lieu que lorsque
+ * le bloc courant est epuise, ce qui depend des tests deja passes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@DisplayName("Requetes SQL par endpoint")
+class RequetesSqlIntegrationTest {
+
+    private static final LocalDate DEBUT = LocalDate.of(2031, 3, 10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChambreJpaRepository chambreJpaRepository;
+
+    @Autowired
+    private ReservationJpaRepository reservationJpaRepository;
+
+    @Autowired
+    private PaymentJpaRepository paymentJpaRepository;
+
+    @Autowired
+    private SaisonJpaRepository saisonJpaRepository;
+
+    @Autowired
+    private UtilisateurJpaRepository utilisateurJpaRepository;
+
+    @Autowired
+    private IndexOccupation indexOccupation;
+
+    @Autowired
+    private CalendrierSaisons calendrierSaisons;
+
+    @Autowired
+    private CachePrix cachePrix;
+
+    private static ObjectMapper objectMapper;
+
+    private Long chambreId;
+
+    @BeforeAll
+    static void setupObjectMapper() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @BeforeEach
+    void setUp() {
+        paymentJpaRepository.deleteAll();
+        reservationJpaRepository.deleteAll();
+        chambreJpaRepository.deleteAll();
+        saisonJpaRepository.deleteAll();
+        utilisateurJpaRepository.deleteAll();
+        // Index et calendrier charges ici : leur premier chargement ne doit pas
+        // etre compte dans l'appel mesure
+        indexOccupation.recharger();
+        calendrierSaisons.recharger();
+        cachePrix.vider();
+
+        ChambreJpaEntity chambre = new ChambreJpaEntity();
+        chambre.setNumero("301");
+        chambre.setType("Double");
+        chambre.setPrixBase(89.99);
+        chambre.setCapacite(2);
+        chambre.setDescription("Desc");
+        chambre.setDisponible(true);
+        chambreId = chambreJpaRepository.save(chambre).getId();
+    }
+
+    private MvcResult creerReservation(LocalDate debut, LocalDate fin) throws Exception {
+        return mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ReservationCreateRequest(chambreId, 1L, debut, fin, "CARTE"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+    }
+
+    private Long idDe(MvcResult result) throws Exception {
+        JsonNode corps = objectMapper.readTree(result.getResponse().getContentAsString());
+        return corps.get("id").asLong();
+    }
+
+    private void inscrire(String username) throws Exception {
+        mockMvc.perform(post("/auth/inscription")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new InscriptionRequest(username, "secret123", username + "@example.com"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Nested
+    @DisplayName("Reservations")
+    class ReservationTests {
+
+        @Test
+        @DisplayName("POST /reservations : lecture de la chambre, INSERT reservation et paiement, outbox")
+        void creerReservation_nombreBorne() throws Exception {
+            // SELECT chambre + 2 INSERT (reservation, paiement) + INSERT outbox,
+            // plus un nextval possible par sequence
+            assertAuPlusRequetesSql(6, () -> creerReservation(DEBUT, DEBUT.plusDays(2)));
+        }
+
+        @Test
+        @DisplayName("GET /reservations : une seule requete pour la premiere page")
+        void listerReservations_uneRequete() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                creerReservation(DEBUT.plusDays(3L * i), DEBUT.plusDays(3L * i + 2));
+            }
+
+            assertRequetesSql(1, () -> mockMvc.perform(get("/reservations"))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("GET /reservations/{id} : une seule requete")
+        void obtenirReservation_uneRequete() throws Exception {
+            Long id = idDe(creerReservation(DEBUT, DEBUT.plusDays(2)));
+
+            assertRequetesSql(1, () -> mockMvc.perform(get("/reservations/{id}", id))
+                    .andExpect(status().isOk()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Paiements")
+    class PaymentTests {
+
+        @Test
+        @DisplayName("GET /payments : une seule requete pour la premiere page")
+        void listerPayments_uneRequete() throws Exception {
+            creerReservation(DEBUT, DEBUT.plusDays(2));
+            creerReservation(DEBUT.plusDays(3), DEBUT.plusDays(5));
+
+            assertRequetesSql(1, () -> mockMvc.perform(get("/payments"))
+                    .andExpect(status().isOk()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Saisons")
+    class SaisonTests {
+
+        @Test
+        @DisplayName("POST /saisons : controle de chevauchement, INSERT saison, outbox")
+        void creerSaison_nombreBorne() throws Exception {
+            SaisonDto saison = new SaisonDto(null, "Printemps", DEBUT, DEBUT.plusDays(30), 1.1);
+
+            // SELECT chevauchement + INSERT saison + INSERT outbox, plus un nextval possible
+            assertAuPlusRequetesSql(4, () -> mockMvc.perform(post("/saisons")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(saison)))
+                    .andExpect(status().isCreated()));
+        }
+
+        @Test
+        @DisplayName("GET /saisons : une seule requete")
+        void listerSaisons_uneRequete() throws Exception {
+            mockMvc.perform(post("/saisons")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new SaisonDto(null, "Printemps", DEBUT, DEBUT.plusDays(30), 1.1))))
+                    .andExpect(status().isCreated());
+
+            assertRequetesSql(1, () -> mockMvc.perform(get("/saisons"))
+                    .andExpect(status().isOk()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Auth")
+    class AuthTests {
+
+        @Test
+        @DisplayName("POST /auth/inscription : deux controles d'unicite puis INSERT")
+        void inscrire_nombreBorne() throws Exception {
+            // existsByUsername + existsByEmail + INSERT, plus un nextval possible
+            assertAuPlusRequetesSql(4, () -> inscrire("alice"));
+        }
+
+        @Test
+        @DisplayName("POST /auth/connexion : verification du mot de passe puis lecture de l'utilisateur")
+        void connexion_deuxRequetes() throws Exception {
+            inscrire("bob");
+
+            assertRequetesSql(2, () -> mockMvc.perform(post("/auth/connexion")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ConnexionRequest("bob", "secret123"))))
+                    .andExpect(status().isOk()));
+        }
+    }
+}
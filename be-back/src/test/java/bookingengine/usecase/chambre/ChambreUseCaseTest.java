@@ -4,7 +4,14 @@ import bookingengine.domain.entities.Chambre;
 import bookingengine.domain.events.ChambreCreatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
 import bookingengine.domain.repositories.ChambreRepository;
+import bookingengine.domain.repositories.ReservationRepository;
+import bookingengine.usecase.pagination.PageCurseur;
+import bookingengine.usecase.prix.CachePrix;
+import bookingengine.usecase.prix.CalculPrixUseCase;
+import bookingengine.usecase.reservation.IndexOccupation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,9 +21,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,11 +41,26 @@ class ChambreUseCaseTest {
     @Mock
     private EventPublisherPort eventPublisher;
 
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private CachePrix cachePrix;
+
     private ChambreUseCase chambreUseCase;
 
     @BeforeEach
     void setUp() {
-        chambreUseCase = new ChambreUseCase(chambreRepository, eventPublisher);
+        cachePrix = new CachePrix();
+        chambreUseCase = new ChambreUseCase(chambreRepository, eventPublisher, cachePrix,
+                new IndexOccupation(reservationRepository));
+    }
+
+    private void mettreEnCacheDevis(Long chambreId) {
+        LocalDate debut = LocalDate.of(2024, 5, 1);
+        LocalDate fin = LocalDate.of(2024, 5, 3);
+        cachePrix.enregistrer(new CachePrix.Cle(chambreId, debut, fin),
+                new CalculPrixUseCase.ResultatCalculPrix("101", "Double", debut, fin, 2, 89.99, 1.0, 179.98, List.of()),
+                cachePrix.generation());
     }
 
     @Nested
@@ -67,6 +91,55 @@ class ChambreUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("creerChambres Tests")
+    class CreerChambresTests {
+
+        @Test
+        @DisplayName("Should save chambres in one call and publish one event per chambre")
+        void shouldSaveChambresInOneCallAndPublishOneEventPerChambre() {
+            List<Chambre> chambres = List.of(
+                    new Chambre(null, "101", "Double", 89.99, 2, "Description", true),
+                    new Chambre(null, "102", "Suite", 150.0, 4, "Description", true));
+            when(chambreRepository.saveAll(chambres)).thenReturn(List.of(
+                    new Chambre(1L, "101", "Double", 89.99, 2, "Description", true),
+                    new Chambre(2L, "102", "Suite", 150.0, 4, "Description", true)));
+
+            List<Chambre> result = chambreUseCase.creerChambres(chambres);
+
+            assertEquals(2, result.size());
+            verify(chambreRepository).saveAll(chambres);
+            verify(chambreRepository, never()).save(any(Chambre.class));
+            ArgumentCaptor<ChambreCreatedEvent> eventCaptor = ArgumentCaptor.forClass(ChambreCreatedEvent.class);
+            verify(eventPublisher, times(2)).publish(eventCaptor.capture());
+            assertEquals(List.of(1L, 2L), eventCaptor.getAllValues().stream().map(ChambreCreatedEvent::chambreId).toList());
+        }
+
+        @Test
+        @DisplayName("Should reject empty or oversized batch")
+        void shouldRejectEmptyOrOversizedBatch() {
+            List<Chambre> tropGrand = IntStream.rangeClosed(1, ChambreUseCase.TAILLE_MAX_LOT + 1)
+                    .mapToObj(i -> new Chambre(null, String.valueOf(i), "Double", 89.99, 2, "Description", true))
+                    .toList();
+
+            assertThrows(IllegalArgumentException.class, () -> chambreUseCase.creerChambres(List.of()));
+            assertThrows(IllegalArgumentException.class, () -> chambreUseCase.creerChambres(tropGrand));
+            verify(chambreRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject duplicate numbers in batch")
+        void shouldRejectDuplicateNumbersInBatch() {
+            List<Chambre> chambres = List.of(
+                    new Chambre(null, "101", "Double", 89.99, 2, "Description", true),
+                    new Chambre(null, "101", "Suite", 150.0, 4, "Description", true));
+
+            assertThrows(IllegalArgumentException.class, () -> chambreUseCase.creerChambres(chambres));
+            verify(chambreRepository, never()).saveAll(anyList());
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
     @Nested
     @DisplayName("modifierChambre Tests")
     class ModifierChambreTests {
@@ -106,6 +179,40 @@ class ChambreUseCaseTest {
             assertTrue(exception.getMessage().contains("999"));
             verify(chambreRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should evict cached quotes when prixBase changes")
+        void shouldEvictCachedQuotesWhenPrixBaseChanges() {
+            Long id = 1L;
+            Chambre existingChambre = new Chambre(id, "101", "Double", 89.99, 2, "Description", true);
+            Chambre savedChambre = new Chambre(id, "101", "Double", 99.99, 2, "Description", true);
+            mettreEnCacheDevis(id);
+            mettreEnCacheDevis(2L);
+
+            when(chambreRepository.findById(id)).thenReturn(Optional.of(existingChambre));
+            when(chambreRepository.save(any(Chambre.class))).thenReturn(savedChambre);
+
+            chambreUseCase.modifierChambre(id, new Chambre(null, "101", "Double", 99.99, 2, "Description", true));
+
+            assertEquals(1, cachePrix.statistiques().taille());
+            assertTrue(cachePrix.obtenir(new CachePrix.Cle(id, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3)), false).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep cached quotes when only description changes")
+        void shouldKeepCachedQuotesWhenOnlyDescriptionChanges() {
+            Long id = 1L;
+            Chambre existingChambre = new Chambre(id, "101", "Double", 89.99, 2, "Old description", true);
+            Chambre savedChambre = new Chambre(id, "101", "Double", 89.99, 2, "New description", true);
+            mettreEnCacheDevis(id);
+
+            when(chambreRepository.findById(id)).thenReturn(Optional.of(existingChambre));
+            when(chambreRepository.save(any(Chambre.class))).thenReturn(savedChambre);
+
+            chambreUseCase.modifierChambre(id, new Chambre(null, "101", "Double", 89.99, 2, "New description", true));
+
+            assertEquals(1, cachePrix.statistiques().taille());
+        }
     }
 
     @Nested
@@ -126,6 +233,19 @@ class ChambreUseCaseTest {
             verify(chambreRepository).deleteById(id);
         }
 
+        @Test
+        @DisplayName("Should evict cached quotes of deleted chambre")
+        void shouldEvictCachedQuotesOfDeletedChambre() {
+            Long id = 1L;
+            mettreEnCacheDevis(id);
+
+            when(chambreRepository.findById(id)).thenReturn(Optional.of(new Chambre(id, "101", "Double", 89.99, 2, "Description", true)));
+
+            chambreUseCase.supprimerChambre(id);
+
+            assertEquals(0, cachePrix.statistiques().taille());
+        }
+
         @Test
         @DisplayName("Should throw exception when chambre not found")
         void shouldThrowExceptionWhenChambreNotFound() {
@@ -195,6 +315,18 @@ class ChambreUseCaseTest {
 
             assertTrue(result.isEmpty());
         }
+
+        @Test
+        @DisplayName("Should return first page with default size")
+        void shouldReturnFirstPageWithDefaultSize() {
+            when(chambreRepository.findPage(null, PageCurseur.TAILLE_PAR_DEFAUT + 1)).thenReturn(List.of(
+                    new Chambre(1L, "101", "Double", 89.99, 2, "Desc 1", true)));
+
+            PageCurseur<Chambre> page = chambreUseCase.obtenirPageChambres(null, null);
+
+            assertEquals(1, page.elements().size());
+            assertNull(page.curseurSuivant());
+        }
     }
 
     @Nested
@@ -217,6 +349,42 @@ class ChambreUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("obtenirChambresDisponiblesPourPeriode Tests")
+    class ObtenirChambresDisponiblesPourPeriodeTests {
+
+        @Test
+        @DisplayName("Should exclude chambres occupied during the period")
+        void shouldExcludeChambresOccupiedDuringPeriod() {
+            LocalDate debut = LocalDate.of(2024, 7, 1);
+            LocalDate fin = LocalDate.of(2024, 7, 5);
+            Chambre libre = new Chambre(1L, "101", "Double", 89.99, 2, "Desc", true);
+            Chambre occupee = new Chambre(2L, "102", "Double", 89.99, 2, "Desc", true);
+            Reservation reservation = new Reservation();
+            reservation.setId(10L);
+            reservation.setChambreId(2L);
+            reservation.setDateDebut(LocalDate.of(2024, 7, 4));
+            reservation.setDateFin(LocalDate.of(2024, 7, 6));
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+
+            when(chambreRepository.findByDisponible(true)).thenReturn(List.of(libre, occupee));
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(reservation));
+
+            List<Chambre> result = chambreUseCase.obtenirChambresDisponiblesPourPeriode(debut, fin);
+
+            assertEquals(List.of(libre), result);
+            verify(reservationRepository, never()).findConflictingReservations(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when start date is after end date")
+        void shouldThrowExceptionWhenStartDateIsAfterEndDate() {
+            assertThrows(IllegalArgumentException.class, () -> chambreUseCase.obtenirChambresDisponiblesPourPeriode(
+                    LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 1)));
+            verifyNoInteractions(chambreRepository);
+        }
+    }
+
     @Nested
     @DisplayName("obtenirChambresParType Tests")
     class ObtenirChambresParTypeTests {
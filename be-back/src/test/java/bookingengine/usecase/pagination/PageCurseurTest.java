@@ -0,0 +1,65 @@
+package bookingengine.usecase.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PageCurseur Tests")
+class PageCurseurTest {
+
+    @Nested
+    @DisplayName("tailleEffective Tests")
+    class TailleEffectiveTests {
+
+        @Test
+        @DisplayName("Should use default size when absent")
+        void shouldUseDefaultSizeWhenAbsent() {
+            assertEquals(PageCurseur.TAILLE_PAR_DEFAUT, PageCurseur.tailleEffective(null));
+        }
+
+        @Test
+        @DisplayName("Should cap size to maximum")
+        void shouldCapSizeToMaximum() {
+            assertEquals(PageCurseur.TAILLE_MAX, PageCurseur.tailleEffective(10_000));
+            assertEquals(20, PageCurseur.tailleEffective(20));
+        }
+
+        @Test
+        @DisplayName("Should reject non positive size")
+        void shouldRejectNonPositiveSize() {
+            assertThrows(IllegalArgumentException.class, () -> PageCurseur.tailleEffective(0));
+            assertThrows(IllegalArgumentException.class, () -> PageCurseur.tailleEffective(-5));
+        }
+    }
+
+    @Nested
+    @DisplayName("depuis Tests")
+    class DepuisTests {
+
+        @Test
+        @DisplayName("Should expose last id as cursor when an extra row was read")
+        void shouldExposeLastIdAsCursorWhenExtraRowWasRead() {
+            PageCurseur<Long> page = PageCurseur.depuis(List.of(3L, 7L, 9L), 2, Function.identity());
+
+            assertEquals(List.of(3L, 7L), page.elements());
+            assertEquals(7L, page.curseurSuivant());
+        }
+
+        @Test
+        @DisplayName("Should have no cursor on last page")
+        void shouldHaveNoCursorOnLastPage() {
+            PageCurseur<Long> pleine = PageCurseur.depuis(List.of(3L, 7L), 2, Function.identity());
+            PageCurseur<Long> vide = PageCurseur.depuis(List.of(), 2, Function.identity());
+
+            assertEquals(List.of(3L, 7L), pleine.elements());
+            assertNull(pleine.curseurSuivant());
+            assertTrue(vide.elements().isEmpty());
+            assertNull(vide.curseurSuivant());
+        }
+    }
+}
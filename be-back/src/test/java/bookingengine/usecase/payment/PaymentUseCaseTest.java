@@ -10,12 +10,15 @@ import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
 import bookingengine.domain.repositories.PaymentRepository;
 import bookingengine.domain.repositories.ReservationRepository;
+import bookingengine.usecase.pagination.PageCurseur;
+import bookingengine.usecase.reservation.IndexOccupation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -45,7 +48,8 @@ class PaymentUseCaseTest {
 
     @BeforeEach
     void setUp() {
-        paymentUseCase = new PaymentUseCase(paymentRepository, reservationRepository, eventPublisher);
+        paymentUseCase = new PaymentUseCase(paymentRepository, reservationRepository, eventPublisher,
+                new IndexOccupation(reservationRepository));
     }
 
     @Nested
@@ -122,16 +126,21 @@ class PaymentUseCaseTest {
 
             Reservation reservation = new Reservation();
             reservation.setId(reservationId);
+            reservation.setChambreId(4L);
             reservation.setStatus(ReservationStatus.PENDING);
 
+            when(paymentRepository.findReservationIdById(paymentId)).thenReturn(Optional.of(reservationId));
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(existingPayment));
             when(paymentRepository.save(any(Payment.class))).thenReturn(updatedPayment);
-            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findByIdForUpdate(reservationId)).thenReturn(Optional.of(reservation));
 
             Payment result = paymentUseCase.modifierPayment(paymentId, updatedPayment);
 
             assertEquals(PaymentStatus.CONFIRMED, result.getStatus());
-            verify(eventPublisher).publish(any(PaymentStatusChangedEvent.class));
+            ArgumentCaptor<PaymentStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(PaymentStatusChangedEvent.class);
+            verify(eventPublisher).publish(eventCaptor.capture());
+            assertEquals(reservationId, eventCaptor.getValue().reservationId());
+            assertEquals(4L, eventCaptor.getValue().chambreId());
         }
 
         @Test
@@ -154,9 +163,10 @@ class PaymentUseCaseTest {
             reservation.setId(reservationId);
             reservation.setStatus(ReservationStatus.PENDING);
 
+            when(paymentRepository.findReservationIdById(paymentId)).thenReturn(Optional.of(reservationId));
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(existingPayment));
             when(paymentRepository.save(any(Payment.class))).thenReturn(updatedPayment);
-            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findByIdForUpdate(reservationId)).thenReturn(Optional.of(reservation));
 
             paymentUseCase.modifierPayment(paymentId, updatedPayment);
 
@@ -185,9 +195,10 @@ class PaymentUseCaseTest {
             reservation.setId(reservationId);
             reservation.setStatus(ReservationStatus.PENDING);
 
+            when(paymentRepository.findReservationIdById(paymentId)).thenReturn(Optional.of(reservationId));
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(existingPayment));
             when(paymentRepository.save(any(Payment.class))).thenReturn(updatedPayment);
-            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findByIdForUpdate(reservationId)).thenReturn(Optional.of(reservation));
 
             paymentUseCase.modifierPayment(paymentId, updatedPayment);
 
@@ -216,9 +227,10 @@ class PaymentUseCaseTest {
             reservation.setId(reservationId);
             reservation.setStatus(ReservationStatus.CONFIRMED);
 
+            when(paymentRepository.findReservationIdById(paymentId)).thenReturn(Optional.of(reservationId));
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(existingPayment));
             when(paymentRepository.save(any(Payment.class))).thenReturn(updatedPayment);
-            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findByIdForUpdate(reservationId)).thenReturn(Optional.of(reservation));
 
             paymentUseCase.modifierPayment(paymentId, updatedPayment);
 
@@ -242,6 +254,7 @@ class PaymentUseCaseTest {
             updatedPayment.setReservationId(1L);
             updatedPayment.setStatus(PaymentStatus.PENDING);
 
+            when(paymentRepository.findReservationIdById(paymentId)).thenReturn(Optional.of(1L));
             when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(existingPayment));
             when(paymentRepository.save(any(Payment.class))).thenReturn(updatedPayment);
 
@@ -253,13 +266,70 @@ class PaymentUseCaseTest {
         @Test
         @DisplayName("Should throw exception when payment not found")
         void shouldThrowExceptionWhenPaymentNotFound() {
-            when(paymentRepository.findById(999L)).thenReturn(Optional.empty());
+            when(paymentRepository.findReservationIdById(999L)).thenReturn(Optional.empty());
 
             Payment payment = new Payment();
             payment.setStatus(PaymentStatus.CONFIRMED);
 
             assertThrows(EntityNotFoundException.class,
                     () -> paymentUseCase.modifierPayment(999L, payment));
+            verifyNoInteractions(reservationRepository);
+        }
+
+        @Test
+        @DisplayName("Should lock reservation before reading and saving payment")
+        void shouldLockReservationBeforeReadingAndSavingPayment() {
+            Payment existingPayment = new Payment();
+            existingPayment.setId(1L);
+            existingPayment.setReservationId(2L);
+            existingPayment.setStatus(PaymentStatus.PENDING);
+
+            Payment updatedPayment = new Payment();
+            updatedPayment.setStatus(PaymentStatus.CONFIRMED);
+
+            Reservation reservation = new Reservation();
+            reservation.setId(2L);
+            reservation.setStatus(ReservationStatus.PENDING);
+
+            when(paymentRepository.findReservationIdById(1L)).thenReturn(Optional.of(2L));
+            when(reservationRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(reservation));
+            when(paymentRepository.findById(1L)).thenReturn(Optional.of(existingPayment));
+            when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            paymentUseCase.modifierPayment(1L, updatedPayment);
+
+            InOrder ordre = inOrder(reservationRepository, paymentRepository);
+            ordre.verify(reservationRepository).findByIdForUpdate(2L);
+            ordre.verify(paymentRepository).findById(1L);
+            ordre.verify(paymentRepository).save(any(Payment.class));
+            ordre.verify(reservationRepository).save(reservation);
+            verify(reservationRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should refuse to confirm payment of a reservation cancelled meanwhile")
+        void shouldRefuseToConfirmPaymentOfCancelledReservation() {
+            // L'expiration a annule la reservation et son paiement avant la prise du verrou
+            Payment existingPayment = new Payment();
+            existingPayment.setId(1L);
+            existingPayment.setReservationId(2L);
+            existingPayment.setStatus(PaymentStatus.CANCELLED);
+
+            Payment updatedPayment = new Payment();
+            updatedPayment.setStatus(PaymentStatus.CONFIRMED);
+
+            Reservation reservation = new Reservation();
+            reservation.setId(2L);
+            reservation.setStatus(ReservationStatus.CANCELLED);
+
+            when(paymentRepository.findReservationIdById(1L)).thenReturn(Optional.of(2L));
+            when(reservationRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(reservation));
+            when(paymentRepository.findById(1L)).thenReturn(Optional.of(existingPayment));
+
+            assertThrows(IllegalStateException.class, () -> paymentUseCase.modifierPayment(1L, updatedPayment));
+            verify(paymentRepository, never()).save(any(Payment.class));
+            verify(reservationRepository, never()).save(any(Reservation.class));
+            verifyNoInteractions(eventPublisher);
         }
     }
 
@@ -304,6 +374,22 @@ class PaymentUseCaseTest {
             assertEquals(2, result.size());
         }
 
+        @Test
+        @DisplayName("Should get payments page after cursor")
+        void shouldGetPaymentsPageAfterCursor() {
+            Payment p3 = new Payment();
+            p3.setId(3L);
+            Payment p4 = new Payment();
+            p4.setId(4L);
+
+            when(paymentRepository.findPage(2L, 2)).thenReturn(List.of(p3, p4));
+
+            PageCurseur<Payment> page = paymentUseCase.obtenirPagePayments(2L, 1);
+
+            assertEquals(List.of(p3), page.elements());
+            assertEquals(3L, page.curseurSuivant());
+        }
+
         @Test
         @DisplayName("Should get payments by reservation")
         void shouldGetPaymentsByReservation() {
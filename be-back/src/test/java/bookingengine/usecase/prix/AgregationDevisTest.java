@@ -0,0 +1,105 @@
+package bookingengine.usecase.prix;
+
+import bookingengine.domain.events.PrixAggregatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AgregationDevis Tests")
+class AgregationDevisTest {
+
+    private static CalculPrixUseCase.ResultatCalculPrix devis(long nuits, double prixTotal) {
+        LocalDate debut = LocalDate.of(2026, 7, 1);
+        return new CalculPrixUseCase.ResultatCalculPrix("101", "Double", debut, debut.plusDays(nuits),
+                nuits, 100.0, 1.0, prixTotal, List.of());
+    }
+
+    @Test
+    @DisplayName("Should reject sampling rate outside 0 and 1")
+    void shouldRejectSamplingRateOutsideZeroAndOne() {
+        assertThrows(IllegalArgumentException.class, () -> new AgregationDevis(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new AgregationDevis(1.5));
+    }
+
+    @Test
+    @DisplayName("Should sample every quote at rate 1 and none at rate 0")
+    void shouldSampleEveryQuoteAtRateOneAndNoneAtRateZero() {
+        AgregationDevis toutes = new AgregationDevis(1.0);
+        AgregationDevis aucune = new AgregationDevis(0.0);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(toutes.enregistrer(1L, devis(2, 200.0)));
+            assertFalse(aucune.enregistrer(1L, devis(2, 200.0)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should map stay lengths to buckets")
+    void shouldMapStayLengthsToBuckets() {
+        assertEquals(AgregationDevis.TrancheSejour.UNE_NUIT, AgregationDevis.TrancheSejour.de(1));
+        assertEquals(AgregationDevis.TrancheSejour.DEUX_A_TROIS_NUITS, AgregationDevis.TrancheSejour.de(3));
+        assertEquals(AgregationDevis.TrancheSejour.QUATRE_A_SEPT_NUITS, AgregationDevis.TrancheSejour.de(4));
+        assertEquals(AgregationDevis.TrancheSejour.HUIT_A_QUATORZE_NUITS, AgregationDevis.TrancheSejour.de(14));
+        assertEquals(AgregationDevis.TrancheSejour.QUINZE_NUITS_ET_PLUS, AgregationDevis.TrancheSejour.de(30));
+    }
+
+    @Test
+    @DisplayName("Should summarize count, min and max per room and bucket then start a new window")
+    void shouldSummarizeCountMinAndMaxPerRoomAndBucketThenStartNewWindow() {
+        AgregationDevis agregation = new AgregationDevis(0.0);
+        agregation.enregistrer(1L, devis(2, 200.0));
+        agregation.enregistrer(1L, devis(3, 330.0));
+        agregation.enregistrer(1L, devis(7, 700.0));
+        agregation.enregistrer(2L, devis(2, 180.0));
+
+        List<PrixAggregatedEvent> resumes = agregation.fermerFenetre();
+
+        assertEquals(3, resumes.size());
+        PrixAggregatedEvent chambre1CourtSejour = resumes.stream()
+                .filter(r -> r.chambreId().equals(1L) && r.trancheNuits().equals("2-3"))
+                .findFirst().orElseThrow();
+        assertEquals(2, chambre1CourtSejour.nombreDevis());
+        assertEquals(200.0, chambre1CourtSejour.prixMin());
+        assertEquals(330.0, chambre1CourtSejour.prixMax());
+        assertFalse(chambre1CourtSejour.finFenetre().isBefore(chambre1CourtSejour.debutFenetre()));
+        assertTrue(agregation.fermerFenetre().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not lose quotes recorded while windows are closed")
+    void shouldNotLoseQuotesRecordedWhileWindowsAreClosed() throws Exception {
+        AgregationDevis agregation = new AgregationDevis(0.0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        long total = 0;
+        try {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                taches.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        agregation.enregistrer((long) (i % 5), devis(1 + i % 10, 100.0));
+                    }
+                }));
+            }
+            while (taches.stream().anyMatch(tache -> !tache.isDone())) {
+                total += agregation.fermerFenetre().stream().mapToLong(PrixAggregatedEvent::nombreDevis).sum();
+            }
+            for (Future<?> tache : taches) {
+                tache.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        total += agregation.fermerFenetre().stream().mapToLong(PrixAggregatedEvent::nombreDevis).sum();
+
+        assertEquals(40_000, total);
+    }
+}
@@ -0,0 +1,126 @@
+package bookingengine.usecase.prix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachePrix Tests")
+class CachePrixTest {
+
+    private CachePrix cachePrix;
+
+    @BeforeEach
+    void setUp() {
+        cachePrix = new CachePrix(2);
+    }
+
+    private static CachePrix.Cle cle(Long chambreId, int jourDebut, int jourFin) {
+        return new CachePrix.Cle(chambreId, LocalDate.of(2024, 6, jourDebut), LocalDate.of(2024, 6, jourFin));
+    }
+
+    private static CalculPrixUseCase.ResultatCalculPrix resultat(CachePrix.Cle cle, List<CalculPrixUseCase.DetailJour> details) {
+        return new CalculPrixUseCase.ResultatCalculPrix("101", "Double", cle.dateDebut(), cle.dateFin(),
+                2, 100.0, 1.0, 200.0, details);
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used quote when full")
+    void shouldEvictLeastRecentlyUsedQuoteWhenFull() {
+        CachePrix.Cle a = cle(1L, 1, 3);
+        CachePrix.Cle b = cle(2L, 1, 3);
+        CachePrix.Cle c = cle(3L, 1, 3);
+        cachePrix.enregistrer(a, resultat(a, List.of()), cachePrix.generation());
+        cachePrix.enregistrer(b, resultat(b, List.of()), cachePrix.generation());
+        cachePrix.obtenir(a, false);
+        cachePrix.enregistrer(c, resultat(c, List.of()), cachePrix.generation());
+
+        assertTrue(cachePrix.obtenir(a, false).isPresent());
+        assertTrue(cachePrix.obtenir(b, false).isEmpty());
+        assertTrue(cachePrix.obtenir(c, false).isPresent());
+        assertEquals(1, cachePrix.statistiques().evictions());
+        assertEquals(2, cachePrix.statistiques().taille());
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void shouldCountHitsAndMisses() {
+        CachePrix.Cle a = cle(1L, 1, 3);
+        cachePrix.obtenir(a, false);
+        cachePrix.enregistrer(a, resultat(a, List.of()), cachePrix.generation());
+        cachePrix.obtenir(a, false);
+        cachePrix.obtenir(a, false);
+
+        assertEquals(2, cachePrix.statistiques().hits());
+        assertEquals(1, cachePrix.statistiques().misses());
+        assertEquals(2.0 / 3, cachePrix.statistiques().tauxSucces(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should not store quote computed before an invalidation")
+    void shouldNotStoreQuoteComputedBeforeInvalidation() {
+        CachePrix.Cle a = cle(1L, 1, 3);
+        long generationLue = cachePrix.generation();
+
+        cachePrix.invaliderPeriode(LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 2));
+        cachePrix.enregistrer(a, resultat(a, List.of()), generationLue);
+
+        assertEquals(0, cachePrix.statistiques().taille());
+    }
+
+    @Test
+    @DisplayName("Should keep detailed quote when a summary is stored for the same key")
+    void shouldKeepDetailedQuoteWhenSummaryIsStored() {
+        CachePrix.Cle a = cle(1L, 1, 2);
+        CalculPrixUseCase.DetailJour detail = new CalculPrixUseCase.DetailJour(a.dateDebut(), "Hors saison", 1.0, 100.0);
+        cachePrix.enregistrer(a, resultat(a, List.of(detail)), cachePrix.generation());
+        cachePrix.enregistrer(a, resultat(a, List.of()), cachePrix.generation());
+
+        assertTrue(cachePrix.obtenir(a, true).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should evict only stays with a night inside the period")
+    void shouldEvictOnlyStaysWithNightInsidePeriod() {
+        cachePrix = new CachePrix(10);
+        CachePrix.Cle departLeJourMeme = cle(1L, 8, 10);
+        CachePrix.Cle chevauchant = cle(2L, 9, 11);
+        CachePrix.Cle arriveeLeDernierJour = cle(3L, 20, 22);
+        CachePrix.Cle apres = cle(4L, 21, 23);
+        for (CachePrix.Cle cle : List.of(departLeJourMeme, chevauchant, arriveeLeDernierJour, apres)) {
+            cachePrix.enregistrer(cle, resultat(cle, List.of()), cachePrix.generation());
+        }
+
+        cachePrix.invaliderPeriode(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 20));
+
+        assertTrue(cachePrix.obtenir(departLeJourMeme, false).isPresent());
+        assertTrue(cachePrix.obtenir(chevauchant, false).isEmpty());
+        assertTrue(cachePrix.obtenir(arriveeLeDernierJour, false).isEmpty());
+        assertTrue(cachePrix.obtenir(apres, false).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should not keep a quote computed between invalidation request and commit")
+    void shouldNotKeepQuoteComputedBeforeCommit() {
+        List<Runnable> enAttente = new ArrayList<>();
+        cachePrix = new CachePrix(10, enAttente::add);
+        CachePrix.Cle cle = cle(1L, 1, 3);
+
+        // Prix de la chambre modifie, transaction pas encore validee
+        cachePrix.invaliderChambre(1L);
+        // Devis concurrent : lit encore l'ancien prix de base
+        long generationLue = cachePrix.generation();
+        cachePrix.enregistrer(cle, resultat(cle, List.of()), generationLue);
+        // Commit
+        enAttente.forEach(Runnable::run);
+
+        assertTrue(cachePrix.obtenir(cle, false).isEmpty());
+        cachePrix.enregistrer(cle, resultat(cle, List.of()), generationLue);
+        assertTrue(cachePrix.obtenir(cle, false).isEmpty());
+    }
+}
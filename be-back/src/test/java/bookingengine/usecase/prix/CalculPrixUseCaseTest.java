@@ -2,11 +2,14 @@ package bookingengine.usecase.prix;
 
 import bookingengine.domain.entities.Chambre;
 import bookingengine.domain.entities.Saison;
+import bookingengine.domain.events.PrixAggregatedEvent;
 import bookingengine.domain.events.PrixCalculatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.ports.MetriquesPort;
 import bookingengine.domain.repositories.ChambreRepository;
 import bookingengine.domain.repositories.SaisonRepository;
+import bookingengine.usecase.saison.CalendrierSaisons;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,7 +20,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,11 +42,19 @@ class CalculPrixUseCaseTest {
     @Mock
     private EventPublisherPort eventPublisher;
 
+    @Mock
+    private MetriquesPort metriques;
+
+    private CachePrix cachePrix;
+
     private CalculPrixUseCase calculPrixUseCase;
 
     @BeforeEach
     void setUp() {
-        calculPrixUseCase = new CalculPrixUseCase(chambreRepository, saisonRepository, eventPublisher);
+        cachePrix = new CachePrix();
+        // Echantillonnage a 100 % : chaque devis publie son evenement
+        calculPrixUseCase = new CalculPrixUseCase(chambreRepository, new CalendrierSaisons(saisonRepository), cachePrix,
+                eventPublisher, new AgregationDevis(1.0), metriques);
     }
 
     @Nested
@@ -56,7 +70,7 @@ class CalculPrixUseCaseTest {
             Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(saisonRepository.findByDate(any(LocalDate.class))).thenReturn(Optional.empty());
+            when(saisonRepository.findAll()).thenReturn(List.of());
 
             double prix = calculPrixUseCase.calculerPrix(chambreId, debut, fin);
 
@@ -73,7 +87,7 @@ class CalculPrixUseCaseTest {
             Saison hauteSaison = new Saison(1L, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(saisonRepository.findByDate(any(LocalDate.class))).thenReturn(Optional.of(hauteSaison));
+            when(saisonRepository.findAll()).thenReturn(List.of(hauteSaison));
 
             double prix = calculPrixUseCase.calculerPrix(chambreId, debut, fin);
 
@@ -132,13 +146,30 @@ class CalculPrixUseCaseTest {
             Saison saison = new Saison(1L, "Saison", LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31), 1.333);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(saisonRepository.findByDate(any(LocalDate.class))).thenReturn(Optional.of(saison));
+            when(saisonRepository.findAll()).thenReturn(List.of(saison));
 
             double prix = calculPrixUseCase.calculerPrix(chambreId, debut, fin);
 
             // Vérifier que le prix est arrondi à 2 décimales
             assertEquals(prix, Math.round(prix * 100.0) / 100.0);
         }
+
+        @Test
+        @DisplayName("Should load saisons once and never query by date")
+        void shouldLoadSaisonsOnceAndNeverQueryByDate() {
+            Long chambreId = 1L;
+            Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
+            Saison hauteSaison = new Saison(1L, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+
+            when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of(hauteSaison));
+
+            calculPrixUseCase.calculerPrix(chambreId, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31));
+            calculPrixUseCase.calculerPrix(chambreId, LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 15));
+
+            verify(saisonRepository, times(1)).findAll();
+            verify(saisonRepository, never()).findByDate(any());
+        }
     }
 
     @Nested
@@ -155,7 +186,7 @@ class CalculPrixUseCaseTest {
             Saison hauteSaison = new Saison(1L, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(saisonRepository.findByDate(any(LocalDate.class))).thenReturn(Optional.of(hauteSaison));
+            when(saisonRepository.findAll()).thenReturn(List.of(hauteSaison));
 
             CalculPrixUseCase.ResultatCalculPrix result = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
 
@@ -179,9 +210,7 @@ class CalculPrixUseCaseTest {
             Saison hauteSaison = new Saison(1L, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(saisonRepository.findByDate(LocalDate.of(2024, 5, 30))).thenReturn(Optional.empty());
-            when(saisonRepository.findByDate(LocalDate.of(2024, 5, 31))).thenReturn(Optional.empty());
-            when(saisonRepository.findByDate(LocalDate.of(2024, 6, 1))).thenReturn(Optional.of(hauteSaison));
+            when(saisonRepository.findAll()).thenReturn(List.of(hauteSaison));
 
             CalculPrixUseCase.ResultatCalculPrix result = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
 
@@ -207,7 +236,7 @@ class CalculPrixUseCaseTest {
             Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(saisonRepository.findByDate(any(LocalDate.class))).thenReturn(Optional.empty());
+            when(saisonRepository.findAll()).thenReturn(List.of());
 
             calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
 
@@ -222,6 +251,27 @@ class CalculPrixUseCaseTest {
             assertEquals(200.0, event.prixTotal());
         }
 
+        @Test
+        @DisplayName("Should return same total without day breakdown when details not requested")
+        void shouldReturnSameTotalWithoutDayBreakdown() {
+            Long chambreId = 1L;
+            LocalDate debut = LocalDate.of(2024, 5, 30);
+            LocalDate fin = LocalDate.of(2024, 6, 2);
+            Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
+            Saison hauteSaison = new Saison(1L, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+
+            when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of(hauteSaison));
+
+            CalculPrixUseCase.ResultatCalculPrix detaille = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin, true);
+            CalculPrixUseCase.ResultatCalculPrix resume = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin, false);
+
+            assertEquals(350.0, resume.prixTotal());
+            assertEquals(detaille.prixTotal(), resume.prixTotal());
+            assertEquals(detaille.coefficientSaisonnier(), resume.coefficientSaisonnier());
+            assertTrue(resume.detailsParJour().isEmpty());
+        }
+
         @Test
         @DisplayName("Should throw exception for invalid dates in detailed calculation")
         void shouldThrowExceptionForInvalidDatesInDetailedCalculation() {
@@ -237,6 +287,210 @@ class CalculPrixUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("calculerPrixLot Tests")
+    class CalculerPrixLotTests {
+
+        @Test
+        @DisplayName("Should load all chambres in one query and price every demande")
+        void shouldLoadAllChambresInOneQuery() {
+            Chambre chambre1 = new Chambre(1L, "101", "Double", 100.0, 2, "Desc", true);
+            Chambre chambre2 = new Chambre(2L, "201", "Suite", 200.0, 4, "Desc", true);
+            List<CalculPrixUseCase.DemandePrix> demandes = List.of(
+                    new CalculPrixUseCase.DemandePrix(1L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3)),
+                    new CalculPrixUseCase.DemandePrix(2L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 2)),
+                    new CalculPrixUseCase.DemandePrix(1L, LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 11))
+            );
+
+            when(chambreRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(chambre1, chambre2));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            List<CalculPrixUseCase.ResultatLot> resultats = calculPrixUseCase.calculerPrixLot(demandes, false);
+
+            assertEquals(3, resultats.size());
+            assertEquals(200.0, resultats.get(0).resultat().prixTotal());
+            assertEquals(200.0, resultats.get(1).resultat().prixTotal());
+            assertEquals(100.0, resultats.get(2).resultat().prixTotal());
+            verify(chambreRepository, times(1)).findAllById(any());
+            verify(chambreRepository, never()).findById(any());
+            verify(eventPublisher, times(3)).publish(any(PrixCalculatedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should report per-item errors without failing the batch")
+        void shouldReportPerItemErrorsWithoutFailingTheBatch() {
+            Chambre chambre = new Chambre(1L, "101", "Double", 100.0, 2, "Desc", true);
+            List<CalculPrixUseCase.DemandePrix> demandes = List.of(
+                    new CalculPrixUseCase.DemandePrix(999L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3)),
+                    new CalculPrixUseCase.DemandePrix(1L, LocalDate.of(2024, 5, 3), LocalDate.of(2024, 5, 1)),
+                    new CalculPrixUseCase.DemandePrix(1L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3))
+            );
+
+            when(chambreRepository.findAllById(any())).thenReturn(List.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            List<CalculPrixUseCase.ResultatLot> resultats = calculPrixUseCase.calculerPrixLot(demandes, false);
+
+            assertNull(resultats.get(0).resultat());
+            assertTrue(resultats.get(0).erreur().contains("999"));
+            assertNull(resultats.get(1).resultat());
+            assertTrue(resultats.get(1).erreur().contains("date de fin"));
+            assertNull(resultats.get(2).erreur());
+            assertEquals(200.0, resultats.get(2).resultat().prixTotal());
+        }
+
+        @Test
+        @DisplayName("Should reject empty or oversized batch")
+        void shouldRejectEmptyOrOversizedBatch() {
+            List<CalculPrixUseCase.DemandePrix> tropDeDemandes = Collections.nCopies(
+                    CalculPrixUseCase.TAILLE_MAX_LOT + 1,
+                    new CalculPrixUseCase.DemandePrix(1L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3)));
+
+            assertThrows(IllegalArgumentException.class, () -> calculPrixUseCase.calculerPrixLot(List.of(), false));
+            assertThrows(IllegalArgumentException.class, () -> calculPrixUseCase.calculerPrixLot(tropDeDemandes, false));
+            verifyNoInteractions(chambreRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache des devis Tests")
+    class CacheDevisTests {
+
+        @Test
+        @DisplayName("Should serve repeated quote from cache and still publish event")
+        void shouldServeRepeatedQuoteFromCache() {
+            Long chambreId = 1L;
+            LocalDate debut = LocalDate.of(2024, 5, 1);
+            LocalDate fin = LocalDate.of(2024, 5, 3);
+            Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
+
+            when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            CalculPrixUseCase.ResultatCalculPrix premier = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
+            CalculPrixUseCase.ResultatCalculPrix second = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
+
+            assertEquals(premier, second);
+            verify(chambreRepository, times(1)).findById(chambreId);
+            verify(eventPublisher, times(2)).publish(any(PrixCalculatedEvent.class));
+            assertEquals(1, calculPrixUseCase.statistiquesCache().hits());
+            assertEquals(1, calculPrixUseCase.statistiquesCache().misses());
+        }
+
+        @Test
+        @DisplayName("Should record nights of every quote served, including cache hits")
+        void shouldRecordNightsOfEveryQuoteServedIncludingCacheHits() {
+            Long chambreId = 1L;
+            LocalDate debut = LocalDate.of(2024, 5, 1);
+            LocalDate fin = LocalDate.of(2024, 5, 3);
+            Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
+
+            when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
+            calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin);
+            calculPrixUseCase.calculerPrix(chambreId, debut, fin.plusDays(5));
+
+            verify(metriques, times(2)).enregistrerNuitsDevis(2);
+            verify(metriques).enregistrerNuitsDevis(7);
+        }
+
+        @Test
+        @DisplayName("Should recompute detailed quote when only total is cached")
+        void shouldRecomputeDetailedQuoteWhenOnlyTotalIsCached() {
+            Long chambreId = 1L;
+            LocalDate debut = LocalDate.of(2024, 5, 1);
+            LocalDate fin = LocalDate.of(2024, 5, 3);
+            Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
+
+            when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin, false);
+            CalculPrixUseCase.ResultatCalculPrix detaille = calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin, true);
+
+            assertEquals(2, detaille.detailsParJour().size());
+            verify(chambreRepository, times(2)).findById(chambreId);
+        }
+
+        @Test
+        @DisplayName("Should recompute quote after chambre invalidation")
+        void shouldRecomputeQuoteAfterChambreInvalidation() {
+            Long chambreId = 1L;
+            LocalDate debut = LocalDate.of(2024, 5, 1);
+            LocalDate fin = LocalDate.of(2024, 5, 3);
+
+            when(chambreRepository.findById(chambreId)).thenReturn(
+                    Optional.of(new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true)),
+                    Optional.of(new Chambre(chambreId, "101", "Double", 120.0, 2, "Desc", true)));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            assertEquals(200.0, calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin).prixTotal());
+            cachePrix.invaliderChambre(chambreId);
+            assertEquals(240.0, calculPrixUseCase.calculerPrixDetaille(chambreId, debut, fin).prixTotal());
+        }
+
+        @Test
+        @DisplayName("Should only load chambres missing from cache in batch")
+        void shouldOnlyLoadChambresMissingFromCacheInBatch() {
+            LocalDate debut = LocalDate.of(2024, 5, 1);
+            LocalDate fin = LocalDate.of(2024, 5, 3);
+            Chambre chambre1 = new Chambre(1L, "101", "Double", 100.0, 2, "Desc", true);
+            Chambre chambre2 = new Chambre(2L, "201", "Suite", 200.0, 4, "Desc", true);
+
+            when(chambreRepository.findById(1L)).thenReturn(Optional.of(chambre1));
+            when(chambreRepository.findAllById(Set.of(2L))).thenReturn(List.of(chambre2));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            calculPrixUseCase.calculerPrixDetaille(1L, debut, fin);
+            List<CalculPrixUseCase.ResultatLot> resultats = calculPrixUseCase.calculerPrixLot(List.of(
+                    new CalculPrixUseCase.DemandePrix(1L, debut, fin),
+                    new CalculPrixUseCase.DemandePrix(2L, debut, fin)), false);
+
+            assertEquals(200.0, resultats.get(0).resultat().prixTotal());
+            assertTrue(resultats.get(0).resultat().detailsParJour().isEmpty());
+            assertEquals(400.0, resultats.get(1).resultat().prixTotal());
+        }
+    }
+
+    @Nested
+    @DisplayName("Evenements de devis Tests")
+    class EvenementsDevisTests {
+
+        @Test
+        @DisplayName("Should aggregate unsampled quotes into one summary per room and stay bucket")
+        void shouldAggregateUnsampledQuotesIntoOneSummaryPerRoomAndStayBucket() {
+            calculPrixUseCase = new CalculPrixUseCase(chambreRepository, new CalendrierSaisons(saisonRepository),
+                    cachePrix, eventPublisher, new AgregationDevis(0.0), metriques);
+            Chambre chambre = new Chambre(1L, "101", "Double", 100.0, 2, "Desc", true);
+            when(chambreRepository.findById(1L)).thenReturn(Optional.of(chambre));
+            when(saisonRepository.findAll()).thenReturn(List.of());
+
+            calculPrixUseCase.calculerPrixDetaille(1L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), false);
+            calculPrixUseCase.calculerPrixDetaille(1L, LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 13), false);
+            verify(eventPublisher, never()).publish(any(PrixCalculatedEvent.class));
+
+            assertEquals(1, calculPrixUseCase.publierDevisAgreges());
+
+            ArgumentCaptor<PrixAggregatedEvent> eventCaptor = ArgumentCaptor.forClass(PrixAggregatedEvent.class);
+            verify(eventPublisher).publish(eventCaptor.capture());
+            PrixAggregatedEvent event = eventCaptor.getValue();
+            assertEquals(1L, event.chambreId());
+            assertEquals("2-3", event.trancheNuits());
+            assertEquals(2, event.nombreDevis());
+            assertEquals(200.0, event.prixMin());
+            assertEquals(300.0, event.prixMax());
+        }
+
+        @Test
+        @DisplayName("Should publish nothing when no quote was made in the window")
+        void shouldPublishNothingWhenNoQuoteWasMadeInWindow() {
+            assertEquals(0, calculPrixUseCase.publierDevisAgreges());
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
     @Nested
     @DisplayName("DetailJour Record Tests")
     class DetailJourRecordTests {
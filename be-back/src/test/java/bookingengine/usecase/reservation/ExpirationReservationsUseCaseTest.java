@@ -0,0 +1,117 @@
+package bookingengine.usecase.reservation;
+
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.events.ReservationCancelledEvent;
+import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.repositories.PaymentRepository;
+import bookingengine.domain.repositories.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirationReservationsUseCase Tests")
+class ExpirationReservationsUseCaseTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private EventPublisherPort eventPublisher;
+
+    private IndexOccupation indexOccupation;
+
+    private ExpirationReservationsUseCase expirationUseCase;
+
+    @BeforeEach
+    void setUp() {
+        indexOccupation = new IndexOccupation(reservationRepository);
+        expirationUseCase = new ExpirationReservationsUseCase(
+                reservationRepository, paymentRepository, eventPublisher, indexOccupation);
+    }
+
+    private static Reservation enAttente(Long id, Long chambreId) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setChambreId(chambreId);
+        reservation.setDateDebut(LocalDate.of(2026, 3, 1));
+        reservation.setDateFin(LocalDate.of(2026, 3, 5));
+        reservation.setStatus(ReservationStatus.PENDING);
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Should cancel stale reservations and their payments in set-based updates")
+    void shouldCancelStaleReservationsAndTheirPaymentsInSetBasedUpdates() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(enAttente(1L, 10L), enAttente(2L, 20L)));
+        when(reservationRepository.findPendingCreatedBeforeForUpdate(any(LocalDateTime.class), eq(50)))
+                .thenReturn(List.of(enAttente(1L, 10L), enAttente(2L, 20L)));
+        LocalDateTime avant = LocalDateTime.now();
+        assertFalse(indexOccupation.estLibre(10L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5)));
+
+        int annulees = expirationUseCase.annulerReservationsExpirees(Duration.ofMinutes(30), 50);
+
+        assertEquals(2, annulees);
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reservationRepository).findPendingCreatedBeforeForUpdate(limite.capture(), eq(50));
+        assertFalse(limite.getValue().isAfter(avant.minusMinutes(30).plusSeconds(5)));
+        verify(reservationRepository).cancelAll(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(paymentRepository).cancelPendingByReservationIds(List.of(1L, 2L));
+        verify(reservationRepository, never()).save(any());
+        assertTrue(indexOccupation.estLibre(10L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5)));
+    }
+
+    @Test
+    @DisplayName("Should publish one cancellation event per expired reservation")
+    void shouldPublishOneCancellationEventPerExpiredReservation() {
+        when(reservationRepository.findPendingCreatedBeforeForUpdate(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(enAttente(1L, 10L), enAttente(2L, 20L)));
+
+        expirationUseCase.annulerReservationsExpirees(Duration.ofMinutes(30), 50);
+
+        ArgumentCaptor<ReservationCancelledEvent> eventCaptor = ArgumentCaptor.forClass(ReservationCancelledEvent.class);
+        verify(eventPublisher, times(2)).publish(eventCaptor.capture());
+        assertEquals(List.of(10L, 20L), eventCaptor.getAllValues().stream().map(ReservationCancelledEvent::chambreId).toList());
+        assertTrue(eventCaptor.getAllValues().stream()
+                .allMatch(event -> ExpirationReservationsUseCase.MOTIF_EXPIRATION.equals(event.reason())));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no reservation is stale")
+    void shouldDoNothingWhenNoReservationIsStale() {
+        when(reservationRepository.findPendingCreatedBeforeForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, expirationUseCase.annulerReservationsExpirees(Duration.ofMinutes(30), 50));
+        verify(reservationRepository, never()).cancelAll(any(), any());
+        verifyNoInteractions(paymentRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should reject non positive delay or batch size")
+    void shouldRejectNonPositiveDelayOrBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expirationUseCase.annulerReservationsExpirees(Duration.ZERO, 50));
+        assertThrows(IllegalArgumentException.class,
+                () -> expirationUseCase.annulerReservationsExpirees(Duration.ofMinutes(30), 0));
+        verifyNoInteractions(reservationRepository);
+    }
+}
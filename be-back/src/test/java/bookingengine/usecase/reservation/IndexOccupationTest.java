@@ -0,0 +1,184 @@
+package bookingengine.usecase.reservation;
+
+import bookingengine.domain.entities.Reservation;
+import bookingengine.domain.entities.ReservationStatus;
+import bookingengine.domain.repositories.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndexOccupation Tests")
+class IndexOccupationTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private IndexOccupation indexOccupation;
+
+    @BeforeEach
+    void setUp() {
+        indexOccupation = new IndexOccupation(reservationRepository);
+    }
+
+    private static Reservation reservation(Long id, Long chambreId, LocalDate debut, LocalDate fin, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setChambreId(chambreId);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Should treat departure day as free")
+    void shouldTreatDepartureDayAsFree() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 8), ReservationStatus.CONFIRMED)));
+
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 3)));
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 4)));
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 7), LocalDate.of(2024, 7, 9)));
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 8), LocalDate.of(2024, 7, 10)));
+        assertTrue(indexOccupation.estLibre(2L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 8)));
+    }
+
+    @Test
+    @DisplayName("Should count a same-day stay as one night")
+    void shouldCountSameDayStayAsOneNight() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 3), ReservationStatus.PENDING)));
+
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 4)));
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 3)));
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 4), LocalDate.of(2024, 7, 4)));
+    }
+
+    @Test
+    @DisplayName("Should filter free chambres for a period")
+    void shouldFilterFreeChambresForPeriod() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 8), ReservationStatus.CONFIRMED),
+                reservation(2L, 3L, LocalDate.of(2024, 6, 28), LocalDate.of(2024, 7, 1), ReservationStatus.PENDING)));
+
+        assertEquals(List.of(2L, 3L),
+                indexOccupation.filtrerLibres(List.of(1L, 2L, 3L), LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5)));
+    }
+
+    @Test
+    @DisplayName("Should extend bitmap before its origin")
+    void shouldExtendBitmapBeforeItsOrigin() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 8), ReservationStatus.CONFIRMED)));
+
+        indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 2));
+        indexOccupation.enregistrer(
+                reservation(2L, 1L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3), ReservationStatus.PENDING));
+
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 3)));
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 7, 3)));
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 6)));
+    }
+
+    @Test
+    @DisplayName("Should keep nights shared with another reservation when one is removed")
+    void shouldKeepNightsSharedWithAnotherReservation() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), ReservationStatus.CONFIRMED),
+                reservation(2L, 1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 6), ReservationStatus.CONFIRMED)));
+
+        indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 3));
+        indexOccupation.retirer(1L);
+
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 3)));
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 4)));
+    }
+
+    @Test
+    @DisplayName("Should drop reservation updated to cancelled")
+    void shouldDropReservationUpdatedToCancelled() {
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), ReservationStatus.CONFIRMED)));
+
+        indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5));
+        indexOccupation.enregistrer(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), ReservationStatus.CANCELLED));
+
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5)));
+    }
+
+    @Test
+    @DisplayName("Should load repository only once and ignore updates before loading")
+    void shouldLoadRepositoryOnlyOnce() {
+        indexOccupation.enregistrer(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), ReservationStatus.CONFIRMED));
+        verifyNoInteractions(reservationRepository);
+
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of());
+        indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5));
+        indexOccupation.filtrerLibres(List.of(1L), LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5));
+
+        verify(reservationRepository, times(1)).findActiveReservations();
+    }
+
+    @Test
+    @DisplayName("Should apply changes only when the after-commit action runs")
+    void shouldApplyChangesOnlyAfterCommit() {
+        List<Runnable> enAttente = new ArrayList<>();
+        indexOccupation = new IndexOccupation(reservationRepository, enAttente::add);
+        when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                reservation(1L, 1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), ReservationStatus.CONFIRMED)));
+
+        indexOccupation.retirer(1L);
+        indexOccupation.enregistrer(
+                reservation(2L, 2L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5), ReservationStatus.PENDING));
+
+        assertFalse(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5)));
+        assertTrue(indexOccupation.estLibre(2L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5)));
+
+        enAttente.forEach(Runnable::run);
+
+        assertTrue(indexOccupation.estLibre(1L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5)));
+        assertFalse(indexOccupation.estLibre(2L, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 5)));
+    }
+
+    @Test
+    @DisplayName("Should read occupancy from the database when several nodes write")
+    void shouldReadOccupancyFromDatabaseWhenSeveralNodesWrite() {
+        indexOccupation = new IndexOccupation(reservationRepository, Runnable::run, true);
+        LocalDate debut = LocalDate.of(2024, 7, 1);
+        LocalDate fin = LocalDate.of(2024, 7, 5);
+        when(reservationRepository.findConflictingReservations(1L, debut, fin)).thenReturn(List.of(
+                reservation(1L, 1L, debut, fin, ReservationStatus.CONFIRMED)));
+        when(reservationRepository.findOccupiedChambreIds(List.of(1L, 2L, 3L), debut, fin)).thenReturn(List.of(1L, 3L));
+
+        // Ecrite par ce noeud : rien n'est garde en memoire, la base reste la source
+        indexOccupation.enregistrer(reservation(2L, 2L, debut, fin, ReservationStatus.PENDING));
+
+        assertFalse(indexOccupation.estLibre(1L, debut, fin));
+        assertEquals(List.of(2L), indexOccupation.filtrerLibres(List.of(1L, 2L, 3L), debut, fin));
+        assertEquals(List.of(), indexOccupation.filtrerLibres(List.of(), debut, fin));
+        verify(reservationRepository, never()).findActiveReservations();
+    }
+
+    @Test
+    @DisplayName("Should query a same-day stay as one night when reading from the database")
+    void shouldQuerySameDayStayAsOneNightFromDatabase() {
+        indexOccupation = new IndexOccupation(reservationRepository, Runnable::run, true);
+        LocalDate jour = LocalDate.of(2024, 7, 3);
+        when(reservationRepository.findConflictingReservations(1L, jour, jour.plusDays(1))).thenReturn(List.of());
+
+        assertTrue(indexOccupation.estLibre(1L, jour, jour));
+    }
+}
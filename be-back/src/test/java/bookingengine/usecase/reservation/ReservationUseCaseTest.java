@@ -2,15 +2,19 @@ package bookingengine.usecase.reservation;
 
 import bookingengine.domain.entities.Chambre;
 import bookingengine.domain.entities.Payment;
+import bookingengine.domain.entities.PaymentStatus;
 import bookingengine.domain.entities.Reservation;
 import bookingengine.domain.entities.ReservationStatus;
 import bookingengine.domain.events.ReservationCancelledEvent;
 import bookingengine.domain.events.ReservationCreatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
+import bookingengine.domain.exceptions.ReservationConflictException;
+import bookingengine.domain.ports.ChambreLockPort;
 import bookingengine.domain.ports.EventPublisherPort;
+import bookingengine.domain.ports.MetriquesPort;
 import bookingengine.domain.repositories.ChambreRepository;
-import bookingengine.domain.repositories.PaymentRepository;
 import bookingengine.domain.repositories.ReservationRepository;
+import bookingengine.usecase.pagination.PageCurseur;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,9 +26,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,17 +50,47 @@ class ReservationUseCaseTest {
     private ChambreRepository chambreRepository;
 
     @Mock
-    private PaymentRepository paymentRepository;
+    private EventPublisherPort eventPublisher;
 
     @Mock
-    private EventPublisherPort eventPublisher;
+    private MetriquesPort metriques;
+
+    private IndexOccupation indexOccupation;
+
+    // Verrou sans attente qui note les chambres verrouillees et si l'action s'execute sous verrou
+    private final List<Set<Long>> verrouillages = new ArrayList<>();
+    private boolean sousVerrou;
+
+    private final ChambreLockPort chambreLock = new ChambreLockPort() {
+        @Override
+        public <T> T withLocks(Collection<Long> chambreIds, Supplier<T> action) {
+            verrouillages.add(Set.copyOf(chambreIds));
+            sousVerrou = true;
+            try {
+                return action.get();
+            } finally {
+                sousVerrou = false;
+            }
+        }
+    };
 
     private ReservationUseCase reservationUseCase;
 
     @BeforeEach
     void setUp() {
+        indexOccupation = new IndexOccupation(reservationRepository);
         reservationUseCase = new ReservationUseCase(
-                reservationRepository, chambreRepository, paymentRepository, eventPublisher);
+                reservationRepository, chambreRepository, eventPublisher, indexOccupation, chambreLock, metriques);
+    }
+
+    private static Reservation reservationActive(Long id, Long chambreId, LocalDate debut, LocalDate fin) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setChambreId(chambreId);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
     }
 
     @Nested
@@ -84,9 +122,7 @@ class ReservationUseCaseTest {
             savedReservation.setCreatedAt(LocalDateTime.now());
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(reservationRepository.findConflictingReservations(eq(chambreId), eq(debut), eq(fin)))
-                    .thenReturn(Collections.emptyList());
-            when(reservationRepository.save(any(Reservation.class))).thenReturn(savedReservation);
+            when(reservationRepository.saveWithPayment(any(Reservation.class), any(Payment.class))).thenReturn(savedReservation);
 
             Reservation result = reservationUseCase.creerReservation(reservation, "ESPECES");
 
@@ -94,7 +130,8 @@ class ReservationUseCaseTest {
             assertEquals(1L, result.getId());
             assertEquals(ReservationStatus.PENDING, result.getStatus());
             verify(eventPublisher).publish(any(ReservationCreatedEvent.class));
-            verify(paymentRepository).save(any(Payment.class));
+            verify(reservationRepository).saveWithPayment(eq(reservation), any(Payment.class));
+            verify(reservationRepository, never()).save(any());
         }
 
         @Test
@@ -139,8 +176,6 @@ class ReservationUseCaseTest {
             LocalDate fin = LocalDate.of(2026, 3, 5);
 
             Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
-            Reservation existingReservation = new Reservation();
-            existingReservation.setId(99L);
 
             Reservation reservation = new Reservation();
             reservation.setChambreId(chambreId);
@@ -148,13 +183,36 @@ class ReservationUseCaseTest {
             reservation.setDateFin(fin);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(reservationRepository.findConflictingReservations(eq(chambreId), eq(debut), eq(fin)))
-                    .thenReturn(List.of(existingReservation));
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                    reservationActive(99L, chambreId, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 7))));
 
-            IllegalStateException exception = assertThrows(IllegalStateException.class,
+            ReservationConflictException exception = assertThrows(ReservationConflictException.class,
                     () -> reservationUseCase.creerReservation(reservation, "ESPECES"));
 
             assertTrue(exception.getMessage().contains("deja reservee"));
+            verify(reservationRepository, never()).saveWithPayment(any(), any());
+            verify(reservationRepository, never()).findConflictingReservations(any(), any(), any());
+            verify(metriques).enregistrerConflits(1);
+        }
+
+        @Test
+        @DisplayName("Should propagate conflict raised by the database constraint")
+        void shouldPropagateConflictRaisedByDatabaseConstraint() {
+            Long chambreId = 1L;
+            Chambre chambre = new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true);
+
+            Reservation reservation = new Reservation();
+            reservation.setChambreId(chambreId);
+            reservation.setDateDebut(LocalDate.of(2026, 3, 1));
+            reservation.setDateFin(LocalDate.of(2026, 3, 5));
+
+            when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
+            when(reservationRepository.saveWithPayment(any(Reservation.class), any(Payment.class)))
+                    .thenThrow(new ReservationConflictException("La chambre est deja reservee pour les dates selectionnees"));
+
+            assertThrows(IllegalStateException.class,
+                    () -> reservationUseCase.creerReservation(reservation, "ESPECES"));
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -190,17 +248,15 @@ class ReservationUseCaseTest {
             savedReservation.setStatus(ReservationStatus.PENDING);
 
             when(chambreRepository.findById(chambreId)).thenReturn(Optional.of(chambre));
-            when(reservationRepository.findConflictingReservations(any(), any(), any()))
-                    .thenReturn(Collections.emptyList());
-            when(reservationRepository.save(any())).thenReturn(savedReservation);
+            when(reservationRepository.saveWithPayment(any(), any())).thenReturn(savedReservation);
 
             reservationUseCase.creerReservation(reservation, "VIREMENT");
 
             ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
-            verify(paymentRepository).save(paymentCaptor.capture());
+            verify(reservationRepository).saveWithPayment(eq(reservation), paymentCaptor.capture());
 
             Payment createdPayment = paymentCaptor.getValue();
-            assertEquals(1L, createdPayment.getReservationId());
+            assertEquals(PaymentStatus.PENDING, createdPayment.getStatus());
             assertEquals("VIREMENT", createdPayment.getPaymentMethod());
             // 3 nights * 100 = 300
             assertEquals(300.0, createdPayment.getAmount().doubleValue(), 0.01);
@@ -250,12 +306,13 @@ class ReservationUseCaseTest {
             LocalDate debut = LocalDate.of(2026, 3, 1);
             LocalDate fin = LocalDate.of(2026, 3, 5);
 
-            when(reservationRepository.findConflictingReservations(chambreId, debut, fin))
-                    .thenReturn(Collections.emptyList());
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                    reservationActive(99L, chambreId, LocalDate.of(2026, 2, 25), debut)));
 
             boolean result = reservationUseCase.verifierDisponibilite(chambreId, debut, fin);
 
             assertTrue(result);
+            verify(metriques).enregistrerConflits(0);
         }
 
         @Test
@@ -265,17 +322,26 @@ class ReservationUseCaseTest {
             LocalDate debut = LocalDate.of(2026, 3, 1);
             LocalDate fin = LocalDate.of(2026, 3, 5);
 
-            Reservation conflict = new Reservation();
-            conflict.setId(99L);
-
-            when(reservationRepository.findConflictingReservations(chambreId, debut, fin))
-                    .thenReturn(List.of(conflict));
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(
+                    reservationActive(99L, chambreId, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 6))));
 
             boolean result = reservationUseCase.verifierDisponibilite(chambreId, debut, fin);
 
             assertFalse(result);
         }
 
+        @Test
+        @DisplayName("Should answer from the occupation index without querying conflicts")
+        void shouldAnswerFromOccupationIndex() {
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of());
+
+            reservationUseCase.verifierDisponibilite(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5));
+            reservationUseCase.verifierDisponibilite(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5));
+
+            verify(reservationRepository, times(1)).findActiveReservations();
+            verify(reservationRepository, never()).findConflictingReservations(any(), any(), any());
+        }
+
         @Test
         @DisplayName("Should throw exception for invalid date range")
         void shouldThrowExceptionForInvalidDateRange() {
@@ -284,6 +350,193 @@ class ReservationUseCaseTest {
                             LocalDate.of(2026, 3, 10),
                             LocalDate.of(2026, 3, 5)));
         }
+
+        @Test
+        @DisplayName("Should record number of conflicting reservations found")
+        void shouldRecordNumberOfConflictingReservationsFound() {
+            LocalDate debut = LocalDate.of(2026, 3, 1);
+            LocalDate fin = LocalDate.of(2026, 3, 10);
+            when(reservationRepository.findConflictingReservations(1L, debut, fin)).thenReturn(List.of(
+                    reservationActive(98L, 1L, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4)),
+                    reservationActive(99L, 1L, LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 8))));
+
+            assertEquals(2, reservationUseCase.obtenirReservationsConflictuelles(1L, debut, fin).size());
+            verify(metriques).enregistrerConflits(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Synchronisation IndexOccupation Tests")
+    class SynchronisationIndexTests {
+
+        private final LocalDate debut = LocalDate.of(2026, 3, 1);
+        private final LocalDate fin = LocalDate.of(2026, 3, 5);
+
+        @Test
+        @DisplayName("Should mark created reservation as occupied")
+        void shouldMarkCreatedReservationAsOccupied() {
+            Long chambreId = 1L;
+            Reservation reservation = new Reservation();
+            reservation.setChambreId(chambreId);
+            reservation.setUtilisateurId(1L);
+            reservation.setDateDebut(debut);
+            reservation.setDateFin(fin);
+
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of());
+            when(chambreRepository.findById(chambreId)).thenReturn(
+                    Optional.of(new Chambre(chambreId, "101", "Double", 100.0, 2, "Desc", true)));
+            when(reservationRepository.saveWithPayment(any(Reservation.class), any(Payment.class)))
+                    .thenReturn(reservationActive(1L, chambreId, debut, fin));
+
+            assertTrue(reservationUseCase.verifierDisponibilite(chambreId, debut, fin));
+            reservationUseCase.creerReservation(reservation, "ESPECES");
+
+            assertFalse(reservationUseCase.verifierDisponibilite(chambreId, debut, fin));
+        }
+
+        @Test
+        @DisplayName("Should free nights of cancelled reservation")
+        void shouldFreeNightsOfCancelledReservation() {
+            Reservation reservation = reservationActive(1L, 1L, debut, fin);
+
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(reservationActive(1L, 1L, debut, fin)));
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+            assertFalse(reservationUseCase.verifierDisponibilite(1L, debut, fin));
+            reservationUseCase.annulerReservation(1L, "Client request");
+
+            assertTrue(reservationUseCase.verifierDisponibilite(1L, debut, fin));
+        }
+
+        @Test
+        @DisplayName("Should move nights when reservation changes chambre")
+        void shouldMoveNightsWhenReservationChangesChambre() {
+            Reservation existing = reservationActive(1L, 1L, debut, fin);
+
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(reservationActive(1L, 1L, debut, fin)));
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(existing));
+            when(reservationRepository.findConflictingReservations(2L, debut, fin)).thenReturn(List.of());
+            when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            assertFalse(reservationUseCase.verifierDisponibilite(1L, debut, fin));
+            reservationUseCase.modifierReservation(1L, reservationActive(null, 2L, debut, fin));
+
+            assertTrue(reservationUseCase.verifierDisponibilite(1L, debut, fin));
+            assertFalse(reservationUseCase.verifierDisponibilite(2L, debut, fin));
+        }
+
+        @Test
+        @DisplayName("Should free nights of deleted reservation")
+        void shouldFreeNightsOfDeletedReservation() {
+            Reservation reservation = reservationActive(1L, 1L, debut, fin);
+
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of(reservation));
+            when(reservationRepository.existsById(1L)).thenReturn(true);
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+            assertFalse(reservationUseCase.verifierDisponibilite(1L, debut, fin));
+            reservationUseCase.supprimerReservation(1L);
+
+            assertTrue(reservationUseCase.verifierDisponibilite(1L, debut, fin));
+        }
+    }
+
+    @Nested
+    @DisplayName("Verrouillage par chambre Tests")
+    class VerrouillageTests {
+
+        private final LocalDate debut = LocalDate.of(2026, 3, 1);
+        private final LocalDate fin = LocalDate.of(2026, 3, 5);
+
+        @Test
+        @DisplayName("Should save new reservation while holding the chambre lock")
+        void shouldSaveNewReservationWhileHoldingChambreLock() {
+            Reservation reservation = new Reservation();
+            reservation.setChambreId(3L);
+            reservation.setUtilisateurId(1L);
+            reservation.setDateDebut(debut);
+            reservation.setDateFin(fin);
+
+            when(reservationRepository.findActiveReservations()).thenReturn(List.of());
+            when(chambreRepository.findById(3L)).thenReturn(
+                    Optional.of(new Chambre(3L, "103", "Double", 100.0, 2, "Desc", true)));
+            when(reservationRepository.saveWithPayment(any(Reservation.class), any(Payment.class))).thenAnswer(invocation -> {
+                assertTrue(sousVerrou);
+                return reservationActive(1L, 3L, debut, fin);
+            });
+
+            reservationUseCase.creerReservation(reservation, "ESPECES");
+
+            assertEquals(List.of(Set.of(3L)), verrouillages);
+        }
+
+        @Test
+        @DisplayName("Should not lock when dates are invalid")
+        void shouldNotLockWhenDatesAreInvalid() {
+            Reservation reservation = new Reservation();
+            reservation.setChambreId(3L);
+            reservation.setDateDebut(fin);
+            reservation.setDateFin(debut);
+
+            assertThrows(IllegalArgumentException.class, () -> reservationUseCase.creerReservation(reservation));
+            assertTrue(verrouillages.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should lock old and new chambre when reservation moves")
+        void shouldLockOldAndNewChambreWhenReservationMoves() {
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservationActive(1L, 1L, debut, fin)));
+            when(reservationRepository.findConflictingReservations(2L, debut, fin)).thenReturn(List.of());
+            when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            reservationUseCase.modifierReservation(1L, reservationActive(null, 2L, debut, fin));
+
+            assertEquals(List.of(Set.of(1L, 2L)), verrouillages);
+        }
+
+        @Test
+        @DisplayName("Should lock chambre once when reservation keeps the same chambre")
+        void shouldLockChambreOnceWhenReservationKeepsSameChambre() {
+            when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservationActive(1L, 1L, debut, fin)));
+            when(reservationRepository.findConflictingReservations(1L, debut, fin.plusDays(1))).thenReturn(List.of());
+            when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            Reservation modifiee = reservationUseCase.modifierReservation(1L, reservationActive(null, 1L, debut, fin.plusDays(1)));
+
+            assertEquals(fin.plusDays(1), modifiee.getDateFin());
+            assertEquals(List.of(Set.of(1L)), verrouillages);
+        }
+    }
+
+    @Nested
+    @DisplayName("exporterReservations Tests")
+    class ExporterReservationsTests {
+
+        @Test
+        @DisplayName("Should pass filters and consumer to repository")
+        void shouldPassFiltersAndConsumerToRepository() {
+            LocalDate du = LocalDate.of(2026, 3, 1);
+            LocalDate au = LocalDate.of(2026, 3, 31);
+            Reservation reservation = reservationActive(1L, 1L, du, du.plusDays(2));
+            doAnswer(invocation -> {
+                invocation.<Consumer<Reservation>>getArgument(3).accept(reservation);
+                return null;
+            }).when(reservationRepository).forEachForExport(eq(ReservationStatus.CONFIRMED), eq(du), eq(au), any());
+
+            List<Reservation> exportees = new ArrayList<>();
+            reservationUseCase.exporterReservations(ReservationStatus.CONFIRMED, du, au, exportees::add);
+
+            assertEquals(List.of(reservation), exportees);
+        }
+
+        @Test
+        @DisplayName("Should reject inverted period before reading anything")
+        void shouldRejectInvertedPeriodBeforeReadingAnything() {
+            assertThrows(IllegalArgumentException.class, () -> reservationUseCase.exporterReservations(
+                    null, LocalDate.of(2026, 3, 31), LocalDate.of(2026, 3, 1), reservation -> {}));
+
+            verifyNoInteractions(reservationRepository);
+        }
     }
 
     @Nested
@@ -331,5 +584,32 @@ class ReservationUseCaseTest {
             assertEquals(1, result.size());
             assertEquals(ReservationStatus.PENDING, result.get(0).getStatus());
         }
+
+        @Test
+        @DisplayName("Should read one extra row to detect next page")
+        void shouldReadOneExtraRowToDetectNextPage() {
+            LocalDate debut = LocalDate.of(2026, 3, 1);
+            LocalDate fin = LocalDate.of(2026, 3, 5);
+            when(reservationRepository.findPageByStatus(ReservationStatus.CONFIRMED, 10L, 3)).thenReturn(List.of(
+                    reservationActive(11L, 1L, debut, fin),
+                    reservationActive(12L, 1L, debut, fin),
+                    reservationActive(13L, 1L, debut, fin)));
+
+            PageCurseur<Reservation> page = reservationUseCase.obtenirPageReservationsParStatut(ReservationStatus.CONFIRMED, 10L, 2);
+
+            assertEquals(List.of(11L, 12L), page.elements().stream().map(Reservation::getId).toList());
+            assertEquals(12L, page.curseurSuivant());
+        }
+
+        @Test
+        @DisplayName("Should cap page size for utilisateur listing")
+        void shouldCapPageSizeForUtilisateurListing() {
+            when(reservationRepository.findPageByUtilisateurId(1L, null, PageCurseur.TAILLE_MAX + 1)).thenReturn(List.of());
+
+            PageCurseur<Reservation> page = reservationUseCase.obtenirPageReservationsParUtilisateur(1L, null, 5_000);
+
+            assertTrue(page.elements().isEmpty());
+            assertNull(page.curseurSuivant());
+        }
     }
 }
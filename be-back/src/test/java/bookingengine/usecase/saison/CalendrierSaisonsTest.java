@@ -0,0 +1,132 @@
+package bookingengine.usecase.saison;
+
+import bookingengine.domain.entities.Saison;
+import bookingengine.domain.repositories.SaisonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CalendrierSaisons Tests")
+class CalendrierSaisonsTest {
+
+    @Mock
+    private SaisonRepository saisonRepository;
+
+    private CalendrierSaisons calendrierSaisons;
+
+    @BeforeEach
+    void setUp() {
+        calendrierSaisons = new CalendrierSaisons(saisonRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve saison with inclusive bounds")
+    void shouldResolveSaisonWithInclusiveBounds() {
+        Saison ete = new Saison(1L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+        when(saisonRepository.findAll()).thenReturn(List.of(ete));
+
+        assertEquals(1.0, calendrierSaisons.coefficientPour(LocalDate.of(2024, 5, 31)));
+        assertEquals(1.5, calendrierSaisons.coefficientPour(LocalDate.of(2024, 6, 1)));
+        assertEquals(1.5, calendrierSaisons.coefficientPour(LocalDate.of(2024, 8, 31)));
+        assertEquals(1.0, calendrierSaisons.coefficientPour(LocalDate.of(2024, 9, 1)));
+    }
+
+    @Test
+    @DisplayName("Should return empty between two saisons")
+    void shouldReturnEmptyBetweenTwoSaisons() {
+        Saison hiver = new Saison(1L, "Hiver", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 0.8);
+        Saison ete = new Saison(2L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+        when(saisonRepository.findAll()).thenReturn(List.of(ete, hiver));
+
+        assertEquals("Hiver", calendrierSaisons.saisonPour(LocalDate.of(2024, 2, 14)).orElseThrow().getNom());
+        assertTrue(calendrierSaisons.saisonPour(LocalDate.of(2024, 4, 15)).isEmpty());
+        assertEquals("Ete", calendrierSaisons.saisonPour(LocalDate.of(2024, 7, 14)).orElseThrow().getNom());
+    }
+
+    @Test
+    @DisplayName("Should load repository only once")
+    void shouldLoadRepositoryOnlyOnce() {
+        when(saisonRepository.findAll()).thenReturn(List.of());
+
+        calendrierSaisons.coefficientPour(LocalDate.of(2024, 1, 1));
+        calendrierSaisons.coefficientPour(LocalDate.of(2024, 2, 1));
+        calendrierSaisons.enregistrer(new Saison(1L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5));
+
+        verify(saisonRepository, times(1)).findAll();
+        assertEquals(1.5, calendrierSaisons.coefficientPour(LocalDate.of(2024, 7, 1)));
+    }
+
+    @Test
+    @DisplayName("Should sum coefficients from cumulative calendar within horizon")
+    void shouldSumCoefficientsFromCumulativeCalendarWithinHorizon() {
+        Clock clock = Clock.fixed(LocalDate.of(2024, 5, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        CalendrierSaisons calendrier = new CalendrierSaisons(saisonRepository, clock, 365);
+        Saison ete = new Saison(1L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+        when(saisonRepository.findAll()).thenReturn(List.of(ete));
+
+        // 2 nuits hors saison + 3 nuits a 1.5
+        assertEquals(6.5, calendrier.sommeCoefficients(LocalDate.of(2024, 5, 30), LocalDate.of(2024, 6, 4)), 1e-9);
+        // 31 + 31 nuits a 1.5, 1 nuit hors saison
+        assertEquals(94.0, calendrier.sommeCoefficients(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 9, 2)), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should fall back to daily lookup outside horizon")
+    void shouldFallBackToDailyLookupOutsideHorizon() {
+        Clock clock = Clock.fixed(LocalDate.of(2025, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        CalendrierSaisons calendrier = new CalendrierSaisons(saisonRepository, clock, 30);
+        Saison ete = new Saison(1L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+        when(saisonRepository.findAll()).thenReturn(List.of(ete));
+
+        assertEquals(6.5, calendrier.sommeCoefficients(LocalDate.of(2024, 5, 30), LocalDate.of(2024, 6, 4)), 1e-9);
+        assertEquals(60.0, calendrier.sommeCoefficients(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 2)), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should refresh cumulative calendar when saison is registered")
+    void shouldRefreshCumulativeCalendarWhenSaisonIsRegistered() {
+        Clock clock = Clock.fixed(LocalDate.of(2024, 5, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        CalendrierSaisons calendrier = new CalendrierSaisons(saisonRepository, clock, 365);
+        when(saisonRepository.findAll()).thenReturn(List.of());
+
+        assertEquals(10.0, calendrier.sommeCoefficients(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 11)), 1e-9);
+
+        calendrier.enregistrer(new Saison(1L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 2.0));
+
+        assertEquals(20.0, calendrier.sommeCoefficients(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 11)), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should apply saison changes only once committed")
+    void shouldApplySaisonChangesOnlyOnceCommitted() {
+        List<Runnable> enAttente = new ArrayList<>();
+        CalendrierSaisons calendrier = new CalendrierSaisons(saisonRepository, enAttente::add);
+        Saison hiver = new Saison(1L, "Hiver", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), 0.8);
+        when(saisonRepository.findAll()).thenReturn(List.of(hiver));
+
+        calendrier.retirer(1L);
+        calendrier.enregistrer(new Saison(2L, "Ete", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5));
+
+        // Transaction en cours (ou annulee) : le calendrier est inchange
+        assertEquals(0.8, calendrier.coefficientPour(LocalDate.of(2024, 2, 1)));
+        assertEquals(1.0, calendrier.coefficientPour(LocalDate.of(2024, 7, 1)));
+
+        enAttente.forEach(Runnable::run);
+
+        assertEquals(1.0, calendrier.coefficientPour(LocalDate.of(2024, 2, 1)));
+        assertEquals(1.5, calendrier.coefficientPour(LocalDate.of(2024, 7, 1)));
+    }
+}
@@ -5,6 +5,8 @@ import bookingengine.domain.events.SaisonCreatedEvent;
 import bookingengine.domain.exceptions.EntityNotFoundException;
 import bookingengine.domain.ports.EventPublisherPort;
 import bookingengine.domain.repositories.SaisonRepository;
+import bookingengine.usecase.prix.CachePrix;
+import bookingengine.usecase.prix.CalculPrixUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -33,11 +35,17 @@ class SaisonUseCaseTest {
     @Mock
     private EventPublisherPort eventPublisher;
 
+    private CalendrierSaisons calendrierSaisons;
+
+    private CachePrix cachePrix;
+
     private SaisonUseCase saisonUseCase;
 
     @BeforeEach
     void setUp() {
-        saisonUseCase = new SaisonUseCase(saisonRepository, eventPublisher);
+        calendrierSaisons = new CalendrierSaisons(saisonRepository);
+        cachePrix = new CachePrix();
+        saisonUseCase = new SaisonUseCase(saisonRepository, eventPublisher, calendrierSaisons, cachePrix);
     }
 
     @Nested
@@ -111,6 +119,87 @@ class SaisonUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("Chevauchement Tests")
+    class ChevauchementTests {
+
+        @Test
+        @DisplayName("Should reject saison starting on the same day as an existing one")
+        void shouldRejectSaisonStartingOnSameDay() {
+            LocalDate debut = LocalDate.of(2024, 6, 1);
+            Saison existante = new Saison(1L, "Haute Saison", debut, LocalDate.of(2024, 8, 31), 1.5);
+
+            when(saisonRepository.findChevauchant(debut, LocalDate.of(2024, 6, 15))).thenReturn(List.of(existante));
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> saisonUseCase.creerSaison(new Saison(null, "Juin", debut, LocalDate.of(2024, 6, 15), 2.0)));
+
+            assertTrue(exception.getMessage().contains("Haute Saison"));
+            verify(saisonRepository, never()).save(any());
+            verify(eventPublisher, never()).publish(any(SaisonCreatedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should reject saison nested in an existing one")
+        void shouldRejectNestedSaison() {
+            LocalDate debut = LocalDate.of(2024, 7, 10);
+            LocalDate fin = LocalDate.of(2024, 7, 20);
+            Saison existante = new Saison(1L, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+
+            when(saisonRepository.findChevauchant(debut, fin)).thenReturn(List.of(existante));
+
+            assertThrows(IllegalStateException.class,
+                    () -> saisonUseCase.creerSaison(new Saison(null, "Festival", debut, fin, 3.0)));
+            verify(saisonRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject saison ending before it starts")
+        void shouldRejectSaisonEndingBeforeItStarts() {
+            Saison saison = new Saison(null, "Inversee", LocalDate.of(2024, 8, 31), LocalDate.of(2024, 6, 1), 1.5);
+
+            assertThrows(IllegalArgumentException.class, () -> saisonUseCase.creerSaison(saison));
+            verify(saisonRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should not count the updated saison as overlapping itself")
+        void shouldNotCountUpdatedSaisonAsOverlappingItself() {
+            Long id = 1L;
+            LocalDate debut = LocalDate.of(2024, 6, 1);
+            LocalDate fin = LocalDate.of(2024, 9, 15);
+            Saison existante = new Saison(id, "Haute Saison", debut, LocalDate.of(2024, 8, 31), 1.5);
+            Saison saved = new Saison(id, "Haute Saison", debut, fin, 1.5);
+
+            when(saisonRepository.findById(id)).thenReturn(Optional.of(existante));
+            when(saisonRepository.findChevauchant(debut, fin)).thenReturn(List.of(existante));
+            when(saisonRepository.save(any(Saison.class))).thenReturn(saved);
+
+            Saison result = saisonUseCase.modifierSaison(id, new Saison(null, "Haute Saison", debut, fin, 1.5));
+
+            assertEquals(fin, result.getDateFin());
+        }
+
+        @Test
+        @DisplayName("Should reject update overlapping another saison")
+        void shouldRejectUpdateOverlappingAnotherSaison() {
+            Long id = 1L;
+            LocalDate debut = LocalDate.of(2024, 6, 1);
+            LocalDate fin = LocalDate.of(2024, 9, 15);
+            Saison existante = new Saison(id, "Haute Saison", debut, LocalDate.of(2024, 8, 31), 1.5);
+            Saison voisine = new Saison(2L, "Rentree", LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 30), 1.2);
+
+            when(saisonRepository.findById(id)).thenReturn(Optional.of(existante));
+            when(saisonRepository.findChevauchant(debut, fin)).thenReturn(List.of(existante, voisine));
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> saisonUseCase.modifierSaison(id, new Saison(null, "Haute Saison", debut, fin, 1.5)));
+
+            assertTrue(exception.getMessage().contains("Rentree"));
+            verify(saisonRepository, never()).save(any());
+        }
+    }
+
     @Nested
     @DisplayName("supprimerSaison Tests")
     class SupprimerSaisonTests {
@@ -234,4 +323,125 @@ class SaisonUseCaseTest {
             assertTrue(result.isEmpty());
         }
     }
+
+    @Nested
+    @DisplayName("Synchronisation CalendrierSaisons Tests")
+    class SynchronisationCalendrierTests {
+
+        @Test
+        @DisplayName("Should index created saison in calendar")
+        void shouldIndexCreatedSaisonInCalendar() {
+            LocalDate debut = LocalDate.of(2024, 6, 1);
+            LocalDate fin = LocalDate.of(2024, 8, 31);
+            Saison savedSaison = new Saison(1L, "Haute Saison", debut, fin, 1.5);
+
+            when(saisonRepository.findAll()).thenReturn(List.of());
+            when(saisonRepository.save(any(Saison.class))).thenReturn(savedSaison);
+
+            saisonUseCase.creerSaison(new Saison(null, "Haute Saison", debut, fin, 1.5));
+
+            assertEquals(1.5, calendrierSaisons.coefficientPour(LocalDate.of(2024, 7, 15)));
+        }
+
+        @Test
+        @DisplayName("Should replace saison in calendar when updated")
+        void shouldReplaceSaisonInCalendarWhenUpdated() {
+            Long id = 1L;
+            Saison existingSaison = new Saison(id, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+            Saison savedSaison = new Saison(id, "Haute Saison", LocalDate.of(2024, 7, 1), LocalDate.of(2024, 8, 31), 2.0);
+
+            when(saisonRepository.findAll()).thenReturn(List.of(existingSaison));
+            when(saisonRepository.findById(id)).thenReturn(Optional.of(existingSaison));
+            when(saisonRepository.save(any(Saison.class))).thenReturn(savedSaison);
+
+            saisonUseCase.modifierSaison(id, new Saison(null, "Haute Saison", LocalDate.of(2024, 7, 1), LocalDate.of(2024, 8, 31), 2.0));
+
+            assertEquals(1.0, calendrierSaisons.coefficientPour(LocalDate.of(2024, 6, 15)));
+            assertEquals(2.0, calendrierSaisons.coefficientPour(LocalDate.of(2024, 7, 15)));
+        }
+
+        @Test
+        @DisplayName("Should remove deleted saison from calendar")
+        void shouldRemoveDeletedSaisonFromCalendar() {
+            Long id = 1L;
+            Saison saison = new Saison(id, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+
+            when(saisonRepository.findAll()).thenReturn(List.of(saison));
+            when(saisonRepository.findById(id)).thenReturn(Optional.of(saison));
+
+            saisonUseCase.supprimerSaison(id);
+
+            assertTrue(calendrierSaisons.saisonPour(LocalDate.of(2024, 7, 15)).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation CachePrix Tests")
+    class InvalidationCachePrixTests {
+
+        private CachePrix.Cle mettreEnCache(LocalDate debut, LocalDate fin) {
+            CachePrix.Cle cle = new CachePrix.Cle(1L, debut, fin);
+            cachePrix.enregistrer(cle,
+                    new CalculPrixUseCase.ResultatCalculPrix("101", "Double", debut, fin, 2, 100.0, 1.0, 200.0, List.of()),
+                    cachePrix.generation());
+            return cle;
+        }
+
+        @Test
+        @DisplayName("Should evict only quotes overlapping created saison")
+        void shouldEvictOnlyQuotesOverlappingCreatedSaison() {
+            LocalDate debut = LocalDate.of(2024, 6, 1);
+            LocalDate fin = LocalDate.of(2024, 8, 31);
+            CachePrix.Cle avant = mettreEnCache(LocalDate.of(2024, 5, 30), LocalDate.of(2024, 6, 1));
+            CachePrix.Cle chevauchant = mettreEnCache(LocalDate.of(2024, 5, 31), LocalDate.of(2024, 6, 2));
+            CachePrix.Cle dernierJour = mettreEnCache(LocalDate.of(2024, 8, 31), LocalDate.of(2024, 9, 2));
+            CachePrix.Cle apres = mettreEnCache(LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 3));
+
+            when(saisonRepository.findAll()).thenReturn(List.of());
+            when(saisonRepository.save(any(Saison.class))).thenReturn(new Saison(1L, "Haute Saison", debut, fin, 1.5));
+
+            saisonUseCase.creerSaison(new Saison(null, "Haute Saison", debut, fin, 1.5));
+
+            assertTrue(cachePrix.obtenir(avant, false).isPresent());
+            assertTrue(cachePrix.obtenir(chevauchant, false).isEmpty());
+            assertTrue(cachePrix.obtenir(dernierJour, false).isEmpty());
+            assertTrue(cachePrix.obtenir(apres, false).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should evict quotes overlapping old and new period when saison is updated")
+        void shouldEvictQuotesOverlappingOldAndNewPeriod() {
+            Long id = 1L;
+            Saison existingSaison = new Saison(id, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), 1.5);
+            Saison savedSaison = new Saison(id, "Haute Saison", LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 31), 1.5);
+            CachePrix.Cle ancienne = mettreEnCache(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12));
+            CachePrix.Cle nouvelle = mettreEnCache(LocalDate.of(2024, 8, 10), LocalDate.of(2024, 8, 12));
+            CachePrix.Cle horsPeriode = mettreEnCache(LocalDate.of(2024, 7, 10), LocalDate.of(2024, 7, 12));
+
+            when(saisonRepository.findAll()).thenReturn(List.of(existingSaison));
+            when(saisonRepository.findById(id)).thenReturn(Optional.of(existingSaison));
+            when(saisonRepository.save(any(Saison.class))).thenReturn(savedSaison);
+
+            saisonUseCase.modifierSaison(id, new Saison(null, "Haute Saison", LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 31), 1.5));
+
+            assertTrue(cachePrix.obtenir(ancienne, false).isEmpty());
+            assertTrue(cachePrix.obtenir(nouvelle, false).isEmpty());
+            assertTrue(cachePrix.obtenir(horsPeriode, false).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should evict quotes overlapping deleted saison")
+        void shouldEvictQuotesOverlappingDeletedSaison() {
+            Long id = 1L;
+            Saison saison = new Saison(id, "Haute Saison", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31), 1.5);
+            CachePrix.Cle cle = mettreEnCache(LocalDate.of(2024, 7, 14), LocalDate.of(2024, 7, 16));
+
+            when(saisonRepository.findAll()).thenReturn(List.of(saison));
+            when(saisonRepository.findById(id)).thenReturn(Optional.of(saison));
+
+            saisonUseCase.supprimerSaison(id);
+
+            assertTrue(cachePrix.obtenir(cle, false).isEmpty());
+        }
+    }
 }
@@ -39,10 +39,33 @@ async function fetchApi<T>(endpoint: string, options?: RequestInit): Promise<T>
   return response.json();
 }
 
+// Listes paginees par curseur : le backend renvoie au plus "taille" elements et
+// l'id de reprise dans l'en-tete X-Curseur-Suivant (absent sur la derniere page)
+const TAILLE_PAGE = 200;
+
+async function fetchToutesPages<T>(endpoint: string): Promise<T[]> {
+  const elements: T[] = [];
+  let apres: string | null = null;
+  do {
+    const separateur = endpoint.includes('?') ? '&' : '?';
+    const url = `${API_BASE_URL}${endpoint}${separateur}taille=${TAILLE_PAGE}${apres ? `&apres=${apres}` : ''}`;
+    const response = await fetch(url, { headers: { 'Content-Type': 'application/json' } });
+
+    if (!response.ok) {
+      const errorText = await response.text();
+      throw new Error(`API Error ${response.status}: ${errorText}`);
+    }
+
+    elements.push(...(await response.json()));
+    apres = response.headers.get('X-Curseur-Suivant');
+  } while (apres);
+  return elements;
+}
+
 // ============== CHAMBRES ==============
 
 export const chambreApi = {
-  getAll: () => fetchApi<Chambre[]>('/chambres'),
+  getAll: () => fetchToutesPages<Chambre>('/chambres'),
 
   getById: (id: number) => fetchApi<Chambre>(`/chambres/${id}`),
 
@@ -102,18 +125,18 @@ export const saisonApi = {
 // ============== RESERVATIONS ==============
 
 export const reservationApi = {
-  getAll: () => fetchApi<Reservation[]>('/reservations'),
+  getAll: () => fetchToutesPages<Reservation>('/reservations'),
 
   getById: (id: number) => fetchApi<Reservation>(`/reservations/${id}`),
 
   getByStatus: (status: string) =>
-    fetchApi<Reservation[]>(`/reservations/status/${status}`),
+    fetchToutesPages<Reservation>(`/reservations/status/${status}`),
 
   getByChambre: (chambreId: number) =>
-    fetchApi<Reservation[]>(`/reservations/chambre/${chambreId}`),
+    fetchToutesPages<Reservation>(`/reservations/chambre/${chambreId}`),
 
   getByUtilisateur: (utilisateurId: number) =>
-    fetchApi<Reservation[]>(`/reservations/utilisateur/${utilisateurId}`),
+    fetchToutesPages<Reservation>(`/reservations/utilisateur/${utilisateurId}`),
 
   create: (reservation: ReservationCreateRequest) =>
     fetchApi<Reservation>('/reservations', {
@@ -139,7 +162,7 @@ export const reservationApi = {
 // ============== PAYMENTS ==============
 
 export const paymentApi = {
-  getAll: () => fetchApi<Payment[]>('/payments'),
+  getAll: () => fetchToutesPages<Payment>('/payments'),
 
   getById: (id: number) => fetchApi<Payment>(`/payments/${id}`),
 